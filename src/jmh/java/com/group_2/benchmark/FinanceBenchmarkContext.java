@@ -0,0 +1,184 @@
+package com.group_2.benchmark;
+
+import com.group_2.Main;
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.finance.StandingOrder;
+import com.group_2.model.finance.StandingOrderDebtorShare;
+import com.group_2.model.finance.StandingOrderFrequency;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.repository.UserRepository;
+import com.group_2.repository.WGRepository;
+import com.group_2.repository.finance.StandingOrderRepository;
+import com.group_2.service.finance.TransactionService;
+import com.group_2.util.Money;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Application context on a private in-memory H2 database, seeded with one WG of
+ * a configurable size. Scheduled jobs and startup catch-up and repair jobs are
+ * switched off like in the command-line tools, so only the benchmark writes to
+ * the database.
+ */
+final class FinanceBenchmarkContext implements AutoCloseable {
+
+    // Transactions written per batched insert while seeding
+    private static final int SEED_CHUNK_SIZE = 1000;
+    // Seeded history spans this many days back from now
+    private static final int HISTORY_DAYS = 730;
+
+    private final ConfigurableApplicationContext context;
+    private final List<User> members = new ArrayList<>();
+    private WG wg;
+
+    private FinanceBenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Start a fresh application context with its own database.
+     */
+    static FinanceBenchmarkContext start() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN",
+                        "app.scheduling.enabled=false",
+                        "finance.ledger.verify-on-startup=false",
+                        "finance.standing-orders.process-on-startup=false",
+                        "finance.spend-rollups.populate-on-startup=false",
+                        "finance.compaction.enabled=false")
+                .run();
+        return new FinanceBenchmarkContext(context);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    WG getWg() {
+        return wg;
+    }
+
+    List<User> getMembers() {
+        return members;
+    }
+
+    /**
+     * Seed one WG with {@code memberCount} members and {@code transactionCount}
+     * transactions of {@code splitsPerTransaction} debtors each, spread over two
+     * years. Creditors and debtors rotate so every member takes part.
+     */
+    FinanceBenchmarkContext seed(int memberCount, int transactionCount, int splitsPerTransaction) {
+        if (splitsPerTransaction < 1 || splitsPerTransaction > memberCount) {
+            throw new IllegalArgumentException("Splits per transaction must be between 1 and the member count");
+        }
+        TransactionTemplate transactionTemplate = bean(TransactionTemplate.class);
+        UserRepository userRepository = bean(UserRepository.class);
+        WGRepository wgRepository = bean(WGRepository.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < memberCount; i++) {
+                members.add(userRepository.save(new User("Member" + i, "Bench", "member" + i + "@bench.local",
+                        "unused")));
+            }
+            WG created = wgRepository.save(new WG("Benchmark WG", members.get(0), List.of()));
+            for (User member : members) {
+                created.addMitbewohner(member);
+            }
+            wg = wgRepository.save(created);
+            userRepository.saveAll(members);
+        });
+
+        TransactionService transactionService = bean(TransactionService.class);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int t = 0; t < transactionCount; t++) {
+            User creditor = members.get(t % memberCount);
+            long totalCents = 100 + random.nextInt(20_000);
+            Transaction transaction = new Transaction(creditor, creditor, totalCents,
+                    DESCRIPTIONS[t % DESCRIPTIONS.length] + " " + t, wg);
+            transaction.setTimestamp(now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60)));
+
+            long[] weights = new long[splitsPerTransaction];
+            Arrays.fill(weights, 1);
+            long[] basisPoints = Money.allocate(Money.FULL_SHARE_BASIS_POINTS, weights);
+            long[] amounts = Money.allocate(totalCents, basisPoints);
+            for (int s = 0; s < splitsPerTransaction; s++) {
+                User debtor = members.get((t + s) % memberCount);
+                transaction.addSplit(new TransactionSplit(transaction, debtor, (int) basisPoints[s], amounts[s]));
+            }
+            chunk.add(transaction);
+            if (chunk.size() == SEED_CHUNK_SIZE) {
+                transactionService.recordTransactions(chunk);
+                chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            transactionService.recordTransactions(chunk);
+        }
+        return this;
+    }
+
+    /**
+     * Add active weekly standing orders, each shared by all members.
+     */
+    FinanceBenchmarkContext seedStandingOrders(int count) {
+        StandingOrderRepository standingOrderRepository = bean(StandingOrderRepository.class);
+        long[] weights = new long[members.size()];
+        Arrays.fill(weights, 1);
+        long[] basisPoints = Money.allocate(Money.FULL_SHARE_BASIS_POINTS, weights);
+        List<StandingOrder> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<StandingOrderDebtorShare> shares = new ArrayList<>(members.size());
+            for (int m = 0; m < members.size(); m++) {
+                shares.add(new StandingOrderDebtorShare(members.get(m).getId(), (int) basisPoints[m]));
+            }
+            User creditor = members.get(i % members.size());
+            orders.add(new StandingOrder(creditor, creditor, wg, 5_000 + i, "Rent share " + i,
+                    StandingOrderFrequency.WEEKLY, LocalDate.now().plusDays(7), shares));
+        }
+        standingOrderRepository.saveAll(orders);
+        return this;
+    }
+
+    /**
+     * Make every standing order due again for the given number of weekly periods.
+     */
+    void resetStandingOrders(int duePeriods) {
+        LocalDate nextExecution = LocalDate.now().minusWeeks(duePeriods - 1L);
+        StandingOrderRepository standingOrderRepository = bean(StandingOrderRepository.class);
+        List<StandingOrder> orders = standingOrderRepository.findAll();
+        for (StandingOrder order : orders) {
+            order.setNextExecution(nextExecution);
+            order.setIsActive(true);
+        }
+        standingOrderRepository.saveAll(orders);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static final String[] DESCRIPTIONS = { "Groceries REWE", "Electricity bill", "Internet", "Pizza night",
+            "Cleaning supplies", "Drugstore dm", "Train tickets", "Netflix", "Bakery", "Hardware store" };
+}
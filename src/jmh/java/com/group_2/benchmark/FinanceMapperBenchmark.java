@@ -0,0 +1,121 @@
+package com.group_2.benchmark;
+
+import com.group_2.dto.finance.FinanceMapper;
+import com.group_2.dto.finance.TransactionSplitViewRow;
+import com.group_2.dto.finance.TransactionViewDTO;
+import com.group_2.dto.finance.TransactionViewRow;
+import com.group_2.model.finance.Transaction;
+import com.group_2.repository.finance.TransactionRepository;
+import com.group_2.repository.finance.TransactionSplitRepository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity versus projection mapping of the history view. Run with
+ * {@code -prof gc}: gc.alloc.rate.norm is the heap allocated per operation,
+ * i.e. per {@code rows} history rows (10k by default). The read benchmarks
+ * include the queries, the map benchmarks only {@link FinanceMapper#toViewList}
+ * on preloaded data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinanceMapperBenchmark {
+
+    @Param({ "10000" })
+    private int rows;
+
+    @Param({ "5" })
+    private int members;
+
+    @Param({ "3" })
+    private int splits;
+
+    private FinanceBenchmarkContext context;
+    private FinanceMapper financeMapper;
+    private TransactionRepository transactionRepository;
+    private TransactionSplitRepository transactionSplitRepository;
+    private TransactionTemplate readOnlyTemplate;
+    private Long wgId;
+    private Long userId;
+    private List<Long> ids;
+
+    // Preloaded inputs of the map benchmarks
+    private List<Transaction> entities;
+    private List<TransactionViewRow> viewRows;
+    private List<TransactionSplitViewRow> splitViewRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Every member takes part in splits/members of the transactions; seed
+        // enough that the first member is involved in the requested rows
+        int transactions = (int) Math.ceil(rows * (double) members / splits);
+        context = FinanceBenchmarkContext.start().seed(members, transactions, splits);
+        financeMapper = context.bean(FinanceMapper.class);
+        transactionRepository = context.bean(TransactionRepository.class);
+        transactionSplitRepository = context.bean(TransactionSplitRepository.class);
+        readOnlyTemplate = new TransactionTemplate(context.bean(TransactionTemplate.class).getTransactionManager());
+        readOnlyTemplate.setReadOnly(true);
+        wgId = context.getWg().getId();
+        userId = context.getMembers().get(0).getId();
+
+        viewRows = transactionRepository.findViewRowsInvolvingUser(wgId, userId);
+        if (viewRows.size() > rows) {
+            viewRows = new ArrayList<>(viewRows.subList(0, rows));
+        }
+        ids = new ArrayList<>(viewRows.size());
+        for (TransactionViewRow row : viewRows) {
+            ids.add(row.id());
+        }
+        splitViewRows = transactionSplitRepository.findViewRowsByTransactionIdIn(ids);
+        entities = transactionRepository.findAllWithSplitsByIdIn(ids);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionViewDTO> mapEntities() {
+        return financeMapper.toViewList(entities);
+    }
+
+    @Benchmark
+    public List<TransactionViewDTO> mapProjections() {
+        return financeMapper.toViewList(viewRows, splitViewRows);
+    }
+
+    @Benchmark
+    public List<TransactionViewDTO> readAndMapEntities() {
+        return readOnlyTemplate.execute(status -> financeMapper.toViewList(
+                transactionRepository.findAllWithSplitsByIdIn(ids)));
+    }
+
+    @Benchmark
+    public List<TransactionViewDTO> readAndMapProjections() {
+        return readOnlyTemplate.execute(status -> financeMapper.toViewList(
+                transactionRepository.findViewRowsInvolvingUser(wgId, userId),
+                transactionSplitRepository.findViewRowsByTransactionIdIn(ids)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.group_2.benchmark;
+
+import com.group_2.util.Money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Largest remainder allocation of {@link Money#allocate(long, long[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({ "3", "10", "100" })
+    private int shares;
+
+    private long[] weights;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        weights = new long[shares];
+        for (int i = 0; i < shares; i++) {
+            weights[i] = 1 + random.nextInt(Money.FULL_SHARE_BASIS_POINTS);
+        }
+    }
+
+    @Benchmark
+    public long[] allocate() {
+        return Money.allocate(123_457, weights);
+    }
+}
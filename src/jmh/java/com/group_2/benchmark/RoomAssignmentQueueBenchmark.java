@@ -0,0 +1,86 @@
+package com.group_2.benchmark;
+
+import com.group_2.model.User;
+import com.group_2.model.cleaning.RoomAssignmentQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly rotation of many room queues: the ring buffer of
+ * {@link RoomAssignmentQueue} against the former comma-separated encoding,
+ * which re-split, boxed and re-joined the whole string on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomAssignmentQueueBenchmark {
+
+    @Param({ "10000" })
+    private int queues;
+
+    @Param({ "5", "20" })
+    private int members;
+
+    private RoomAssignmentQueue[] ringQueues;
+    private String[] csvQueues;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        List<User> users = new ArrayList<>(members);
+        Field idField = User.class.getDeclaredField("id");
+        idField.setAccessible(true);
+        for (int m = 0; m < members; m++) {
+            User user = new User();
+            idField.set(user, 1_000L + m);
+            users.add(user);
+        }
+        ringQueues = new RoomAssignmentQueue[queues];
+        csvQueues = new String[queues];
+        for (int q = 0; q < queues; q++) {
+            ringQueues[q] = new RoomAssignmentQueue(null, null, users, q);
+            csvQueues[q] = ringQueues[q].getMemberIds().stream().map(String::valueOf)
+                    .collect(Collectors.joining(","));
+        }
+    }
+
+    @Benchmark
+    public void rotateRing(Blackhole blackhole) {
+        for (RoomAssignmentQueue queue : ringQueues) {
+            blackhole.consume(queue.getNextAssigneeId());
+            queue.rotate();
+        }
+    }
+
+    @Benchmark
+    public void rotateCsv(Blackhole blackhole) {
+        for (int q = 0; q < csvQueues.length; q++) {
+            List<Long> ids = Arrays.stream(csvQueues[q].split(",")).map(Long::parseLong)
+                    .collect(Collectors.toList());
+            blackhole.consume(ids.get(0));
+            ids.add(ids.remove(0));
+            csvQueues[q] = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+    }
+}
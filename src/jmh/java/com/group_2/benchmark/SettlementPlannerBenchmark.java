@@ -0,0 +1,60 @@
+package com.group_2.benchmark;
+
+import com.group_2.service.finance.SettlementPlanner;
+import com.group_2.service.finance.SettlementPlanner.PlannedTransfer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SettlementPlanner#plan(long[], long[])} on random net balances that
+ * sum to zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlementPlannerBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int members;
+
+    private long[] userIds;
+    private long[] netCents;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        userIds = new long[members];
+        netCents = new long[members];
+        long sum = 0;
+        for (int i = 0; i < members; i++) {
+            userIds[i] = i + 1;
+            netCents[i] = random.nextInt(200_000) - 100_000;
+            sum += netCents[i];
+        }
+        // Balances of a WG always net out
+        netCents[members - 1] -= sum;
+    }
+
+    @Benchmark
+    public List<PlannedTransfer> plan() {
+        return SettlementPlanner.plan(userIds, netCents);
+    }
+}
@@ -0,0 +1,74 @@
+package com.group_2.benchmark;
+
+import com.group_2.service.finance.StandingOrderRunReport;
+import com.group_2.service.finance.StandingOrderService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Standing order catch-up: every invocation posts {@code duePeriods} missed
+ * weekly periods of every standing order. The posted transactions stay in the
+ * database, so the history grows slowly over the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StandingOrderBenchmark {
+
+    @Param({ "5" })
+    private int members;
+
+    @Param({ "1000" })
+    private int transactions;
+
+    @Param({ "3" })
+    private int splits;
+
+    @Param({ "20" })
+    private int standingOrders;
+
+    @Param({ "4" })
+    private int duePeriods;
+
+    private FinanceBenchmarkContext context;
+    private StandingOrderService standingOrderService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = FinanceBenchmarkContext.start().seed(members, transactions, splits)
+                .seedStandingOrders(standingOrders);
+        standingOrderService = context.bean(StandingOrderService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void makeDue() {
+        context.resetStandingOrders(duePeriods);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public StandingOrderRunReport processDueStandingOrders() {
+        return standingOrderService.processDueStandingOrders();
+    }
+}
@@ -0,0 +1,133 @@
+package com.group_2.benchmark;
+
+import com.group_2.dto.finance.TransactionImportResult;
+import com.group_2.model.User;
+import com.group_2.service.finance.TransactionImportService;
+import com.group_2.service.finance.TransactionImportService.ImportFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import throughput of {@link TransactionImportService}, reported in splits
+ * per second (one operation is one imported split). Every invocation imports
+ * the same generated file again into a WG without prior history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionImportBenchmark {
+
+    private static final int MEMBERS = 6;
+    private static final int TRANSACTIONS = 10_000;
+    private static final int SPLITS = 5;
+    private static final int PERCENTAGE = 100 / SPLITS;
+
+    @Param({ "CSV", "JSON" })
+    private ImportFormat format;
+
+    private FinanceBenchmarkContext context;
+    private TransactionImportService importService;
+    private Long importerId;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = FinanceBenchmarkContext.start().seed(MEMBERS, 0, 1);
+        importService = context.bean(TransactionImportService.class);
+        importerId = context.getMembers().get(0).getId();
+        file = Files.createTempFile("import-bench", format == ImportFormat.JSON ? ".json" : ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == ImportFormat.JSON) {
+                writeJson(out, context.getMembers());
+            } else {
+                writeCsv(out, context.getMembers());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRANSACTIONS * SPLITS)
+    public TransactionImportResult importFile() {
+        TransactionImportResult result = importService.importFile(importerId, file, format, false);
+        if (result.transactions() != TRANSACTIONS) {
+            throw new IllegalStateException("Import failed: " + result.errors());
+        }
+        return result;
+    }
+
+    private static void writeCsv(BufferedWriter out, List<User> members) throws IOException {
+        out.write("transaction_id;timestamp;description;total_amount;creditor;debtor;percentage;amount\n");
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            String head = t + ";" + timestamp(t) + ";Expense " + t + ";" + euros(total(t)) + ";"
+                    + members.get(t % MEMBERS).getEmail() + ";";
+            for (int s = 0; s < SPLITS; s++) {
+                out.write(head + members.get((t + s) % MEMBERS).getEmail() + ";" + PERCENTAGE + ";"
+                        + euros(share(t)) + "\n");
+            }
+        }
+    }
+
+    private static void writeJson(BufferedWriter out, List<User> members) throws IOException {
+        out.write("[");
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            out.write((t > 0 ? "," : "") + "{\"timestamp\":\"" + timestamp(t) + "\",\"description\":\"Expense " + t
+                    + "\",\"totalAmount\":" + euros(total(t)) + ",\"creditor\":\""
+                    + members.get(t % MEMBERS).getEmail() + "\",\"splits\":[");
+            for (int s = 0; s < SPLITS; s++) {
+                out.write((s > 0 ? "," : "") + "{\"debtor\":\"" + members.get((t + s) % MEMBERS).getEmail()
+                        + "\",\"percentage\":" + PERCENTAGE + ",\"amount\":" + euros(share(t)) + "}");
+            }
+            out.write("]}");
+        }
+        out.write("]");
+    }
+
+    // Multiples of SPLITS, so equal shares add up exactly
+    private static long total(int t) {
+        return SPLITS * (100L + t % 2_000);
+    }
+
+    private static long share(int t) {
+        return total(t) / SPLITS;
+    }
+
+    private static String timestamp(int t) {
+        return LocalDateTime.of(2022, 1, 1, 12, 0).plusHours(t).toString();
+    }
+
+    private static String euros(long cents) {
+        return String.format(Locale.ROOT, "%d.%02d", cents / 100, cents % 100);
+    }
+}
@@ -0,0 +1,94 @@
+package com.group_2.benchmark;
+
+import com.group_2.dto.finance.BalanceViewDTO;
+import com.group_2.dto.finance.TransactionViewDTO;
+import com.group_2.model.finance.Transaction;
+import com.group_2.service.finance.BalanceCache;
+import com.group_2.service.finance.TransactionService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance and history reads of {@link TransactionService} on a seeded WG.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    @Param({ "5", "20" })
+    private int members;
+
+    @Param({ "1000", "10000" })
+    private int transactions;
+
+    @Param({ "3" })
+    private int splits;
+
+    private FinanceBenchmarkContext context;
+    private TransactionService transactionService;
+    private BalanceCache balanceCache;
+    private Long userId;
+    private Long otherUserId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = FinanceBenchmarkContext.start().seed(members, transactions, splits);
+        transactionService = context.bean(TransactionService.class);
+        balanceCache = context.bean(BalanceCache.class);
+        userId = context.getMembers().get(0).getId();
+        otherUserId = context.getMembers().get(1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double calculateBalanceWithUser() {
+        return transactionService.calculateBalanceWithUser(userId, otherUserId);
+    }
+
+    @Benchmark
+    public List<BalanceViewDTO> calculateAllBalancesView() {
+        return transactionService.calculateAllBalancesView(userId);
+    }
+
+    /**
+     * Balances with the balance cache dropped first, i.e. read from the ledger.
+     */
+    @Benchmark
+    public List<BalanceViewDTO> calculateAllBalancesViewUncached() {
+        balanceCache.invalidateAll();
+        return transactionService.calculateAllBalancesView(userId);
+    }
+
+    @Benchmark
+    public List<Transaction> getTransactionsForUser() {
+        return transactionService.getTransactionsForUser(userId);
+    }
+
+    @Benchmark
+    public List<TransactionViewDTO> getTransactionsForUserView() {
+        return transactionService.getTransactionsForUserView(userId);
+    }
+}
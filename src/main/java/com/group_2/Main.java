@@ -9,13 +9,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
-import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
 
 @SpringBootApplication
 @EntityScan(basePackages = { "com.group_2", "com.model" })
-@EnableScheduling
 public class Main {
 
     private static final Logger log = LoggerFactory.getLogger(Main.class);
@@ -25,6 +26,16 @@ public class Main {
         javafx.application.Application.launch(JavaFxApplication.class, args);
     }
 
+    /**
+     * Time source of all services that schedule by date. Tools such as the
+     * schedule simulator register their own clock before startup to replay time.
+     */
+    @Bean
+    @ConditionalOnMissingBean(Clock.class)
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
     @Bean
     public CommandLineRunner demo(WGService wgService, UserService userService, RoomService roomService,
             DatabaseCleanupService cleanupService) {
@@ -1,24 +1,32 @@
 package com.group_2.dto.finance;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.group_2.dto.core.CoreMapper;
 import com.group_2.dto.core.UserSummaryDTO;
+import com.group_2.dto.core.WgSummaryDTO;
 import com.group_2.dto.finance.TransactionSplitViewDTO;
 import com.group_2.dto.finance.TransactionViewDTO;
 import com.group_2.dto.finance.BalanceViewDTO;
 import com.group_2.dto.finance.StandingOrderViewDTO;
 import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.finance.ArchivedTransaction;
+import com.group_2.model.finance.ArchivedTransactionSplit;
 import com.group_2.model.finance.StandingOrder;
+import com.group_2.model.finance.StandingOrderDebtorShare;
 import com.group_2.model.finance.Transaction;
 import com.group_2.model.finance.TransactionSplit;
 import com.group_2.repository.UserRepository;
+import com.group_2.util.Money;
 
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Mapper for converting finance entities to DTOs. Centralizes the mapping logic
@@ -28,13 +36,11 @@ import java.util.Map;
 public class FinanceMapper {
 
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
     private final CoreMapper coreMapper;
 
     public FinanceMapper(UserRepository userRepository, CoreMapper coreMapper) {
         this.userRepository = userRepository;
         this.coreMapper = coreMapper;
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
@@ -53,8 +59,8 @@ public class FinanceMapper {
 
         return new TransactionDTO(transaction.getId(), transaction.getCreditor().getId(),
                 getDisplayName(transaction.getCreditor()), transaction.getCreatedBy().getId(),
-                getDisplayName(transaction.getCreatedBy()), transaction.getTotalAmount(), transaction.getDescription(),
-                transaction.getTimestamp(), transaction.getWg().getId(), splitDTOs);
+                getDisplayName(transaction.getCreatedBy()), Money.toEuros(transaction.getTotalAmountCents()),
+                transaction.getDescription(), transaction.getTimestamp(), transaction.getWg().getId(), splitDTOs);
     }
 
     /**
@@ -65,7 +71,7 @@ public class FinanceMapper {
             return null;
 
         return new TransactionSplitDTO(split.getId(), split.getDebtor().getId(), getDisplayName(split.getDebtor()),
-                split.getPercentage(), split.getAmount());
+                Money.toPercentage(split.getPercentageBasisPoints()), Money.toEuros(split.getAmountCents()));
     }
 
     /**
@@ -75,13 +81,17 @@ public class FinanceMapper {
         if (order == null)
             return null;
 
-        List<StandingOrderDTO.DebtorShareDTO> debtorDTOs = parseDebtorData(order.getDebtorData(),
-                order.getTotalAmount());
+        return toDTO(order, resolveDebtors(List.of(order)));
+    }
+
+    private StandingOrderDTO toDTO(StandingOrder order, Map<Long, UserSummaryDTO> debtors) {
+        List<StandingOrderDTO.DebtorShareDTO> debtorDTOs = toDebtorShares(order, debtors);
 
         return new StandingOrderDTO(order.getId(), order.getCreditor().getId(), getDisplayName(order.getCreditor()),
-                order.getCreatedBy().getId(), getDisplayName(order.getCreatedBy()), order.getTotalAmount(),
-                order.getDescription(), order.getFrequency(), order.getNextExecution(), order.getIsActive(),
-                order.getCreatedAt(), order.getMonthlyDay(), order.getMonthlyLastDay(), debtorDTOs);
+                order.getCreatedBy().getId(), getDisplayName(order.getCreatedBy()),
+                Money.toEuros(order.getTotalAmountCents()), order.getDescription(), order.getFrequency(),
+                order.getNextExecution(), order.getIsActive(), order.getCreatedAt(), order.getMonthlyDay(),
+                order.getMonthlyLastDay(), debtorDTOs);
     }
 
     /**
@@ -98,11 +108,27 @@ public class FinanceMapper {
      * Create a BalanceDTO from user ID and balance
      */
     public BalanceDTO toBalanceDTO(Long userId, Double balance) {
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null)
-            return null;
+        List<BalanceDTO> dtos = toBalanceDTOList(Map.of(userId, balance));
+        return dtos.isEmpty() ? null : dtos.get(0);
+    }
 
-        return toBalanceDTO(user, balance);
+    /**
+     * Create BalanceDTOs for a map of user ID to balance, resolving all users with
+     * one query. Unknown users are skipped.
+     */
+    public List<BalanceDTO> toBalanceDTOList(Map<Long, Double> balances) {
+        List<BalanceDTO> dtos = new ArrayList<>();
+        if (balances == null || balances.isEmpty()) {
+            return dtos;
+        }
+        Map<Long, UserSummaryDTO> users = resolveUsers(balances.keySet());
+        for (Map.Entry<Long, Double> entry : balances.entrySet()) {
+            UserSummaryDTO user = users.get(entry.getKey());
+            if (user != null) {
+                dtos.add(new BalanceDTO(user.id(), user.displayName(), entry.getValue()));
+            }
+        }
+        return dtos;
     }
 
     /**
@@ -124,8 +150,9 @@ public class FinanceMapper {
     public List<StandingOrderDTO> toStandingOrderDTOList(List<StandingOrder> orders) {
         List<StandingOrderDTO> dtos = new ArrayList<>();
         if (orders != null) {
+            Map<Long, UserSummaryDTO> debtors = resolveDebtors(orders);
             for (StandingOrder order : orders) {
-                dtos.add(toDTO(order));
+                dtos.add(toDTO(order, debtors));
             }
         }
         return dtos;
@@ -145,40 +172,58 @@ public class FinanceMapper {
     }
 
     /**
-     * Parse the JSON debtor data string from StandingOrder
+     * Resolve users by ID with a single query.
      */
-    private List<StandingOrderDTO.DebtorShareDTO> parseDebtorData(String json, Double totalAmount) {
-        List<StandingOrderDTO.DebtorShareDTO> debtors = new ArrayList<>();
-
-        if (json == null || json.isEmpty()) {
-            return debtors;
+    private Map<Long, UserSummaryDTO> resolveUsers(Collection<Long> userIds) {
+        Map<Long, UserSummaryDTO> users = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return users;
         }
+        for (User user : userRepository.findAllById(userIds)) {
+            users.put(user.getId(), coreMapper.toUserSummary(user));
+        }
+        return users;
+    }
 
-        try {
-            List<Map<String, Object>> debtorList = objectMapper.readValue(json,
-                    new TypeReference<List<Map<String, Object>>>() {
-                    });
-
-            for (Map<String, Object> entry : debtorList) {
-                Object userIdObj = entry.get("userId");
-                Object percentageObj = entry.get("percentage");
-
-                Long userId = userIdObj instanceof Number ? ((Number) userIdObj).longValue()
-                        : Long.parseLong(userIdObj.toString());
-                Double percentage = percentageObj instanceof Number ? ((Number) percentageObj).doubleValue()
-                        : Double.parseDouble(percentageObj.toString());
-
-                Double amount = (percentage / 100.0) * totalAmount;
-
-                // Resolve user name
-                String userName = userRepository.findById(userId).map(this::getDisplayName).orElse("Unknown User");
-
-                debtors.add(new StandingOrderDTO.DebtorShareDTO(userId, userName, percentage, amount));
+    /**
+     * Resolve all debtors referenced by the given standing orders with a single
+     * query.
+     */
+    private Map<Long, UserSummaryDTO> resolveDebtors(List<StandingOrder> orders) {
+        Set<Long> userIds = new HashSet<>();
+        for (StandingOrder order : orders) {
+            for (StandingOrderDebtorShare share : order.getDebtorShares()) {
+                userIds.add(share.getUserId());
             }
-        } catch (Exception e) {
-            // Log and return empty list on parse failure
+        }
+        return resolveUsers(userIds);
+    }
+
+    /**
+     * Resolve the debtor shares of a standing order. Amounts are allocated from the
+     * total so they add up exactly.
+     */
+    private List<StandingOrderDTO.DebtorShareDTO> toDebtorShares(StandingOrder order,
+            Map<Long, UserSummaryDTO> users) {
+        List<StandingOrderDebtorShare> shares = order.getDebtorShares();
+        List<StandingOrderDTO.DebtorShareDTO> debtors = new ArrayList<>(shares.size());
+        if (shares.isEmpty()) {
+            return debtors;
         }
 
+        long[] basisPoints = new long[shares.size()];
+        for (int i = 0; i < shares.size(); i++) {
+            basisPoints[i] = shares.get(i).getBasisPoints();
+        }
+        long[] amounts = Money.allocate(order.getTotalAmountCents(), basisPoints);
+
+        for (int i = 0; i < shares.size(); i++) {
+            Long userId = shares.get(i).getUserId();
+            UserSummaryDTO user = users.get(userId);
+            String userName = user != null ? user.displayName() : "Unknown User";
+            debtors.add(new StandingOrderDTO.DebtorShareDTO(userId, userName,
+                    Money.toPercentage(shares.get(i).getBasisPoints()), Money.toEuros(amounts[i])));
+        }
         return debtors;
     }
 
@@ -188,6 +233,10 @@ public class FinanceMapper {
         if (transaction == null) {
             return null;
         }
+        return toView(transaction, new HashMap<>());
+    }
+
+    private TransactionViewDTO toView(Transaction transaction, Map<Long, WgSummaryDTO> wgSummaries) {
         List<TransactionSplitViewDTO> splitViews = new ArrayList<>();
         if (transaction.getSplits() != null) {
             for (TransactionSplit split : transaction.getSplits()) {
@@ -195,8 +244,8 @@ public class FinanceMapper {
             }
         }
         return new TransactionViewDTO(transaction.getId(), coreMapper.toUserSummary(transaction.getCreditor()),
-                coreMapper.toUserSummary(transaction.getCreatedBy()), transaction.getTotalAmount(),
-                transaction.getDescription(), transaction.getTimestamp(), coreMapper.toWgSummary(transaction.getWg()),
+                coreMapper.toUserSummary(transaction.getCreatedBy()), Money.toEuros(transaction.getTotalAmountCents()),
+                transaction.getDescription(), transaction.getTimestamp(), toWgSummary(transaction.getWg(), wgSummaries),
                 splitViews);
     }
 
@@ -205,19 +254,79 @@ public class FinanceMapper {
             return null;
         }
         return new TransactionSplitViewDTO(split.getId(), coreMapper.toUserSummary(split.getDebtor()),
-                split.getPercentage(), split.getAmount());
+                Money.toPercentage(split.getPercentageBasisPoints()), Money.toEuros(split.getAmountCents()));
     }
 
     public List<TransactionViewDTO> toViewList(List<Transaction> transactions) {
         List<TransactionViewDTO> dtos = new ArrayList<>();
         if (transactions != null) {
+            // Transactions of a list usually share one WG; count its members once
+            Map<Long, WgSummaryDTO> wgSummaries = new HashMap<>();
             for (Transaction transaction : transactions) {
-                dtos.add(toView(transaction));
+                dtos.add(toView(transaction, wgSummaries));
             }
         }
         return dtos;
     }
 
+    /**
+     * Build view DTOs from flat projection rows. The splits are grouped onto
+     * their transactions; the order of {@code rows} is kept.
+     */
+    public List<TransactionViewDTO> toViewList(List<TransactionViewRow> rows, List<TransactionSplitViewRow> splitRows) {
+        Map<Long, List<TransactionSplitViewDTO>> splitsByTransaction = new HashMap<>();
+        for (TransactionSplitViewRow split : splitRows) {
+            UserSummaryDTO debtor = new UserSummaryDTO(split.debtorId(), split.debtorName(), split.debtorSurname(),
+                    split.debtorEmail(), split.debtorWgId());
+            splitsByTransaction.computeIfAbsent(split.transactionId(), id -> new ArrayList<>())
+                    .add(new TransactionSplitViewDTO(split.id(), debtor,
+                            Money.toPercentage(split.percentageBasisPoints()), Money.toEuros(split.amountCents())));
+        }
+
+        List<TransactionViewDTO> dtos = new ArrayList<>(rows.size());
+        for (TransactionViewRow row : rows) {
+            UserSummaryDTO creditor = new UserSummaryDTO(row.creditorId(), row.creditorName(), row.creditorSurname(),
+                    row.creditorEmail(), row.creditorWgId());
+            UserSummaryDTO createdBy = new UserSummaryDTO(row.createdById(), row.createdByName(),
+                    row.createdBySurname(), row.createdByEmail(), row.createdByWgId());
+            WgSummaryDTO wg = new WgSummaryDTO(row.wgId(), row.wgName(), (int) row.wgMemberCount());
+            dtos.add(new TransactionViewDTO(row.id(), creditor, createdBy, Money.toEuros(row.totalAmountCents()),
+                    row.description(), row.timestamp(), wg, splitsByTransaction.getOrDefault(row.id(), List.of())));
+        }
+        return dtos;
+    }
+
+    /**
+     * Build view DTOs for archived transactions of one WG. All referenced users
+     * are resolved with a single query.
+     */
+    public List<TransactionViewDTO> toArchivedViewList(List<ArchivedTransaction> archived, WG wg) {
+        Set<Long> userIds = new HashSet<>();
+        for (ArchivedTransaction transaction : archived) {
+            userIds.add(transaction.getCreditorId());
+            userIds.add(transaction.getCreatedById());
+            for (ArchivedTransactionSplit split : transaction.getSplits()) {
+                userIds.add(split.getDebtorId());
+            }
+        }
+        Map<Long, UserSummaryDTO> users = resolveUsers(userIds);
+        WgSummaryDTO wgSummary = coreMapper.toWgSummary(wg);
+
+        List<TransactionViewDTO> dtos = new ArrayList<>(archived.size());
+        for (ArchivedTransaction transaction : archived) {
+            List<TransactionSplitViewDTO> splits = new ArrayList<>();
+            for (ArchivedTransactionSplit split : transaction.getSplits()) {
+                // Archived splits have no ID of their own
+                splits.add(new TransactionSplitViewDTO(null, users.get(split.getDebtorId()),
+                        Money.toPercentage(split.getPercentageBasisPoints()), Money.toEuros(split.getAmountCents())));
+            }
+            dtos.add(new TransactionViewDTO(transaction.getId(), users.get(transaction.getCreditorId()),
+                    users.get(transaction.getCreatedById()), Money.toEuros(transaction.getTotalAmountCents()),
+                    transaction.getDescription(), transaction.getTimestamp(), wgSummary, splits));
+        }
+        return dtos;
+    }
+
     public BalanceViewDTO toBalanceView(User user, Double balance) {
         if (user == null) {
             return null;
@@ -230,26 +339,43 @@ public class FinanceMapper {
         if (order == null) {
             return null;
         }
+        return toStandingOrderView(order, resolveDebtors(List.of(order)), new HashMap<>());
+    }
+
+    private StandingOrderViewDTO toStandingOrderView(StandingOrder order, Map<Long, UserSummaryDTO> debtors,
+            Map<Long, WgSummaryDTO> wgSummaries) {
         List<StandingOrderViewDTO.DebtorShareViewDTO> debtorDTOs = new ArrayList<>();
-        List<StandingOrderDTO.DebtorShareDTO> parsed = parseDebtorData(order.getDebtorData(), order.getTotalAmount());
-        for (StandingOrderDTO.DebtorShareDTO d : parsed) {
-            User debtor = userRepository.findById(d.userId()).orElse(null);
-            debtorDTOs.add(new StandingOrderViewDTO.DebtorShareViewDTO(d.userId(), coreMapper.toUserSummary(debtor),
+        for (StandingOrderDTO.DebtorShareDTO d : toDebtorShares(order, debtors)) {
+            debtorDTOs.add(new StandingOrderViewDTO.DebtorShareViewDTO(d.userId(), debtors.get(d.userId()),
                     d.percentage(), d.amount()));
         }
         return new StandingOrderViewDTO(order.getId(), coreMapper.toUserSummary(order.getCreditor()),
-                coreMapper.toUserSummary(order.getCreatedBy()), order.getTotalAmount(), order.getDescription(),
-                order.getFrequency(), order.getNextExecution(), order.getIsActive(), order.getCreatedAt(),
-                order.getMonthlyDay(), order.getMonthlyLastDay(), debtorDTOs, coreMapper.toWgSummary(order.getWg()));
+                coreMapper.toUserSummary(order.getCreatedBy()), Money.toEuros(order.getTotalAmountCents()),
+                order.getDescription(), order.getFrequency(), order.getNextExecution(), order.getIsActive(),
+                order.getCreatedAt(), order.getMonthlyDay(), order.getMonthlyLastDay(), debtorDTOs,
+                toWgSummary(order.getWg(), wgSummaries));
     }
 
     public List<StandingOrderViewDTO> toStandingOrderViewList(List<StandingOrder> orders) {
         List<StandingOrderViewDTO> dtos = new ArrayList<>();
         if (orders != null) {
+            Map<Long, UserSummaryDTO> debtors = resolveDebtors(orders);
+            Map<Long, WgSummaryDTO> wgSummaries = new HashMap<>();
             for (StandingOrder order : orders) {
-                dtos.add(toStandingOrderView(order));
+                dtos.add(toStandingOrderView(order, debtors, wgSummaries));
             }
         }
         return dtos;
     }
+
+    /**
+     * WG summary cached per mapped list, so the member count query runs once per
+     * WG instead of once per row.
+     */
+    private WgSummaryDTO toWgSummary(WG wg, Map<Long, WgSummaryDTO> wgSummaries) {
+        if (wg == null || wg.getId() == null) {
+            return coreMapper.toWgSummary(wg);
+        }
+        return wgSummaries.computeIfAbsent(wg.getId(), id -> coreMapper.toWgSummary(wg));
+    }
 }
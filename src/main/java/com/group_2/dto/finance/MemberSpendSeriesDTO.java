@@ -0,0 +1,18 @@
+package com.group_2.dto.finance;
+
+import com.group_2.dto.core.UserSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Monthly spending of one member, one value per month of the enclosing
+ * {@link SpendTrendViewDTO}.
+ *
+ * @param member            the member
+ * @param paid              amounts paid as creditor, in euros
+ * @param owed              own shares (splits as debtor), in euros
+ * @param transactionCounts number of transactions paid
+ */
+public record MemberSpendSeriesDTO(UserSummaryDTO member, List<Double> paid, List<Double> owed,
+        List<Long> transactionCounts) {
+}
@@ -0,0 +1,8 @@
+package com.group_2.dto.finance;
+
+/**
+ * Aggregated amount in euro cents the debtor owes the creditor within a WG.
+ * Used as the row type of the GROUP BY balance queries.
+ */
+public record PairwiseBalanceDTO(Long creditorId, Long debtorId, Long amountCents) {
+}
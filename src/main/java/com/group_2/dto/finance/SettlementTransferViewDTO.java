@@ -0,0 +1,9 @@
+package com.group_2.dto.finance;
+
+import com.group_2.dto.core.UserSummaryDTO;
+
+/**
+ * View-facing planned settlement transfer: the payer pays the receiver.
+ */
+public record SettlementTransferViewDTO(UserSummaryDTO payer, UserSummaryDTO receiver, Double amount) {
+}
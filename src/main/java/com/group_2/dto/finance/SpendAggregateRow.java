@@ -0,0 +1,8 @@
+package com.group_2.dto.finance;
+
+/**
+ * Amount and count of one member in one month, aggregated in the database
+ * when the spend rollups are rebuilt.
+ */
+public record SpendAggregateRow(Long userId, Integer year, Integer month, Long amountCents, Long count) {
+}
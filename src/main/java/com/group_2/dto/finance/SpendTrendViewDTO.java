@@ -0,0 +1,10 @@
+package com.group_2.dto.finance;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * View-facing monthly spending trend of a WG, oldest month first.
+ */
+public record SpendTrendViewDTO(List<YearMonth> months, List<MemberSpendSeriesDTO> members) {
+}
@@ -0,0 +1,9 @@
+package com.group_2.dto.finance;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of a finished history export.
+ */
+public record TransactionExportResult(Path file, long transactions, long splits) {
+}
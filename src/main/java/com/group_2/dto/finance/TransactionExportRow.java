@@ -0,0 +1,11 @@
+package com.group_2.dto.finance;
+
+import java.time.LocalDateTime;
+
+/**
+ * One split of a transaction as streamed by the history export. Transaction
+ * columns repeat for every split of the same transaction.
+ */
+public record TransactionExportRow(Long transactionId, LocalDateTime timestamp, String description,
+        long totalAmountCents, Long creditorId, Long debtorId, int percentageBasisPoints, long amountCents) {
+}
@@ -0,0 +1,17 @@
+package com.group_2.dto.finance;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in the transaction history. Chronological pages use the keyset
+ * (timestamp, id) of the last row of the previous page; the next page starts
+ * strictly after it in (timestamp desc, id desc) order. Description searches
+ * are ordered by relevance and use {@code searchOffset}, the number of ranked
+ * search hits already consumed.
+ */
+public record TransactionHistoryCursor(LocalDateTime timestamp, Long id, Integer searchOffset) {
+
+    public TransactionHistoryCursor(LocalDateTime timestamp, Long id) {
+        this(timestamp, id, null);
+    }
+}
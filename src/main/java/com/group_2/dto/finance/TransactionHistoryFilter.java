@@ -0,0 +1,29 @@
+package com.group_2.dto.finance;
+
+/**
+ * Filter criteria for the transaction history. Every criterion is optional; a
+ * null value means "no restriction".
+ *
+ * @param year       calendar year of the transaction timestamp
+ * @param month      month of the timestamp (1-12), within the year if one is set
+ * @param creditorId user who paid
+ * @param debtorId   user who appears in at least one split
+ * @param search     case-insensitive part of the description
+ */
+public record TransactionHistoryFilter(Integer year, Integer month, Long creditorId, Long debtorId, String search) {
+
+    public static TransactionHistoryFilter none() {
+        return new TransactionHistoryFilter(null, null, null, null, null);
+    }
+
+    public boolean hasSearch() {
+        return search != null && !search.isBlank();
+    }
+
+    /**
+     * The same filter without the description search.
+     */
+    public TransactionHistoryFilter withoutSearch() {
+        return new TransactionHistoryFilter(year, month, creditorId, debtorId, null);
+    }
+}
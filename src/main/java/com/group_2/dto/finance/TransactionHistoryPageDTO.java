@@ -0,0 +1,10 @@
+package com.group_2.dto.finance;
+
+import java.util.List;
+
+/**
+ * One page of the transaction history with the cursor for the next page.
+ */
+public record TransactionHistoryPageDTO(List<TransactionViewDTO> items, TransactionHistoryCursor nextCursor,
+        boolean hasMore) {
+}
@@ -0,0 +1,27 @@
+package com.group_2.dto.finance;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a transaction import. If {@code errors} is not empty the import
+ * was rejected and nothing was written.
+ */
+public record TransactionImportResult(long transactions, long splits, Duration duration, List<String> errors) {
+
+    public static TransactionImportResult failed(List<String> errors) {
+        return new TransactionImportResult(0, 0, Duration.ZERO, List.copyOf(errors));
+    }
+
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+
+    /**
+     * Write throughput of the import.
+     */
+    public double splitsPerSecond() {
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? splits / seconds : 0.0;
+    }
+}
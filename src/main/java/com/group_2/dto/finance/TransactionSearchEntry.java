@@ -0,0 +1,7 @@
+package com.group_2.dto.finance;
+
+/**
+ * Id and description of a transaction, loaded to build the search index.
+ */
+public record TransactionSearchEntry(Long id, String description) {
+}
@@ -0,0 +1,8 @@
+package com.group_2.dto.finance;
+
+/**
+ * Flat projection of the columns a {@link TransactionSplitViewDTO} needs.
+ */
+public record TransactionSplitViewRow(Long transactionId, Long id, Long debtorId, String debtorName,
+        String debtorSurname, String debtorEmail, Long debtorWgId, int percentageBasisPoints, long amountCents) {
+}
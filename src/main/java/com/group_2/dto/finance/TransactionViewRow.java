@@ -0,0 +1,13 @@
+package com.group_2.dto.finance;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of the columns a {@link TransactionViewDTO} needs, selected
+ * by constructor expression instead of loading the entity graph.
+ */
+public record TransactionViewRow(Long id, long totalAmountCents, String description, LocalDateTime timestamp,
+        Long creditorId, String creditorName, String creditorSurname, String creditorEmail, Long creditorWgId,
+        Long createdById, String createdByName, String createdBySurname, String createdByEmail, Long createdByWgId,
+        Long wgId, String wgName, long wgMemberCount) {
+}
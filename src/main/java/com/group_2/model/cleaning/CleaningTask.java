@@ -18,8 +18,10 @@ import java.time.LocalDateTime;
 })
 public class CleaningTask {
 
+    // Pooled sequence so inserts can be JDBC-batched (IDENTITY disables batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Version
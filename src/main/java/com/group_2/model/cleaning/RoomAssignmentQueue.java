@@ -3,20 +3,29 @@ package com.group_2.model.cleaning;
 import com.group_2.model.User;
 import com.group_2.model.WG;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Entity representing the assignment queue for a room.
  * This enables round-robin task distribution where each member takes turns
  * cleaning each room. The queue rotates after each week.
+ * <p>
+ * Members are kept as a ring buffer of user IDs with a head index, so a
+ * rotation is a single index increment. With dynamic updates only changed
+ * columns are written, i.e. a rotation writes just the head.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "room_assignment_queue")
 public class RoomAssignmentQueue {
 
+    // Upper bound of the member_ids column, far above any realistic WG
+    private static final int MAX_MEMBERS = 1000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -33,12 +42,23 @@ public class RoomAssignmentQueue {
     private WG wg;
 
     /**
-     * Ordered list of user IDs representing the assignment queue.
-     * The first user in the list is assigned to clean next.
-     * Stored as comma-separated IDs for simplicity.
+     * User IDs of the queue as a ring buffer, 8 bytes big-endian per ID. The
+     * member at {@link #head} is assigned to clean next, followed by the
+     * others in ring order.
      */
-    @Column(nullable = false, length = 1000)
-    private String memberQueueOrder;
+    @Column(name = "member_ids", length = MAX_MEMBERS * Long.BYTES)
+    private byte[] encodedMembers = new byte[0];
+
+    /**
+     * Ring index of the next assignee. Rotating only moves the head, so a
+     * weekly rotation updates this column and the version, nothing else.
+     */
+    @Column(name = "queue_head", nullable = false, columnDefinition = "INT DEFAULT 0")
+    private int head;
+
+    // Decoded form of encodedMembers, built on first access after loading
+    @Transient
+    private long[] ring;
 
     public RoomAssignmentQueue() {
     }
@@ -56,78 +76,113 @@ public class RoomAssignmentQueue {
      */
     public void initializeQueue(List<User> members, int offset) {
         if (members == null || members.isEmpty()) {
-            this.memberQueueOrder = "";
+            store(new long[0]);
             return;
         }
 
-        List<Long> ids = new ArrayList<>();
-        int size = members.size();
-        for (int i = 0; i < size; i++) {
-            int index = (i + offset) % size;
-            ids.add(members.get(index).getId());
+        long[] ids = new long[members.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = members.get(i).getId();
         }
-        this.memberQueueOrder = ids.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
+        store(ids);
+        head = offset % ids.length;
     }
 
     /**
      * Get the list of user IDs in queue order.
      */
     public List<Long> getMemberIds() {
-        if (memberQueueOrder == null || memberQueueOrder.isEmpty()) {
-            return new ArrayList<>();
+        long[] ids = ring();
+        List<Long> ordered = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            ordered.add(ids[physical(i)]);
+        }
+        return ordered;
+    }
+
+    /**
+     * Replace the queue by the given user IDs in queue order.
+     */
+    public void setMemberIds(List<Long> ids) {
+        if (ids.equals(getMemberIds())) {
+            return; // Keep the stored layout, nothing to write
+        }
+        long[] ordered = new long[ids.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = ids.get(i);
+        }
+        store(ordered);
+    }
+
+    /**
+     * Number of positions in the queue.
+     */
+    public int size() {
+        return ring().length;
+    }
+
+    /**
+     * Get the user ID at the given queue position (0 is the next assignee).
+     */
+    public long memberAt(int position) {
+        long[] ids = ring();
+        if (position < 0 || position >= ids.length) {
+            throw new IndexOutOfBoundsException("Queue position " + position + " of " + ids.length);
         }
-        return Arrays.stream(memberQueueOrder.split(","))
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
+        return ids[physical(position)];
     }
 
     /**
      * Get the ID of the first user in the queue (next assignee).
      */
     public Long getNextAssigneeId() {
-        List<Long> ids = getMemberIds();
-        return ids.isEmpty() ? null : ids.get(0);
+        long[] ids = ring();
+        return ids.length == 0 ? null : ids[head];
     }
 
     /**
      * Rotate the queue: move the first member to the end.
      */
     public void rotate() {
-        List<Long> ids = getMemberIds();
-        if (ids.size() <= 1) {
+        int size = ring().length;
+        if (size <= 1) {
             return;
         }
-        Long first = ids.remove(0);
-        ids.add(first);
-        this.memberQueueOrder = ids.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
+        head = head + 1 == size ? 0 : head + 1;
     }
 
     /**
      * Add a new member to the end of the queue.
      */
     public void addMember(User user) {
-        List<Long> ids = getMemberIds();
-        if (!ids.contains(user.getId())) {
-            ids.add(user.getId());
-            this.memberQueueOrder = ids.stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
+        if (findPositionFrom(user.getId(), 0) >= 0) {
+            return;
+        }
+        long[] ids = ring();
+        long[] added = new long[ids.length + 1];
+        for (int i = 0; i < ids.length; i++) {
+            added[i] = ids[physical(i)];
         }
+        added[ids.length] = user.getId();
+        store(added);
     }
 
     /**
      * Remove a member from the queue.
      */
     public void removeMember(User user) {
-        List<Long> ids = getMemberIds();
-        ids.remove(user.getId());
-        this.memberQueueOrder = ids.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
+        int position = findPositionFrom(user.getId(), 0);
+        if (position < 0) {
+            return;
+        }
+        long[] ids = ring();
+        long[] remaining = new long[ids.length - 1];
+        for (int i = 0, j = 0; i < ids.length; i++) {
+            if (i != position) {
+                remaining[j++] = ids[physical(i)];
+            }
+        }
+        store(remaining);
     }
 
     /**
@@ -135,15 +190,10 @@ public class RoomAssignmentQueue {
      * Used when reassigning tasks to maintain fairness.
      */
     public void swapPositions(Long userId1, Long userId2) {
-        List<Long> ids = getMemberIds();
-        int pos1 = ids.indexOf(userId1);
-        int pos2 = ids.indexOf(userId2);
+        int pos1 = findPositionFrom(userId1, 0);
+        int pos2 = findPositionFrom(userId2, 0);
         if (pos1 >= 0 && pos2 >= 0 && pos1 != pos2) {
-            ids.set(pos1, userId2);
-            ids.set(pos2, userId1);
-            this.memberQueueOrder = ids.stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
+            swap(pos1, pos2);
         }
     }
 
@@ -163,34 +213,17 @@ public class RoomAssignmentQueue {
      * @return true if swap was successful, false if no valid target found
      */
     public boolean swapWithNextOccurrence(int currentPosition, Long targetUserId) {
-        List<Long> ids = getMemberIds();
-
-        if (currentPosition < 0 || currentPosition >= ids.size()) {
+        if (currentPosition < 0 || currentPosition >= size()) {
             return false;
         }
 
         // Find the next occurrence of targetUserId AFTER currentPosition
-        int nextTargetPosition = -1;
-        for (int i = currentPosition + 1; i < ids.size(); i++) {
-            if (ids.get(i).equals(targetUserId)) {
-                nextTargetPosition = i;
-                break;
-            }
-        }
-
+        int nextTargetPosition = findPositionFrom(targetUserId, currentPosition + 1);
         if (nextTargetPosition == -1) {
             return false; // No upcoming occurrence of target user found
         }
 
-        // Swap the positions
-        Long temp = ids.get(currentPosition);
-        ids.set(currentPosition, ids.get(nextTargetPosition));
-        ids.set(nextTargetPosition, temp);
-
-        this.memberQueueOrder = ids.stream()
-                .map(String::valueOf)
-                .collect(Collectors.joining(","));
-
+        swap(currentPosition, nextTargetPosition);
         return true;
     }
 
@@ -202,15 +235,77 @@ public class RoomAssignmentQueue {
      * @return The index of the user, or -1 if not found
      */
     public int findPositionFrom(Long userId, int startIndex) {
-        List<Long> ids = getMemberIds();
-        for (int i = startIndex; i < ids.size(); i++) {
-            if (ids.get(i).equals(userId)) {
+        if (userId == null) {
+            return -1;
+        }
+        long[] ids = ring();
+        long id = userId;
+        for (int i = Math.max(startIndex, 0); i < ids.length; i++) {
+            if (ids[physical(i)] == id) {
                 return i;
             }
         }
         return -1;
     }
 
+    private void swap(int position1, int position2) {
+        long[] ids = ring().clone();
+        int physical1 = physical(position1);
+        int physical2 = physical(position2);
+        long temp = ids[physical1];
+        ids[physical1] = ids[physical2];
+        ids[physical2] = temp;
+        // Same layout, head stays where it is
+        int currentHead = head;
+        store(ids);
+        head = currentHead;
+    }
+
+    private int physical(int position) {
+        int index = head + position;
+        return index >= ring.length ? index - ring.length : index;
+    }
+
+    private long[] ring() {
+        if (ring == null) {
+            ring = decode(encodedMembers);
+            if (head >= ring.length) {
+                head = 0;
+            }
+        }
+        return ring;
+    }
+
+    /**
+     * Store IDs in queue order; the head moves back to the first of them.
+     */
+    private void store(long[] ids) {
+        if (ids.length > MAX_MEMBERS) {
+            throw new IllegalArgumentException("A queue holds at most " + MAX_MEMBERS + " members");
+        }
+        ring = ids;
+        encodedMembers = encode(ids);
+        head = 0;
+    }
+
+    /**
+     * Encode user IDs in the binary column format.
+     */
+    public static byte[] encode(long[] ids) {
+        ByteBuffer buffer = ByteBuffer.allocate(ids.length * Long.BYTES);
+        buffer.asLongBuffer().put(ids);
+        return buffer.array();
+    }
+
+    private static long[] decode(byte[] bytes) {
+        if (bytes == null) {
+            return new long[0];
+        }
+        long[] ids = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(ids);
+        return ids;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -232,11 +327,7 @@ public class RoomAssignmentQueue {
         this.wg = wg;
     }
 
-    public String getMemberQueueOrder() {
-        return memberQueueOrder;
-    }
-
-    public void setMemberQueueOrder(String memberQueueOrder) {
-        this.memberQueueOrder = memberQueueOrder;
+    public int getHead() {
+        return head;
     }
 }
@@ -0,0 +1,115 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction moved out of the live tables by history compaction. Rows are
+ * written once and never changed; users are referenced by ID only so archived
+ * history survives membership changes.
+ */
+@Entity
+@Table(name = "archived_transactions", indexes = {
+        @Index(name = "idx_archived_transaction_wg_timestamp", columnList = "wg_id, timestamp")
+})
+public class ArchivedTransaction {
+
+    // ID of the original transaction
+    @Id
+    private Long id;
+
+    @Column(name = "wg_id", nullable = false)
+    private Long wgId;
+
+    @Column(name = "creditor_id", nullable = false)
+    private Long creditorId;
+
+    @Column(name = "created_by_id", nullable = false)
+    private Long createdById;
+
+    @Column(name = "total_amount_cents", nullable = false)
+    private long totalAmountCents;
+
+    @Column(length = 500)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean settlement;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "archived_transaction_splits", joinColumns = @JoinColumn(name = "archived_transaction_id"),
+            indexes = @Index(name = "idx_archived_split_debtor", columnList = "debtor_id"))
+    @OrderColumn(name = "split_index")
+    private List<ArchivedTransactionSplit> splits = new ArrayList<>();
+
+    public ArchivedTransaction() {
+    }
+
+    /**
+     * Copy a live transaction into the archive.
+     */
+    public ArchivedTransaction(Transaction transaction, LocalDateTime archivedAt) {
+        this.id = transaction.getId();
+        this.wgId = transaction.getWg().getId();
+        this.creditorId = transaction.getCreditor().getId();
+        this.createdById = transaction.getCreatedBy().getId();
+        this.totalAmountCents = transaction.getTotalAmountCents();
+        this.description = transaction.getDescription();
+        this.timestamp = transaction.getTimestamp();
+        this.archivedAt = archivedAt;
+        this.settlement = transaction.isSettlement();
+        for (TransactionSplit split : transaction.getSplits()) {
+            splits.add(new ArchivedTransactionSplit(split.getDebtor().getId(), split.getPercentageBasisPoints(),
+                    split.getAmountCents()));
+        }
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWgId() {
+        return wgId;
+    }
+
+    public Long getCreditorId() {
+        return creditorId;
+    }
+
+    public Long getCreatedById() {
+        return createdById;
+    }
+
+    public long getTotalAmountCents() {
+        return totalAmountCents;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public boolean isSettlement() {
+        return settlement;
+    }
+
+    public List<ArchivedTransactionSplit> getSplits() {
+        return splits;
+    }
+}
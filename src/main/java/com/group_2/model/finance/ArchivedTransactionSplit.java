@@ -0,0 +1,41 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Split of an {@link ArchivedTransaction}.
+ */
+@Embeddable
+public class ArchivedTransactionSplit {
+
+    @Column(name = "debtor_id", nullable = false)
+    private Long debtorId;
+
+    @Column(name = "percentage_basis_points", nullable = false)
+    private int percentageBasisPoints;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    public ArchivedTransactionSplit() {
+    }
+
+    public ArchivedTransactionSplit(Long debtorId, int percentageBasisPoints, long amountCents) {
+        this.debtorId = debtorId;
+        this.percentageBasisPoints = percentageBasisPoints;
+        this.amountCents = amountCents;
+    }
+
+    public Long getDebtorId() {
+        return debtorId;
+    }
+
+    public int getPercentageBasisPoints() {
+        return percentageBasisPoints;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+}
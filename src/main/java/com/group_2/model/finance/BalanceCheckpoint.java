@@ -0,0 +1,67 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of the pairwise balances of a WG over all transactions up to and
+ * including {@code cutoffTransactionId}. Balances are derived from the latest
+ * checkpoint plus the splits of newer transactions, so the fold over the raw
+ * history stays bounded.
+ */
+@Entity
+@Table(name = "balance_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_balance_checkpoint_wg", columnNames = { "wg_id" })
+})
+public class BalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "wg_id", nullable = false)
+    private Long wgId;
+
+    @Column(name = "cutoff_transaction_id", nullable = false)
+    private Long cutoffTransactionId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "balance_checkpoint_pairs", joinColumns = @JoinColumn(name = "checkpoint_id"))
+    private List<CheckpointPairBalance> pairs = new ArrayList<>();
+
+    public BalanceCheckpoint() {
+    }
+
+    public BalanceCheckpoint(Long wgId, Long cutoffTransactionId, List<CheckpointPairBalance> pairs) {
+        this.wgId = wgId;
+        this.cutoffTransactionId = cutoffTransactionId;
+        this.pairs = new ArrayList<>(pairs);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWgId() {
+        return wgId;
+    }
+
+    public Long getCutoffTransactionId() {
+        return cutoffTransactionId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<CheckpointPairBalance> getPairs() {
+        return pairs;
+    }
+}
@@ -0,0 +1,79 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.*;
+
+/**
+ * Materialized balance between two WG members. One row per (creditor, debtor)
+ * pair holding the running sum of all split amounts the creditor paid for the
+ * debtor. The net balance of a pair is the difference of its two directions.
+ */
+@Entity
+@Table(name = "balance_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_balance_ledger_pair", columnNames = { "wg_id", "creditor_id", "debtor_id" })
+}, indexes = {
+        @Index(name = "idx_balance_ledger_wg_creditor", columnList = "wg_id, creditor_id"),
+        @Index(name = "idx_balance_ledger_wg_debtor", columnList = "wg_id, debtor_id")
+})
+public class BalanceLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    @Column(name = "wg_id", nullable = false)
+    private Long wgId;
+
+    @Column(name = "creditor_id", nullable = false)
+    private Long creditorId;
+
+    @Column(name = "debtor_id", nullable = false)
+    private Long debtorId;
+
+    // Euro cents the debtor owes the creditor
+    @Column(name = "amount_cents")
+    private long amountCents;
+
+    public BalanceLedgerEntry() {
+    }
+
+    public BalanceLedgerEntry(Long wgId, Long creditorId, Long debtorId) {
+        this.wgId = wgId;
+        this.creditorId = creditorId;
+        this.debtorId = debtorId;
+    }
+
+    /**
+     * Add a (possibly negative) delta in cents to the amount owed by the debtor.
+     */
+    public void add(long deltaCents) {
+        this.amountCents += deltaCents;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWgId() {
+        return wgId;
+    }
+
+    public Long getCreditorId() {
+        return creditorId;
+    }
+
+    public Long getDebtorId() {
+        return debtorId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
+}
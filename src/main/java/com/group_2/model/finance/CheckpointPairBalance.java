@@ -0,0 +1,41 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Cents a debtor owed a creditor at the cutoff of a {@link BalanceCheckpoint}.
+ */
+@Embeddable
+public class CheckpointPairBalance {
+
+    @Column(name = "creditor_id", nullable = false)
+    private Long creditorId;
+
+    @Column(name = "debtor_id", nullable = false)
+    private Long debtorId;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    public CheckpointPairBalance() {
+    }
+
+    public CheckpointPairBalance(Long creditorId, Long debtorId, long amountCents) {
+        this.creditorId = creditorId;
+        this.debtorId = debtorId;
+        this.amountCents = amountCents;
+    }
+
+    public Long getCreditorId() {
+        return creditorId;
+    }
+
+    public Long getDebtorId() {
+        return debtorId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+}
@@ -0,0 +1,97 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.*;
+
+/**
+ * Precomputed spending of one WG member in one calendar month. Maintained
+ * incrementally on every transaction change, so spending trends are read
+ * without touching the transaction tables.
+ */
+@Entity
+@Table(name = "monthly_spend_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_spend_rollup_member_month", columnNames = { "wg_id", "user_id", "period" })
+}, indexes = {
+        @Index(name = "idx_spend_rollup_wg_period", columnList = "wg_id, period")
+})
+public class MonthlySpendRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    @Column(name = "wg_id", nullable = false)
+    private Long wgId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Month as yyyymm, e.g. 202405
+    @Column(name = "period", nullable = false)
+    private int period;
+
+    // Euro cents the member paid as creditor
+    @Column(name = "paid_cents")
+    private long paidCents;
+
+    // Euro cents of the member's own shares (splits where the member is debtor)
+    @Column(name = "owed_cents")
+    private long owedCents;
+
+    // Transactions the member paid
+    @Column(name = "transaction_count")
+    private long transactionCount;
+
+    public MonthlySpendRollup() {
+    }
+
+    public MonthlySpendRollup(Long wgId, Long userId, int period) {
+        this.wgId = wgId;
+        this.userId = userId;
+        this.period = period;
+    }
+
+    /**
+     * Add (possibly negative) deltas to the totals of the month.
+     */
+    public void add(long paidDelta, long owedDelta, long countDelta) {
+        this.paidCents += paidDelta;
+        this.owedCents += owedDelta;
+        this.transactionCount += countDelta;
+    }
+
+    public boolean isEmpty() {
+        return paidCents == 0 && owedCents == 0 && transactionCount == 0;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWgId() {
+        return wgId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public long getPaidCents() {
+        return paidCents;
+    }
+
+    public long getOwedCents() {
+        return owedCents;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
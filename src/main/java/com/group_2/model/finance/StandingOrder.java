@@ -5,6 +5,8 @@ import com.group_2.model.WG;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.group_2.util.MonthlyScheduleUtil;
 
@@ -38,8 +40,9 @@ public class StandingOrder {
     @JoinColumn(name = "wg_id", nullable = false)
     private WG wg;
 
-    @Column(nullable = false)
-    private Double totalAmount;
+    // Euro cents; NOT NULL is enforced by MoneyColumnMigration after the backfill
+    @Column(name = "total_amount_cents")
+    private long totalAmountCents;
 
     @Column(length = 500)
     private String description;
@@ -58,12 +61,13 @@ public class StandingOrder {
     private LocalDateTime createdAt;
 
     /**
-     * JSON string storing debtor IDs and their percentages.
-     * Format: [{"userId": 1, "percentage": 50.0}, {"userId": 2, "percentage":
-     * 50.0}]
+     * Debtors and their shares, in the order they were entered.
      */
-    @Column(length = 2000)
-    private String debtorData;
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "standing_order_debtors", joinColumns = @JoinColumn(name = "standing_order_id"),
+            indexes = @Index(name = "idx_standing_order_debtor_user", columnList = "user_id"))
+    @OrderColumn(name = "share_index")
+    private List<StandingOrderDebtorShare> debtorShares = new ArrayList<>();
 
     /**
      * For MONTHLY frequency: the preferred day of month (1-31).
@@ -84,32 +88,32 @@ public class StandingOrder {
         this.isActive = true;
     }
 
-    public StandingOrder(User creditor, User createdBy, WG wg, Double totalAmount, String description,
-            StandingOrderFrequency frequency, LocalDate nextExecution, String debtorData) {
+    public StandingOrder(User creditor, User createdBy, WG wg, long totalAmountCents, String description,
+            StandingOrderFrequency frequency, LocalDate nextExecution, List<StandingOrderDebtorShare> debtorShares) {
         this.creditor = creditor;
         this.createdBy = createdBy;
         this.wg = wg;
-        this.totalAmount = totalAmount;
+        this.totalAmountCents = totalAmountCents;
         this.description = description;
         this.frequency = frequency;
         this.nextExecution = nextExecution;
-        this.debtorData = debtorData;
+        this.debtorShares = new ArrayList<>(debtorShares);
         this.createdAt = LocalDateTime.now();
         this.isActive = true;
         this.monthlyLastDay = false;
     }
 
-    public StandingOrder(User creditor, User createdBy, WG wg, Double totalAmount, String description,
-            StandingOrderFrequency frequency, LocalDate nextExecution, String debtorData,
+    public StandingOrder(User creditor, User createdBy, WG wg, long totalAmountCents, String description,
+            StandingOrderFrequency frequency, LocalDate nextExecution, List<StandingOrderDebtorShare> debtorShares,
             Integer monthlyDay, Boolean monthlyLastDay) {
         this.creditor = creditor;
         this.createdBy = createdBy;
         this.wg = wg;
-        this.totalAmount = totalAmount;
+        this.totalAmountCents = totalAmountCents;
         this.description = description;
         this.frequency = frequency;
         this.nextExecution = nextExecution;
-        this.debtorData = debtorData;
+        this.debtorShares = new ArrayList<>(debtorShares);
         this.monthlyDay = monthlyDay;
         this.monthlyLastDay = monthlyLastDay != null ? monthlyLastDay : false;
         this.createdAt = LocalDateTime.now();
@@ -145,12 +149,12 @@ public class StandingOrder {
         this.wg = wg;
     }
 
-    public Double getTotalAmount() {
-        return totalAmount;
+    public long getTotalAmountCents() {
+        return totalAmountCents;
     }
 
-    public void setTotalAmount(Double totalAmount) {
-        this.totalAmount = totalAmount;
+    public void setTotalAmountCents(long totalAmountCents) {
+        this.totalAmountCents = totalAmountCents;
     }
 
     public String getDescription() {
@@ -189,12 +193,16 @@ public class StandingOrder {
         return createdAt;
     }
 
-    public String getDebtorData() {
-        return debtorData;
+    public List<StandingOrderDebtorShare> getDebtorShares() {
+        return debtorShares;
     }
 
-    public void setDebtorData(String debtorData) {
-        this.debtorData = debtorData;
+    /**
+     * Replace all debtor shares.
+     */
+    public void setDebtorShares(List<StandingOrderDebtorShare> debtorShares) {
+        this.debtorShares.clear();
+        this.debtorShares.addAll(debtorShares);
     }
 
     /**
@@ -0,0 +1,35 @@
+package com.group_2.model.finance;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Share of one debtor in a standing order, stored as a row of
+ * {@code standing_order_debtors}.
+ */
+@Embeddable
+public class StandingOrderDebtorShare {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Share in basis points (10000 = 100%)
+    @Column(name = "basis_points", nullable = false)
+    private int basisPoints;
+
+    public StandingOrderDebtorShare() {
+    }
+
+    public StandingOrderDebtorShare(Long userId, int basisPoints) {
+        this.userId = userId;
+        this.basisPoints = basisPoints;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getBasisPoints() {
+        return basisPoints;
+    }
+}
@@ -9,13 +9,15 @@ import java.util.List;
 
 @Entity
 @Table(name = "transactions", indexes = {
-        @Index(name = "idx_transaction_wg", columnList = "wg_id"),
-        @Index(name = "idx_transaction_creditor", columnList = "creditor_id")
+        @Index(name = "idx_transaction_wg_timestamp", columnList = "wg_id, timestamp"),
+        @Index(name = "idx_transaction_creditor_timestamp", columnList = "creditor_id, timestamp")
 })
 public class Transaction {
 
+    // Pooled sequence so inserts can be JDBC-batched (IDENTITY disables batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Version
@@ -29,8 +31,9 @@ public class Transaction {
     @JoinColumn(name = "created_by_id", nullable = false)
     private User createdBy;
 
-    @Column(nullable = false)
-    private Double totalAmount;
+    // Euro cents; NOT NULL is enforced by MoneyColumnMigration after the backfill
+    @Column(name = "total_amount_cents")
+    private long totalAmountCents;
 
     @Column(length = 500)
     private String description;
@@ -42,6 +45,16 @@ public class Transaction {
     @JoinColumn(name = "wg_id", nullable = false)
     private WG wg;
 
+    // Set on entries written by earlier versions of history compaction; they
+    // summarize archived transactions and cannot be edited
+    @Column(name = "carry_forward", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean carryForward;
+
+    // Set on transfers that settle debts; they move money between roommates and
+    // are not spending
+    @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean settlement;
+
     @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<TransactionSplit> splits = new ArrayList<>();
 
@@ -49,10 +62,10 @@ public class Transaction {
         this.timestamp = LocalDateTime.now();
     }
 
-    public Transaction(User creditor, User createdBy, Double totalAmount, String description, WG wg) {
+    public Transaction(User creditor, User createdBy, long totalAmountCents, String description, WG wg) {
         this.creditor = creditor;
         this.createdBy = createdBy;
-        this.totalAmount = totalAmount;
+        this.totalAmountCents = totalAmountCents;
         this.description = description;
         this.wg = wg;
         this.timestamp = LocalDateTime.now();
@@ -79,12 +92,12 @@ public class Transaction {
         this.createdBy = createdBy;
     }
 
-    public Double getTotalAmount() {
-        return totalAmount;
+    public long getTotalAmountCents() {
+        return totalAmountCents;
     }
 
-    public void setTotalAmount(Double totalAmount) {
-        this.totalAmount = totalAmount;
+    public void setTotalAmountCents(long totalAmountCents) {
+        this.totalAmountCents = totalAmountCents;
     }
 
     public String getDescription() {
@@ -111,6 +124,22 @@ public class Transaction {
         this.wg = wg;
     }
 
+    public boolean isCarryForward() {
+        return carryForward;
+    }
+
+    public void setCarryForward(boolean carryForward) {
+        this.carryForward = carryForward;
+    }
+
+    public boolean isSettlement() {
+        return settlement;
+    }
+
+    public void setSettlement(boolean settlement) {
+        this.settlement = settlement;
+    }
+
     public List<TransactionSplit> getSplits() {
         return splits;
     }
@@ -4,11 +4,14 @@ import com.group_2.model.User;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "transaction_splits")
+@Table(name = "transaction_splits", indexes = {
+        @Index(name = "idx_split_debtor_transaction", columnList = "debtor_id, transaction_id")
+})
 public class TransactionSplit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_split_seq")
+    @SequenceGenerator(name = "transaction_split_seq", sequenceName = "transaction_splits_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -19,20 +22,21 @@ public class TransactionSplit {
     @JoinColumn(name = "debtor_id", nullable = false)
     private User debtor;
 
-    @Column(nullable = false)
-    private Double percentage;
+    // Share in basis points (10000 = 100%) and amount in euro cents
+    @Column(name = "percentage_basis_points")
+    private int percentageBasisPoints;
 
-    @Column(nullable = false)
-    private Double amount;
+    @Column(name = "amount_cents")
+    private long amountCents;
 
     public TransactionSplit() {
     }
 
-    public TransactionSplit(Transaction transaction, User debtor, Double percentage, Double amount) {
+    public TransactionSplit(Transaction transaction, User debtor, int percentageBasisPoints, long amountCents) {
         this.transaction = transaction;
         this.debtor = debtor;
-        this.percentage = percentage;
-        this.amount = amount;
+        this.percentageBasisPoints = percentageBasisPoints;
+        this.amountCents = amountCents;
     }
 
     // Getters and Setters
@@ -56,19 +60,19 @@ public class TransactionSplit {
         this.debtor = debtor;
     }
 
-    public Double getPercentage() {
-        return percentage;
+    public int getPercentageBasisPoints() {
+        return percentageBasisPoints;
     }
 
-    public void setPercentage(Double percentage) {
-        this.percentage = percentage;
+    public void setPercentageBasisPoints(int percentageBasisPoints) {
+        this.percentageBasisPoints = percentageBasisPoints;
     }
 
-    public Double getAmount() {
-        return amount;
+    public long getAmountCents() {
+        return amountCents;
     }
 
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 }
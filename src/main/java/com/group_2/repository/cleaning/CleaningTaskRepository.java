@@ -1,6 +1,9 @@
 package com.group_2.repository.cleaning;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.group_2.model.User;
@@ -22,6 +25,11 @@ public interface CleaningTaskRepository extends JpaRepository<CleaningTask, Long
      */
     List<CleaningTask> findByWgAndWeekStartDate(WG wg, LocalDate weekStartDate);
 
+    /**
+     * Find all cleaning tasks for a WG in a range of weeks (both inclusive).
+     */
+    List<CleaningTask> findByWgAndWeekStartDateBetween(WG wg, LocalDate fromWeek, LocalDate toWeek);
+
     /**
      * Find all cleaning tasks assigned to a user for a specific week.
      */
@@ -42,13 +50,61 @@ public interface CleaningTaskRepository extends JpaRepository<CleaningTask, Long
      */
     List<CleaningTask> findByWgAndRoom(WG wg, Room room);
 
+    /**
+     * Find the cleaning tasks of a room from the given week onwards.
+     */
+    List<CleaningTask> findByWgAndRoomAndWeekStartDateGreaterThanEqual(WG wg, Room room, LocalDate fromWeek);
+
     /**
      * Delete all cleaning tasks for a specific room in a WG.
      */
-    void deleteByWgAndRoom(WG wg, Room room);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.wg = :wg AND t.room = :room")
+    int deleteByWgAndRoom(@Param("wg") WG wg, @Param("room") Room room);
 
     /**
      * Delete all cleaning tasks for a WG.
      */
-    void deleteByWg(WG wg);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.wg = :wg")
+    int deleteByWg(@Param("wg") WG wg);
+
+    /**
+     * Delete all cleaning tasks for a room, in any WG.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.room = :room")
+    int deleteByRoom(@Param("room") Room room);
+
+    /**
+     * Delete the cleaning tasks of a WG for one week.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.wg = :wg AND t.weekStartDate = :week")
+    int deleteByWgAndWeek(@Param("wg") WG wg, @Param("week") LocalDate week);
+
+    /**
+     * Delete the cleaning tasks of a WG from the given week onwards (history is
+     * kept).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.wg = :wg AND t.weekStartDate >= :fromWeek")
+    int deleteByWgFromWeek(@Param("wg") WG wg, @Param("fromWeek") LocalDate fromWeek);
+
+    /**
+     * Delete the cleaning tasks of a WG from the given week onwards, except
+     * manually adjusted ones.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.wg = :wg AND t.weekStartDate >= :fromWeek "
+            + "AND (t.manualOverride IS NULL OR t.manualOverride = false)")
+    int deleteGeneratedByWgFromWeek(@Param("wg") WG wg, @Param("fromWeek") LocalDate fromWeek);
+
+    /**
+     * Delete the cleaning tasks of a room in a WG from the given week onwards.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTask t WHERE t.wg = :wg AND t.room = :room AND t.weekStartDate >= :fromWeek")
+    int deleteByWgAndRoomFromWeek(@Param("wg") WG wg, @Param("room") Room room,
+            @Param("fromWeek") LocalDate fromWeek);
 }
@@ -1,10 +1,14 @@
 package com.group_2.repository.cleaning;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.group_2.model.WG;
 import com.group_2.model.cleaning.CleaningTaskTemplate;
+import com.group_2.model.cleaning.Room;
 
 import java.util.List;
 
@@ -25,7 +29,16 @@ public interface CleaningTaskTemplateRepository extends JpaRepository<CleaningTa
     List<CleaningTaskTemplate> findByWgOrderByDayOfWeekAsc(WG wg);
 
     /**
-     * Delete all templates for a WG.
+     * Delete all templates for a WG in one statement.
      */
-    void deleteByWg(WG wg);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTaskTemplate t WHERE t.wg = :wg")
+    int deleteByWg(@Param("wg") WG wg);
+
+    /**
+     * Delete all templates for a room in one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CleaningTaskTemplate t WHERE t.room = :room")
+    int deleteByRoom(@Param("room") Room room);
 }
@@ -2,6 +2,7 @@ package com.group_2.repository.cleaning;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -38,14 +39,26 @@ public interface RoomAssignmentQueueRepository extends JpaRepository<RoomAssignm
     List<RoomAssignmentQueue> findByWg(WG wg);
 
     /**
-     * Delete all assignment queues for a WG.
+     * Find all assignment queues for a WG with pessimistic lock, for generating
+     * several weeks at once.
      */
-    void deleteByWg(WG wg);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT q FROM RoomAssignmentQueue q WHERE q.wg = :wg ORDER BY q.id")
+    List<RoomAssignmentQueue> findByWgForUpdate(@Param("wg") WG wg);
+
+    /**
+     * Delete all assignment queues for a WG in one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM RoomAssignmentQueue q WHERE q.wg = :wg")
+    int deleteByWg(@Param("wg") WG wg);
 
     /**
-     * Delete assignment queue for a specific room.
+     * Delete assignment queue for a specific room in one statement.
      */
-    void deleteByRoom(Room room);
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM RoomAssignmentQueue q WHERE q.room = :room")
+    int deleteByRoom(@Param("room") Room room);
 
     /**
      * Count queues for a WG (used to determine offset for new rooms).
@@ -0,0 +1,23 @@
+package com.group_2.repository.finance;
+
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.model.finance.ArchivedTransaction;
+
+import java.util.List;
+
+/**
+ * On-demand searches over the transaction archive.
+ */
+public interface ArchivedTransactionQueries {
+
+    /**
+     * Find archived transactions of a user (as creditor or debtor) matching the
+     * filter, newest first.
+     *
+     * @param wgId   WG of the user
+     * @param userId user whose history is searched
+     * @param filter optional filter criteria
+     * @param limit  maximum number of transactions to return
+     */
+    List<ArchivedTransaction> searchHistory(Long wgId, Long userId, TransactionHistoryFilter filter, int limit);
+}
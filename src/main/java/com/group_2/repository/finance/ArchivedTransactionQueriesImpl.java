@@ -0,0 +1,74 @@
+package com.group_2.repository.finance;
+
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.model.finance.ArchivedTransaction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of {@link ArchivedTransactionQueries}. Renders only the
+ * predicates of the active filter and the same description search rule as
+ * {@link TransactionHistoryQueriesImpl}.
+ */
+public class ArchivedTransactionQueriesImpl implements ArchivedTransactionQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ArchivedTransaction> searchHistory(Long wgId, Long userId, TransactionHistoryFilter filter,
+            int limit) {
+        if (filter == null) {
+            filter = TransactionHistoryFilter.none();
+        }
+        StringBuilder jpql = new StringBuilder("SELECT a FROM ArchivedTransaction a WHERE a.wgId = :wgId "
+                + "AND (a.creditorId = :userId OR EXISTS (SELECT 1 FROM ArchivedTransaction ua JOIN ua.splits us "
+                + "WHERE ua = a AND us.debtorId = :userId))");
+        Map<String, Object> params = new HashMap<>();
+        params.put("wgId", wgId);
+        params.put("userId", userId);
+
+        if (filter.year() != null) {
+            LocalDateTime from;
+            LocalDateTime to;
+            if (filter.month() != null) {
+                from = LocalDateTime.of(filter.year(), filter.month(), 1, 0, 0);
+                to = from.plusMonths(1);
+            } else {
+                from = LocalDateTime.of(filter.year(), 1, 1, 0, 0);
+                to = from.plusYears(1);
+            }
+            jpql.append(" AND a.timestamp >= :from AND a.timestamp < :to");
+            params.put("from", from);
+            params.put("to", to);
+        } else if (filter.month() != null) {
+            jpql.append(" AND EXTRACT(MONTH FROM a.timestamp) = :month");
+            params.put("month", filter.month());
+        }
+        if (filter.creditorId() != null) {
+            jpql.append(" AND a.creditorId = :creditorId");
+            params.put("creditorId", filter.creditorId());
+        }
+        if (filter.debtorId() != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM ArchivedTransaction da JOIN da.splits ds "
+                    + "WHERE da = a AND ds.debtorId = :debtorId)");
+            params.put("debtorId", filter.debtorId());
+        }
+        if (filter.hasSearch()) {
+            TransactionHistoryQueriesImpl.appendSearchPredicates(jpql, params, "a", filter.search());
+        }
+        jpql.append(" ORDER BY a.timestamp DESC, a.id DESC");
+
+        TypedQuery<ArchivedTransaction> query = entityManager.createQuery(jpql.toString(), ArchivedTransaction.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.group_2.repository.finance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.group_2.model.finance.ArchivedTransaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for transactions moved to the archive by history compaction.
+ */
+@Repository
+public interface ArchivedTransactionRepository
+        extends JpaRepository<ArchivedTransaction, Long>, ArchivedTransactionQueries {
+
+    /**
+     * Number of archived transactions of a WG.
+     */
+    long countByWgId(Long wgId);
+
+    /**
+     * Timestamp of the oldest archived transaction a user takes part in (as
+     * creditor or debtor), or null if there is none.
+     */
+    @Query("SELECT MIN(a.timestamp) FROM ArchivedTransaction a WHERE a.wgId = :wgId AND (a.creditorId = :userId "
+            + "OR EXISTS (SELECT 1 FROM ArchivedTransaction ua JOIN ua.splits us "
+            + "WHERE ua = a AND us.debtorId = :userId))")
+    LocalDateTime findOldestTimestampForUser(@Param("wgId") Long wgId, @Param("userId") Long userId);
+}
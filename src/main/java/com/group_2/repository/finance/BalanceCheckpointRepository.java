@@ -0,0 +1,25 @@
+package com.group_2.repository.finance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.group_2.model.finance.BalanceCheckpoint;
+
+import java.util.Optional;
+
+/**
+ * Repository for per-WG balance checkpoints.
+ */
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    /**
+     * Find the checkpoint of a WG (there is at most one).
+     */
+    Optional<BalanceCheckpoint> findByWgId(Long wgId);
+
+    /**
+     * Delete the checkpoint of a WG.
+     */
+    void deleteByWgId(Long wgId);
+}
@@ -0,0 +1,62 @@
+package com.group_2.repository.finance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.group_2.dto.finance.PairwiseBalanceDTO;
+import com.group_2.model.finance.BalanceLedgerEntry;
+
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the materialized pairwise balance ledger.
+ */
+@Repository
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+
+    /**
+     * Find the ledger entry for one direction of a pair.
+     */
+    Optional<BalanceLedgerEntry> findByWgIdAndCreditorIdAndDebtorId(Long wgId, Long creditorId, Long debtorId);
+
+    /**
+     * Find the ledger entry for one direction of a pair with pessimistic lock.
+     * Prevents lost updates when two transactions touch the same pair.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM BalanceLedgerEntry e WHERE e.wgId = :wgId AND e.creditorId = :creditorId "
+            + "AND e.debtorId = :debtorId")
+    Optional<BalanceLedgerEntry> findPairForUpdate(@Param("wgId") Long wgId, @Param("creditorId") Long creditorId,
+            @Param("debtorId") Long debtorId);
+
+    /**
+     * Load the whole balance matrix of a WG as (creditor, debtor, amount) rows in
+     * one query.
+     */
+    @Query("SELECT new com.group_2.dto.finance.PairwiseBalanceDTO(e.creditorId, e.debtorId, e.amountCents) "
+            + "FROM BalanceLedgerEntry e WHERE e.wgId = :wgId")
+    List<PairwiseBalanceDTO> findPairsByWgId(@Param("wgId") Long wgId);
+
+    /**
+     * Lock all ledger entries of a WG. Writers lock their pair rows, so this waits
+     * for in-flight transaction postings of the WG.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM BalanceLedgerEntry e WHERE e.wgId = :wgId")
+    List<BalanceLedgerEntry> findByWgIdForUpdate(@Param("wgId") Long wgId);
+
+    /**
+     * Find all ledger entries of a WG.
+     */
+    List<BalanceLedgerEntry> findByWgId(Long wgId);
+
+    /**
+     * Delete all ledger entries of a WG (used before a rebuild).
+     */
+    void deleteByWgId(Long wgId);
+}
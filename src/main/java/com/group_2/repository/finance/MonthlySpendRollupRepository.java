@@ -0,0 +1,79 @@
+package com.group_2.repository.finance;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.group_2.dto.finance.SpendAggregateRow;
+import com.group_2.model.finance.MonthlySpendRollup;
+
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the monthly spend rollups and the aggregates they are rebuilt
+ * from.
+ */
+@Repository
+public interface MonthlySpendRollupRepository extends JpaRepository<MonthlySpendRollup, Long> {
+
+    /**
+     * Find the rollup of one member and month with pessimistic lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM MonthlySpendRollup r WHERE r.wgId = :wgId AND r.userId = :userId AND r.period = :period")
+    Optional<MonthlySpendRollup> findForUpdate(@Param("wgId") Long wgId, @Param("userId") Long userId,
+            @Param("period") int period);
+
+    /**
+     * All rollups of a WG from the given month (yyyymm) on.
+     */
+    List<MonthlySpendRollup> findByWgIdAndPeriodGreaterThanEqualOrderByPeriod(Long wgId, int period);
+
+    long countByWgId(Long wgId);
+
+    void deleteByWgId(Long wgId);
+
+    /**
+     * Amounts paid per creditor and month of the live transactions, without
+     * carry-forwards and settlements.
+     */
+    @Query("SELECT new com.group_2.dto.finance.SpendAggregateRow(t.creditor.id, YEAR(t.timestamp), "
+            + "MONTH(t.timestamp), SUM(t.totalAmountCents), COUNT(t)) FROM Transaction t "
+            + "WHERE t.wg.id = :wgId AND t.carryForward = false AND t.settlement = false "
+            + "GROUP BY t.creditor.id, YEAR(t.timestamp), MONTH(t.timestamp)")
+    List<SpendAggregateRow> sumPaidByMonth(@Param("wgId") Long wgId);
+
+    /**
+     * Shares owed per debtor and month of the live transactions, without
+     * carry-forwards and settlements.
+     */
+    @Query("SELECT new com.group_2.dto.finance.SpendAggregateRow(s.debtor.id, YEAR(t.timestamp), "
+            + "MONTH(t.timestamp), SUM(s.amountCents), COUNT(s)) FROM TransactionSplit s JOIN s.transaction t "
+            + "WHERE t.wg.id = :wgId AND t.carryForward = false AND t.settlement = false "
+            + "GROUP BY s.debtor.id, YEAR(t.timestamp), MONTH(t.timestamp)")
+    List<SpendAggregateRow> sumOwedByMonth(@Param("wgId") Long wgId);
+
+    /**
+     * Amounts paid per creditor and month of the archived transactions, without
+     * settlements.
+     */
+    @Query("SELECT new com.group_2.dto.finance.SpendAggregateRow(a.creditorId, YEAR(a.timestamp), "
+            + "MONTH(a.timestamp), SUM(a.totalAmountCents), COUNT(a)) FROM ArchivedTransaction a "
+            + "WHERE a.wgId = :wgId AND a.settlement = false "
+            + "GROUP BY a.creditorId, YEAR(a.timestamp), MONTH(a.timestamp)")
+    List<SpendAggregateRow> sumArchivedPaidByMonth(@Param("wgId") Long wgId);
+
+    /**
+     * Shares owed per debtor and month of the archived transactions, without
+     * settlements.
+     */
+    @Query("SELECT new com.group_2.dto.finance.SpendAggregateRow(s.debtorId, YEAR(a.timestamp), "
+            + "MONTH(a.timestamp), SUM(s.amountCents), COUNT(s)) FROM ArchivedTransaction a JOIN a.splits s "
+            + "WHERE a.wgId = :wgId AND a.settlement = false "
+            + "GROUP BY s.debtorId, YEAR(a.timestamp), MONTH(a.timestamp)")
+    List<SpendAggregateRow> sumArchivedOwedByMonth(@Param("wgId") Long wgId);
+}
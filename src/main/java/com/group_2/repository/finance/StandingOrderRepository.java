@@ -27,15 +27,33 @@ public interface StandingOrderRepository extends JpaRepository<StandingOrder, Lo
     List<StandingOrder> findByNextExecutionLessThanEqualAndIsActiveTrue(LocalDate date);
 
     /**
-     * Find all active standing orders that are due with pessimistic lock.
-     * Prevents double-execution when scheduler runs concurrently.
+     * Find the IDs of all WGs that have active standing orders due (next_execution
+     * <= date).
+     */
+    @Query("SELECT DISTINCT s.wg.id FROM StandingOrder s WHERE s.nextExecution <= :date AND s.isActive = true")
+    List<Long> findWgIdsWithDueOrders(@Param("date") LocalDate date);
+
+    /**
+     * Find all active standing orders of a WG that are due with pessimistic lock.
+     * Prevents double-execution when scheduler runs concurrently. Debtor shares
+     * are fetched in the same query.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM StandingOrder s WHERE s.nextExecution <= :date AND s.isActive = true")
-    List<StandingOrder> findDueOrdersForUpdate(@Param("date") LocalDate date);
+    @Query("SELECT s FROM StandingOrder s LEFT JOIN FETCH s.debtorShares "
+            + "WHERE s.wg.id = :wgId AND s.nextExecution <= :date AND s.isActive = true")
+    List<StandingOrder> findDueOrdersForUpdateByWgId(@Param("wgId") Long wgId, @Param("date") LocalDate date);
+
+    /**
+     * Find all active standing orders for a WG together with their debtor shares
+     */
+    @Query("SELECT s FROM StandingOrder s LEFT JOIN FETCH s.debtorShares WHERE s.wg = :wg AND s.isActive = true")
+    List<StandingOrder> findByWgAndIsActiveTrue(@Param("wg") WG wg);
 
     /**
-     * Find all active standing orders for a WG
+     * Find all active standing orders that bill the given user as a debtor. Uses
+     * the index on standing_order_debtors.user_id.
      */
-    List<StandingOrder> findByWgAndIsActiveTrue(WG wg);
+    @Query("SELECT DISTINCT s FROM StandingOrder s JOIN s.debtorShares d WHERE d.userId = :userId "
+            + "AND s.isActive = true")
+    List<StandingOrder> findActiveByDebtorUserId(@Param("userId") Long userId);
 }
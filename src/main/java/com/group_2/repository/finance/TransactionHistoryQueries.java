@@ -0,0 +1,57 @@
+package com.group_2.repository.finance;
+
+import com.group_2.dto.finance.TransactionExportRow;
+import com.group_2.dto.finance.TransactionHistoryCursor;
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.dto.finance.TransactionViewRow;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyset-paginated history queries. Only the predicates of the active filter
+ * are rendered, so every filter combination is a plain indexed range scan.
+ */
+public interface TransactionHistoryQueries {
+
+    /**
+     * Find one history page of a user (as creditor or debtor) as flat view rows,
+     * ordered by timestamp and id descending. Splits are loaded separately.
+     *
+     * @param wgId   WG of the user
+     * @param userId user whose history is read
+     * @param filter optional filter criteria
+     * @param after  cursor of the previous page, or null for the first page
+     * @param limit  maximum number of transactions to return
+     */
+    List<TransactionViewRow> findHistoryPageRows(Long wgId, Long userId, TransactionHistoryFilter filter,
+            TransactionHistoryCursor after, int limit);
+
+    /**
+     * Find the history rows of a user among the given transaction ids, in no
+     * particular order. Used to resolve search hits against the remaining
+     * filter criteria.
+     *
+     * @param wgId   WG of the user
+     * @param userId user whose history is read
+     * @param filter optional filter criteria
+     * @param ids    candidate transaction ids
+     */
+    List<TransactionViewRow> findHistoryRowsByIdIn(Long wgId, Long userId, TransactionHistoryFilter filter,
+            Collection<Long> ids);
+
+    /**
+     * Stream the history of a user as one row per split, ordered like the history
+     * pages with the splits of a transaction adjacent. Rows are fetched from a
+     * cursor in blocks of {@code fetchSize}; the stream must be consumed and
+     * closed inside a transaction.
+     *
+     * @param wgId      WG of the user
+     * @param userId    user whose history is read
+     * @param filter    optional filter criteria
+     * @param fetchSize JDBC fetch size of the cursor
+     */
+    Stream<TransactionExportRow> streamExportRows(Long wgId, Long userId, TransactionHistoryFilter filter,
+            int fetchSize);
+}
@@ -0,0 +1,163 @@
+package com.group_2.repository.finance;
+
+import com.group_2.dto.finance.TransactionExportRow;
+import com.group_2.dto.finance.TransactionHistoryCursor;
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.dto.finance.TransactionViewRow;
+import com.group_2.util.SearchTokens;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * JPQL implementation of {@link TransactionHistoryQueries}.
+ */
+public class TransactionHistoryQueriesImpl implements TransactionHistoryQueries {
+
+    private static final String VIEW_ROW_SELECT = "SELECT new com.group_2.dto.finance.TransactionViewRow("
+            + "t.id, t.totalAmountCents, t.description, t.timestamp, "
+            + "c.id, c.name, c.surname, c.email, c.wg.id, "
+            + "cb.id, cb.name, cb.surname, cb.email, cb.wg.id, "
+            + "w.id, w.name, (SELECT COUNT(m) FROM User m WHERE m.wg.id = w.id)) "
+            + "FROM Transaction t JOIN t.creditor c JOIN t.createdBy cb JOIN t.wg w WHERE ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionViewRow> findHistoryPageRows(Long wgId, Long userId, TransactionHistoryFilter filter,
+            TransactionHistoryCursor after, int limit) {
+        // No collection is fetched, so the limit applies to transactions directly
+        StringBuilder jpql = new StringBuilder(VIEW_ROW_SELECT);
+        Map<String, Object> params = new HashMap<>();
+        appendHistoryPredicates(jpql, params, wgId, userId, filter);
+        if (after != null) {
+            jpql.append(" AND (t.timestamp < :cursorTimestamp "
+                    + "OR (t.timestamp = :cursorTimestamp AND t.id < :cursorId))");
+            params.put("cursorTimestamp", after.timestamp());
+            params.put("cursorId", after.id());
+        }
+        jpql.append(" ORDER BY t.timestamp DESC, t.id DESC");
+
+        TypedQuery<TransactionViewRow> query = entityManager.createQuery(jpql.toString(), TransactionViewRow.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<TransactionViewRow> findHistoryRowsByIdIn(Long wgId, Long userId, TransactionHistoryFilter filter,
+            Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder jpql = new StringBuilder(VIEW_ROW_SELECT);
+        Map<String, Object> params = new HashMap<>();
+        appendHistoryPredicates(jpql, params, wgId, userId, filter);
+        jpql.append(" AND t.id IN :ids");
+        params.put("ids", ids);
+
+        TypedQuery<TransactionViewRow> query = entityManager.createQuery(jpql.toString(), TransactionViewRow.class);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<TransactionExportRow> streamExportRows(Long wgId, Long userId, TransactionHistoryFilter filter,
+            int fetchSize) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.group_2.dto.finance.TransactionExportRow("
+                + "t.id, t.timestamp, t.description, t.totalAmountCents, t.creditor.id, "
+                + "s.debtor.id, s.percentageBasisPoints, s.amountCents) "
+                + "FROM TransactionSplit s JOIN s.transaction t WHERE ");
+        Map<String, Object> params = new HashMap<>();
+        appendHistoryPredicates(jpql, params, wgId, userId, filter);
+        // Splits of one transaction must be adjacent so callers can group them
+        jpql.append(" ORDER BY t.timestamp DESC, t.id DESC, s.id");
+
+        TypedQuery<TransactionExportRow> query = entityManager.createQuery(jpql.toString(),
+                TransactionExportRow.class);
+        params.forEach(query::setParameter);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+
+    /**
+     * Render the user scope and the active filter predicates of a history query.
+     * Expects the transaction alias {@code t}.
+     */
+    private static void appendHistoryPredicates(StringBuilder jpql, Map<String, Object> params, Long wgId,
+            Long userId, TransactionHistoryFilter filter) {
+        if (filter == null) {
+            filter = TransactionHistoryFilter.none();
+        }
+        jpql.append("t.wg.id = :wgId AND (t.creditor.id = :userId OR EXISTS (SELECT 1 FROM TransactionSplit us "
+                + "WHERE us.transaction = t AND us.debtor.id = :userId))");
+        params.put("wgId", wgId);
+        params.put("userId", userId);
+
+        if (filter.year() != null) {
+            // Range predicate so the timestamp index can be used
+            LocalDateTime from;
+            LocalDateTime to;
+            if (filter.month() != null) {
+                from = LocalDateTime.of(filter.year(), filter.month(), 1, 0, 0);
+                to = from.plusMonths(1);
+            } else {
+                from = LocalDateTime.of(filter.year(), 1, 1, 0, 0);
+                to = from.plusYears(1);
+            }
+            jpql.append(" AND t.timestamp >= :from AND t.timestamp < :to");
+            params.put("from", from);
+            params.put("to", to);
+        } else if (filter.month() != null) {
+            jpql.append(" AND EXTRACT(MONTH FROM t.timestamp) = :month");
+            params.put("month", filter.month());
+        }
+        if (filter.creditorId() != null) {
+            jpql.append(" AND t.creditor.id = :creditorId");
+            params.put("creditorId", filter.creditorId());
+        }
+        if (filter.debtorId() != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM TransactionSplit ds WHERE ds.transaction = t "
+                    + "AND ds.debtor.id = :debtorId)");
+            params.put("debtorId", filter.debtorId());
+        }
+        if (filter.hasSearch()) {
+            appendSearchPredicates(jpql, params, "t", filter.search());
+        }
+    }
+
+    /**
+     * Render the description search with the token-prefix rule of
+     * {@link SearchTokens}, so archive and export searches match the same
+     * transactions as the live search index. Text without any token matches
+     * nothing, like in the index.
+     */
+    static void appendSearchPredicates(StringBuilder jpql, Map<String, Object> params, String alias,
+            String search) {
+        Set<String> tokens = SearchTokens.tokenize(search);
+        if (tokens.isEmpty()) {
+            jpql.append(" AND 1 = 0");
+            return;
+        }
+        int i = 0;
+        for (String token : tokens) {
+            jpql.append(" AND FUNCTION('REGEXP_LIKE', LOWER(").append(alias).append(".description), :search")
+                    .append(i).append(") = true");
+            params.put("search" + i, SearchTokens.prefixPattern(token));
+            i++;
+        }
+    }
+}
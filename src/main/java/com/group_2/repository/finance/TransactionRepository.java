@@ -1,17 +1,101 @@
 package com.group_2.repository.finance;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.group_2.model.User;
 import com.group_2.model.WG;
+import com.group_2.dto.finance.TransactionSearchEntry;
+import com.group_2.dto.finance.TransactionViewRow;
 import com.group_2.model.finance.Transaction;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionHistoryQueries {
     List<Transaction> findByWg(WG wg);
 
     List<Transaction> findByCreditor(User creditor);
+
+    /**
+     * Find all transactions of a WG the user is involved in (as creditor or
+     * debtor), newest first. The user's transaction IDs come from a union of the
+     * creditor index and the (debtor_id, transaction_id) split index, so the cost
+     * follows the user's own activity rather than the WG history.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.wg.id = :wgId AND t.id IN ("
+            + "SELECT c.id FROM Transaction c WHERE c.creditor.id = :userId "
+            + "UNION SELECT s.transaction.id FROM TransactionSplit s WHERE s.debtor.id = :userId) "
+            + "ORDER BY t.timestamp DESC, t.id DESC")
+    List<Transaction> findInvolvingUser(@Param("wgId") Long wgId, @Param("userId") Long userId);
+
+    /**
+     * Same as {@link #findInvolvingUser(Long, Long)}, as flat view rows instead of
+     * entities.
+     */
+    @Query("SELECT new com.group_2.dto.finance.TransactionViewRow("
+            + "t.id, t.totalAmountCents, t.description, t.timestamp, "
+            + "cr.id, cr.name, cr.surname, cr.email, cr.wg.id, "
+            + "cb.id, cb.name, cb.surname, cb.email, cb.wg.id, "
+            + "w.id, w.name, (SELECT COUNT(m) FROM User m WHERE m.wg.id = w.id)) "
+            + "FROM Transaction t JOIN t.creditor cr JOIN t.createdBy cb JOIN t.wg w "
+            + "WHERE w.id = :wgId AND t.id IN ("
+            + "SELECT c.id FROM Transaction c WHERE c.creditor.id = :userId "
+            + "UNION SELECT s.transaction.id FROM TransactionSplit s WHERE s.debtor.id = :userId) "
+            + "ORDER BY t.timestamp DESC, t.id DESC")
+    List<TransactionViewRow> findViewRowsInvolvingUser(@Param("wgId") Long wgId, @Param("userId") Long userId);
+
+    /**
+     * Load transactions together with their splits in one query, ordered by ID.
+     */
+    @Query("SELECT DISTINCT t FROM Transaction t LEFT JOIN FETCH t.splits WHERE t.id IN :ids ORDER BY t.id")
+    List<Transaction> findAllWithSplitsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs of WGs that have regular (non carry-forward) transactions older than
+     * the given timestamp.
+     */
+    @Query("SELECT DISTINCT t.wg.id FROM Transaction t WHERE t.timestamp < :before AND t.carryForward = false")
+    List<Long> findWgIdsWithTransactionsBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Next chunk of IDs of transactions of a WG older than the given timestamp,
+     * by ascending ID after {@code afterId}.
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.wg.id = :wgId AND t.timestamp < :before AND t.id > :afterId "
+            + "ORDER BY t.id")
+    List<Long> findIdsBefore(@Param("wgId") Long wgId, @Param("before") LocalDateTime before,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Highest transaction ID of a WG, or null if it has no transactions.
+     */
+    @Query("SELECT MAX(t.id) FROM Transaction t WHERE t.wg.id = :wgId")
+    Long findMaxIdByWgId(@Param("wgId") Long wgId);
+
+    /**
+     * Ids and descriptions of all live transactions of a WG, for the search
+     * index.
+     */
+    @Query("SELECT new com.group_2.dto.finance.TransactionSearchEntry(t.id, t.description) FROM Transaction t "
+            + "WHERE t.wg.id = :wgId")
+    List<TransactionSearchEntry> findSearchEntriesByWgId(@Param("wgId") Long wgId);
+
+    /**
+     * Number of transactions of a WG with an ID above the given one.
+     */
+    long countByWgIdAndIdGreaterThan(Long wgId, Long id);
+
+    /**
+     * Timestamp of the oldest transaction a user takes part in (as creditor or
+     * debtor), or null if there is none.
+     */
+    @Query("SELECT MIN(t.timestamp) FROM Transaction t WHERE t.wg.id = :wgId AND (t.creditor.id = :userId "
+            + "OR EXISTS (SELECT 1 FROM TransactionSplit s WHERE s.transaction = t AND s.debtor.id = :userId))")
+    LocalDateTime findOldestTimestampForUser(@Param("wgId") Long wgId, @Param("userId") Long userId);
 }
@@ -1,12 +1,17 @@
 package com.group_2.repository.finance;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.group_2.dto.finance.PairwiseBalanceDTO;
+import com.group_2.dto.finance.TransactionSplitViewRow;
 import com.group_2.model.User;
 import com.group_2.model.finance.Transaction;
 import com.group_2.model.finance.TransactionSplit;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,35 @@ public interface TransactionSplitRepository extends JpaRepository<TransactionSpl
     List<TransactionSplit> findByDebtor(User debtor);
 
     List<TransactionSplit> findByTransaction(Transaction transaction);
+
+    /**
+     * Sum all split amounts of a WG per (creditor, debtor) pair in one query.
+     * Splits where the creditor paid for themselves are skipped.
+     */
+    @Query("SELECT new com.group_2.dto.finance.PairwiseBalanceDTO(t.creditor.id, s.debtor.id, SUM(s.amountCents)) "
+            + "FROM TransactionSplit s JOIN s.transaction t "
+            + "WHERE t.wg.id = :wgId AND t.creditor.id <> s.debtor.id "
+            + "GROUP BY t.creditor.id, s.debtor.id")
+    List<PairwiseBalanceDTO> sumAmountsByPair(@Param("wgId") Long wgId);
+
+    /**
+     * Sum split amounts per pair over the transactions with an ID in the range
+     * (afterId, upToId]. Used to fold a checkpoint and its delta.
+     */
+    @Query("SELECT new com.group_2.dto.finance.PairwiseBalanceDTO(t.creditor.id, s.debtor.id, SUM(s.amountCents)) "
+            + "FROM TransactionSplit s JOIN s.transaction t "
+            + "WHERE t.wg.id = :wgId AND t.creditor.id <> s.debtor.id AND t.id > :afterId AND t.id <= :upToId "
+            + "GROUP BY t.creditor.id, s.debtor.id")
+    List<PairwiseBalanceDTO> sumAmountsByPairInRange(@Param("wgId") Long wgId, @Param("afterId") Long afterId,
+            @Param("upToId") Long upToId);
+
+    /**
+     * Load the view columns of all splits of the given transactions in one query,
+     * without materializing split, user or WG entities.
+     */
+    @Query("SELECT new com.group_2.dto.finance.TransactionSplitViewRow(s.transaction.id, s.id, d.id, d.name, "
+            + "d.surname, d.email, d.wg.id, s.percentageBasisPoints, s.amountCents) "
+            + "FROM TransactionSplit s JOIN s.debtor d WHERE s.transaction.id IN :transactionIds ORDER BY s.id")
+    List<TransactionSplitViewRow> findViewRowsByTransactionIdIn(
+            @Param("transactionIds") Collection<Long> transactionIds);
 }
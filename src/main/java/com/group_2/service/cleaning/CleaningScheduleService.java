@@ -21,16 +21,25 @@ import com.group_2.repository.cleaning.RoomRepository;
 import com.group_2.util.MonthlyScheduleUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for managing cleaning schedules and tasks. Uses round-robin queue
@@ -47,12 +56,17 @@ public class CleaningScheduleService {
     private final WGRepository wgRepository;
     private final CleaningMapper cleaningMapper;
     private final CoreMapper coreMapper;
+    private final CleaningWeekCache weekCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
 
     @Autowired
     public CleaningScheduleService(CleaningTaskRepository cleaningTaskRepository,
             CleaningTaskTemplateRepository templateRepository, RoomAssignmentQueueRepository queueRepository,
             UserRepository userRepository, RoomRepository roomRepository, WGRepository wgRepository,
-            CleaningMapper cleaningMapper, CoreMapper coreMapper) {
+            CleaningMapper cleaningMapper, CoreMapper coreMapper, CleaningWeekCache weekCache,
+            ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate, Clock clock) {
         this.cleaningTaskRepository = cleaningTaskRepository;
         this.templateRepository = templateRepository;
         this.queueRepository = queueRepository;
@@ -61,6 +75,10 @@ public class CleaningScheduleService {
         this.wgRepository = wgRepository;
         this.cleaningMapper = cleaningMapper;
         this.coreMapper = coreMapper;
+        this.weekCache = weekCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
     }
 
     /**
@@ -77,7 +95,7 @@ public class CleaningScheduleService {
      * Get the start of the current week (Monday).
      */
     public LocalDate getCurrentWeekStart() {
-        return LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return LocalDate.now(clock).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
     }
 
     /**
@@ -115,11 +133,78 @@ public class CleaningScheduleService {
     }
 
     /**
-     * DTO variant of getTasksForWeek using WG ID.
+     * DTO variant of getTasksForWeek using WG ID, served from the week cache.
      */
-    @Transactional
     public List<CleaningTaskDTO> getTasksForWeekDTO(Long wgId, LocalDate weekStart) {
-        return getTasksForWeekDTO(requireWg(wgId), weekStart);
+        return getTasksForWeeksDTO(wgId, weekStart, 1).values().iterator().next();
+    }
+
+    /**
+     * Get the tasks of several consecutive weeks by week start, e.g. for a month
+     * view. Cached weeks are served from the week cache; the uncached part of
+     * the range is loaded with one task query, generating missing tasks from
+     * templates like {@link #getTasksForWeek}, and cached until the WG's tasks or
+     * templates change. The returned lists are unmodifiable.
+     *
+     * @param fromWeek first week, any day of it
+     * @param weeks    number of weeks
+     */
+    public Map<LocalDate, List<CleaningTaskDTO>> getTasksForWeeksDTO(Long wgId, LocalDate fromWeek, int weeks) {
+        if (weeks <= 0) {
+            throw new IllegalArgumentException("Number of weeks must be positive");
+        }
+        LocalDate firstWeek = fromWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        // Inside a caller's transaction the loaded data is not committed yet
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loadWeeks(requireWg(wgId), firstWeek, weeks);
+        }
+
+        long loadGeneration = weekCache.generation();
+        Map<LocalDate, List<CleaningTaskDTO>> result = new LinkedHashMap<>();
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (int i = 0; i < weeks; i++) {
+            LocalDate week = firstWeek.plusWeeks(i);
+            List<CleaningTaskDTO> cached = weekCache.get(wgId, week);
+            result.put(week, cached);
+            if (cached == null) {
+                firstMissing = firstMissing == null ? week : firstMissing;
+                lastMissing = week;
+            }
+        }
+        if (firstMissing == null) {
+            return result;
+        }
+
+        LocalDate loadFrom = firstMissing;
+        int loadWeeks = (int) ChronoUnit.WEEKS.between(firstMissing, lastMissing) + 1;
+        Map<LocalDate, List<CleaningTaskDTO>> loaded = transactionTemplate
+                .execute(status -> loadWeeks(requireWg(wgId), loadFrom, loadWeeks));
+        weekCache.putAll(wgId, loaded, loadGeneration);
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * Load the tasks of a range of weeks with one query and generate the missing
+     * ones. Generating does not invalidate cached weeks: a cached current or
+     * future week already holds all of its template tasks.
+     */
+    private Map<LocalDate, List<CleaningTaskDTO>> loadWeeks(WG wg, LocalDate firstWeek, int weeks) {
+        List<CleaningTask> tasks = new ArrayList<>(cleaningTaskRepository.findByWgAndWeekStartDateBetween(wg,
+                firstWeek, firstWeek.plusWeeks(weeks - 1L)));
+        tasks.addAll(generateMissingTasks(wg, firstWeek, weeks, tasks));
+
+        Map<LocalDate, List<CleaningTaskDTO>> byWeek = new LinkedHashMap<>();
+        for (int i = 0; i < weeks; i++) {
+            byWeek.put(firstWeek.plusWeeks(i), new ArrayList<>());
+        }
+        for (CleaningTask task : tasks) {
+            LocalDate week = task.getWeekStartDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            byWeek.get(week).add(cleaningMapper.toDTO(task));
+        }
+        byWeek.replaceAll((week, weekTasks) -> List.copyOf(weekTasks));
+        return byWeek;
     }
 
     /**
@@ -130,9 +215,46 @@ public class CleaningScheduleService {
     @Transactional
     public List<CleaningTask> generateMissingTasksFromTemplate(WG wg, LocalDate weekStart,
             List<CleaningTask> existingTasks) {
+        List<CleaningTask> generated = generateMissingTasks(wg, weekStart, 1, existingTasks);
+        publishTasksChanged(wg);
+        return generated;
+    }
+
+    /**
+     * Generate the missing tasks of several consecutive weeks in one pass, e.g. a
+     * semester plan. Templates and room queues are loaded (and locked) once, the
+     * queue rotations of the whole horizon are simulated in memory, and all new
+     * tasks and final queue states are written in one batched flush. Past weeks
+     * are skipped like in {@link #generateMissingTasksFromTemplate}.
+     *
+     * @param fromWeek first week, any day of it
+     * @param weeks    number of weeks to plan
+     * @return the generated tasks, by week
+     */
+    @Transactional
+    public List<CleaningTask> generateScheduleHorizon(WG wg, LocalDate fromWeek, int weeks) {
+        if (weeks <= 0) {
+            throw new IllegalArgumentException("Number of weeks must be positive");
+        }
+        LocalDate firstWeek = fromWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        List<CleaningTask> existingTasks = cleaningTaskRepository.findByWgAndWeekStartDateBetween(wg, firstWeek,
+                firstWeek.plusWeeks(weeks - 1L));
+        List<CleaningTask> generated = generateMissingTasks(wg, firstWeek, weeks, existingTasks);
+        publishTasksChanged(wg);
+        return generated;
+    }
+
+    /**
+     * Shared generator: walks the weeks in order and rotates each room's queue
+     * once per generated task, exactly as generating the weeks one by one would.
+     */
+    private List<CleaningTask> generateMissingTasks(WG wg, LocalDate firstWeek, int weeks,
+            List<CleaningTask> existingTasks) {
         // Don't generate tasks for past weeks
         LocalDate currentWeekStart = getCurrentWeekStart();
-        if (weekStart.isBefore(currentWeekStart)) {
+        LocalDate endWeek = firstWeek.plusWeeks(weeks);
+        LocalDate weekStart = firstWeek.isBefore(currentWeekStart) ? currentWeekStart : firstWeek;
+        if (!weekStart.isBefore(endWeek)) {
             return new ArrayList<>();
         }
 
@@ -145,47 +267,76 @@ public class CleaningScheduleService {
         if (members.isEmpty()) {
             return new ArrayList<>();
         }
+        Map<Long, User> membersById = new HashMap<>();
+        for (User member : members) {
+            membersById.put(member.getId(), member);
+        }
 
-        // Build a set of room IDs that already have tasks for this week
-        java.util.Set<Long> existingRoomIds = new java.util.HashSet<>();
+        // Rooms that already have a task, per week
+        Map<LocalDate, Set<Long>> existingRoomIds = new HashMap<>();
         for (CleaningTask task : existingTasks) {
-            existingRoomIds.add(task.getRoom().getId());
+            existingRoomIds.computeIfAbsent(task.getWeekStartDate(), week -> new HashSet<>())
+                    .add(task.getRoom().getId());
         }
 
+        // All queues of the WG, locked once against concurrent rotation when the
+        // first task is missing
+        Map<Long, RoomAssignmentQueue> queuesByRoom = null;
+        int queueCount = 0;
+
         List<CleaningTask> newTasks = new ArrayList<>();
-        for (CleaningTaskTemplate template : templates) {
-            // Skip if this room already has a task for this week
-            if (existingRoomIds.contains(template.getRoom().getId())) {
-                continue;
-            }
+        for (; weekStart.isBefore(endWeek); weekStart = weekStart.plusWeeks(1)) {
+            Set<Long> weekRoomIds = existingRoomIds.getOrDefault(weekStart, Set.of());
+            for (CleaningTaskTemplate template : templates) {
+                // Skip if this room already has a task for this week
+                if (weekRoomIds.contains(template.getRoom().getId())) {
+                    continue;
+                }
 
-            // Check if this task should be generated this week based on recurrence
-            if (!shouldGenerateTaskThisWeek(template, weekStart)) {
-                continue;
-            }
+                // Check if this task should be generated this week based on recurrence
+                if (!shouldGenerateTaskThisWeek(template, weekStart)) {
+                    continue;
+                }
+
+                if (queuesByRoom == null) {
+                    queuesByRoom = new HashMap<>();
+                    for (RoomAssignmentQueue queue : queueRepository.findByWgForUpdate(wg)) {
+                        queuesByRoom.putIfAbsent(queue.getRoom().getId(), queue);
+                    }
+                    queueCount = queuesByRoom.size();
+                }
 
-            // Get or create queue for this room
-            RoomAssignmentQueue queue = getOrCreateQueueForRoom(wg, template.getRoom(), members);
+                // Get or create queue for this room, offset by the existing queue count
+                RoomAssignmentQueue queue = queuesByRoom.get(template.getRoom().getId());
+                if (queue == null) {
+                    queue = new RoomAssignmentQueue(template.getRoom(), wg, members, queueCount++);
+                    queuesByRoom.put(template.getRoom().getId(), queue);
+                }
 
-            // Get the next assignee from the queue
-            User assignee = getNextAssigneeFromQueue(queue, members);
-            if (assignee == null) {
-                continue; // Skip if no valid assignee
-            }
+                // Get the next assignee from the queue
+                User assignee = getNextAssigneeFromQueue(queue, members, membersById);
+                if (assignee == null) {
+                    continue; // Skip if no valid assignee
+                }
 
-            LocalDate dueDate = resolveDueDateForWeek(template, weekStart);
-            if (dueDate == null) {
-                continue;
-            }
-            CleaningTask task = new CleaningTask(template.getRoom(), assignee, wg, weekStart, dueDate);
-            newTasks.add(cleaningTaskRepository.save(task));
+                LocalDate dueDate = resolveDueDateForWeek(template, weekStart);
+                if (dueDate == null) {
+                    continue;
+                }
+                newTasks.add(new CleaningTask(template.getRoom(), assignee, wg, weekStart, dueDate));
 
-            // Rotate the queue for next time
-            queue.rotate();
-            queueRepository.save(queue);
+                // Rotate the queue for next time
+                queue.rotate();
+            }
         }
 
-        return newTasks;
+        if (newTasks.isEmpty()) {
+            return newTasks;
+        }
+        // One flush: task inserts and queue updates are JDBC-batched
+        List<CleaningTask> saved = cleaningTaskRepository.saveAll(newTasks);
+        queueRepository.saveAll(queuesByRoom.values());
+        return saved;
     }
 
     /**
@@ -199,32 +350,46 @@ public class CleaningScheduleService {
         return generateMissingTasksFromTemplate(wg, weekStart, existingTasks);
     }
 
+    /**
+     * Tell cached schedule views of the WG that its tasks or templates changed.
+     */
+    private void publishTasksChanged(WG wg) {
+        eventPublisher.publishEvent(new CleaningTasksChangedEvent(wg != null ? wg.getId() : null));
+    }
+
     /**
      * Get the next assignee from a queue, validating the user still exists.
      */
     private User getNextAssigneeFromQueue(RoomAssignmentQueue queue, List<User> currentMembers) {
+        Map<Long, User> membersById = new HashMap<>();
+        for (User member : currentMembers) {
+            membersById.put(member.getId(), member);
+        }
+        User assignee = getNextAssigneeFromQueue(queue, currentMembers, membersById);
+        queueRepository.save(queue);
+        return assignee;
+    }
+
+    /**
+     * Get the next assignee from a queue without touching the database. If the
+     * user left the WG, the queue is synced with the current members first.
+     */
+    private User getNextAssigneeFromQueue(RoomAssignmentQueue queue, List<User> currentMembers,
+            Map<Long, User> membersById) {
         Long nextId = queue.getNextAssigneeId();
         if (nextId == null) {
             return currentMembers.isEmpty() ? null : currentMembers.get(0);
         }
 
-        // Find the user in current members
-        for (User member : currentMembers) {
-            if (member.getId().equals(nextId)) {
-                return member;
-            }
+        User assignee = membersById.get(nextId);
+        if (assignee != null) {
+            return assignee;
         }
 
         // If user not found (left WG), sync queue and try again
         syncQueueWithMembers(queue, currentMembers);
-        queueRepository.save(queue);
-
         nextId = queue.getNextAssigneeId();
-        if (nextId == null) {
-            return null;
-        }
-
-        return userRepository.findById(nextId).orElse(null);
+        return nextId == null ? null : membersById.get(nextId);
     }
 
     /**
@@ -266,8 +431,7 @@ public class CleaningScheduleService {
         }
 
         // Update the queue
-        queue.setMemberQueueOrder(
-                queueIds.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(",")));
+        queue.setMemberIds(queueIds);
     }
 
     /**
@@ -298,12 +462,7 @@ public class CleaningScheduleService {
         List<User> currentMembers = wg.getMitbewohner();
 
         // Delete all tasks from current week onwards (preserve history)
-        List<CleaningTask> allTasks = cleaningTaskRepository.findByWg(wg);
-        for (CleaningTask task : allTasks) {
-            if (!task.getWeekStartDate().isBefore(currentWeekStart)) {
-                cleaningTaskRepository.delete(task);
-            }
-        }
+        cleaningTaskRepository.deleteByWgFromWeek(wg, currentWeekStart);
 
         // Reset all queues with current members and fresh starting positions
         List<RoomAssignmentQueue> queues = queueRepository.findByWg(wg);
@@ -318,6 +477,7 @@ public class CleaningScheduleService {
         if (hasTemplate(wg)) {
             generateFromTemplateForWeek(wg, currentWeekStart);
         }
+        publishTasksChanged(wg);
     }
 
     /**
@@ -350,6 +510,7 @@ public class CleaningScheduleService {
                 }
             }
         }
+        publishTasksChanged(wg);
     }
 
     /**
@@ -368,8 +529,8 @@ public class CleaningScheduleService {
         LocalDate weekStart = getCurrentWeekStart();
 
         // Delete existing tasks for this week
-        List<CleaningTask> existingTasks = cleaningTaskRepository.findByWgAndWeekStartDate(wg, weekStart);
-        cleaningTaskRepository.deleteAll(existingTasks);
+        cleaningTaskRepository.deleteByWgAndWeek(wg, weekStart);
+        publishTasksChanged(wg);
 
         // Generate new tasks using round-robin
         return generateFromTemplateForWeek(wg, weekStart);
@@ -412,6 +573,7 @@ public class CleaningScheduleService {
             offset++;
         }
 
+        publishTasksChanged(wg);
         return templates;
     }
 
@@ -487,11 +649,13 @@ public class CleaningScheduleService {
         for (CleaningTask task : existingTasks) {
             if (task.getRoom().getId().equals(room.getId())) {
                 task.setAssignee(assignee);
+                publishTasksChanged(wg);
                 return cleaningTaskRepository.save(task);
             }
         }
 
         CleaningTask task = new CleaningTask(room, assignee, wg, weekStart);
+        publishTasksChanged(wg);
         return cleaningTaskRepository.save(task);
     }
 
@@ -522,7 +686,7 @@ public class CleaningScheduleService {
      */
     @Transactional
     public CleaningTaskDTO assignTaskByIdsWithDate(Long roomId, Long assigneeId, WG wg, LocalDate dueDate) {
-        if (dueDate.isBefore(LocalDate.now())) {
+        if (dueDate.isBefore(LocalDate.now(clock))) {
             throw new IllegalArgumentException("Cannot assign a task to a date in the past.");
         }
         Room room = roomRepository.findById(roomId).orElseThrow(() -> new IllegalArgumentException("Room not found"));
@@ -536,6 +700,7 @@ public class CleaningScheduleService {
         // Always create a new task (allows multiple tasks per room per day)
         CleaningTask task = new CleaningTask(room, assignee, wg, weekStart, dueDate);
         task.setManualOverride(true);
+        publishTasksChanged(wg);
         return cleaningMapper.toDTO(cleaningTaskRepository.save(task));
     }
 
@@ -594,6 +759,7 @@ public class CleaningScheduleService {
         // Update the current task assignment
         task.setAssignee(newAssignee);
         task.setManualOverride(true);
+        publishTasksChanged(task.getWg());
         return cleaningTaskRepository.save(task);
     }
 
@@ -612,11 +778,12 @@ public class CleaningScheduleService {
      */
     @Transactional
     public CleaningTask rescheduleTask(CleaningTask task, LocalDate newDueDate) {
-        if (newDueDate.isBefore(LocalDate.now())) {
+        if (newDueDate.isBefore(LocalDate.now(clock))) {
             throw new IllegalArgumentException("Cannot reschedule a task to a date in the past.");
         }
         task.setDueDate(newDueDate);
         task.setManualOverride(true);
+        publishTasksChanged(task.getWg());
         return cleaningTaskRepository.save(task);
     }
 
@@ -634,6 +801,7 @@ public class CleaningScheduleService {
     @Transactional
     public CleaningTask markTaskComplete(CleaningTask task) {
         task.markComplete();
+        publishTasksChanged(task.getWg());
         return cleaningTaskRepository.save(task);
     }
 
@@ -651,6 +819,7 @@ public class CleaningScheduleService {
     @Transactional
     public CleaningTask markTaskIncomplete(CleaningTask task) {
         task.markIncomplete();
+        publishTasksChanged(task.getWg());
         return cleaningTaskRepository.save(task);
     }
 
@@ -675,6 +844,7 @@ public class CleaningScheduleService {
     @Transactional
     public void deleteTask(CleaningTask task) {
         cleaningTaskRepository.delete(task);
+        publishTasksChanged(task.getWg());
     }
 
     /**
@@ -684,7 +854,7 @@ public class CleaningScheduleService {
     public void deleteTask(Long taskId) {
         CleaningTask task = cleaningTaskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-        cleaningTaskRepository.delete(task);
+        deleteTask(task);
     }
 
     // ========== Template CRUD Methods ==========
@@ -711,6 +881,7 @@ public class CleaningScheduleService {
         RoomAssignmentQueue queue = new RoomAssignmentQueue(room, wg, members, offset);
         queueRepository.save(queue);
 
+        publishTasksChanged(wg);
         return template;
     }
 
@@ -762,17 +933,17 @@ public class CleaningScheduleService {
         // Reset base week when interval changes to current week for predictable
         // behavior
         template.setBaseWeekStart(getCurrentWeekStart());
-        List<CleaningTask> tasks = cleaningTaskRepository.findByWgAndRoom(template.getWg(), template.getRoom());
+        // Only current and future tasks are loaded; the changed due dates are
+        // written by dirty checking in JDBC batches
+        List<CleaningTask> tasks = cleaningTaskRepository.findByWgAndRoomAndWeekStartDateGreaterThanEqual(
+                template.getWg(), template.getRoom(), currentWeekStart);
         for (CleaningTask task : tasks) {
-            // Only update tasks from current week onwards
-            if (!task.getWeekStartDate().isBefore(currentWeekStart)) {
-                LocalDate newDueDate = resolveDueDateForWeek(template, task.getWeekStartDate());
-                if (newDueDate != null) {
-                    task.setDueDate(newDueDate);
-                    cleaningTaskRepository.save(task);
-                }
+            LocalDate newDueDate = resolveDueDateForWeek(template, task.getWeekStartDate());
+            if (newDueDate != null) {
+                task.setDueDate(newDueDate);
             }
         }
+        publishTasksChanged(template.getWg());
         return templateRepository.save(template);
     }
 
@@ -785,15 +956,11 @@ public class CleaningScheduleService {
         LocalDate currentWeekStart = getCurrentWeekStart();
 
         // Delete only current and future tasks for this room, preserve past tasks
-        List<CleaningTask> allTasks = cleaningTaskRepository.findByWgAndRoom(template.getWg(), template.getRoom());
-        for (CleaningTask task : allTasks) {
-            if (!task.getWeekStartDate().isBefore(currentWeekStart)) {
-                cleaningTaskRepository.delete(task);
-            }
-        }
+        cleaningTaskRepository.deleteByWgAndRoomFromWeek(template.getWg(), template.getRoom(), currentWeekStart);
 
         queueRepository.deleteByRoom(template.getRoom());
         templateRepository.delete(template);
+        publishTasksChanged(template.getWg());
     }
 
     /**
@@ -805,15 +972,11 @@ public class CleaningScheduleService {
         LocalDate currentWeekStart = getCurrentWeekStart();
 
         // Delete only current and future tasks for this WG, preserve past tasks and manual overrides
-        List<CleaningTask> allTasks = cleaningTaskRepository.findByWg(wg);
-        for (CleaningTask task : allTasks) {
-            if (!task.getWeekStartDate().isBefore(currentWeekStart) && !task.isManualOverride()) {
-                cleaningTaskRepository.delete(task);
-            }
-        }
+        cleaningTaskRepository.deleteGeneratedByWgFromWeek(wg, currentWeekStart);
 
         queueRepository.deleteByWg(wg);
         templateRepository.deleteByWg(wg);
+        publishTasksChanged(wg);
     }
 
     /**
@@ -831,17 +994,14 @@ public class CleaningScheduleService {
     @Transactional
     public void deleteRoomData(Room room) {
         // Delete all tasks for this room
-        List<CleaningTask> tasks = cleaningTaskRepository.findAll().stream()
-                .filter(t -> t.getRoom().getId().equals(room.getId())).collect(java.util.stream.Collectors.toList());
-        cleaningTaskRepository.deleteAll(tasks);
+        cleaningTaskRepository.deleteByRoom(room);
 
         // Delete all templates for this room
-        List<CleaningTaskTemplate> templates = templateRepository.findAll().stream()
-                .filter(t -> t.getRoom().getId().equals(room.getId())).collect(java.util.stream.Collectors.toList());
-        templateRepository.deleteAll(templates);
+        templateRepository.deleteByRoom(room);
 
         // Delete all queues for this room
         queueRepository.deleteByRoom(room);
+        publishTasksChanged(room.getWg());
     }
 
     /**
@@ -910,6 +1070,7 @@ public class CleaningScheduleService {
                 }
             }
         }
+        publishTasksChanged(wg);
     }
 
     /**
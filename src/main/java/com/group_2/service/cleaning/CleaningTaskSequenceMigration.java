@@ -0,0 +1,53 @@
+package com.group_2.service.cleaning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Moves the cleaning task ID sequence past the IDs that were generated while
+ * the tasks table still used an IDENTITY column. Hibernate creates the sequence
+ * starting at 1, which would collide with existing rows.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class CleaningTaskSequenceMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(CleaningTaskSequenceMigration.class);
+
+    // Must match the allocationSize of the CleaningTask sequence generator
+    private static final int ALLOCATION_SIZE = 50;
+    private static final String SEQUENCE = "tasks_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public CleaningTaskSequenceMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        List<Long> baseValues = jdbcTemplate.queryForList("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE UPPER(SEQUENCE_NAME) = ?", Long.class, SEQUENCE.toUpperCase());
+        if (baseValues.isEmpty()) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+        long max = maxId != null ? maxId : 0L;
+
+        // The pooled optimizer hands out the block ending at the fetched value
+        long nextBlockStart = baseValues.get(0) - ALLOCATION_SIZE + 1;
+        if (max > 0 && nextBlockStart <= max) {
+            long restartWith = max + ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + SEQUENCE + " RESTART WITH " + restartWith);
+            log.info("Restarted {} at {} (max tasks.id = {})", SEQUENCE, restartWith, max);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.group_2.service.cleaning;
+
+/**
+ * Published when cleaning tasks or templates of a WG were created, modified or
+ * deleted. Listeners that cache schedule views drop them after commit.
+ *
+ * @param wgId WG whose schedule changed, or null if the WG is unknown (all WGs
+ *             are affected)
+ */
+public record CleaningTasksChangedEvent(Long wgId) {
+}
@@ -0,0 +1,96 @@
+package com.group_2.service.cleaning;
+
+import com.group_2.dto.cleaning.CleaningTaskDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of the cleaning task views of single weeks, keyed by WG and
+ * week start. Entries are evicted least recently used beyond
+ * {@code maxEntries} and all weeks of a WG are dropped after commit whenever a
+ * {@link CleaningTasksChangedEvent} for it is published.
+ */
+@Component
+public class CleaningWeekCache {
+
+    private record WeekKey(Long wgId, LocalDate weekStart) {
+    }
+
+    private final int maxEntries;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<WeekKey, List<CleaningTaskDTO>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every invalidation; loads that raced with one are not stored
+    private long generation;
+
+    @Autowired
+    public CleaningWeekCache(@Value("${cleaning.week-cache.max-entries:256}") int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Week cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the cached tasks of a week.
+     *
+     * @return the tasks, or null if the week is not cached
+     */
+    public synchronized List<CleaningTaskDTO> get(Long wgId, LocalDate weekStart) {
+        return entries.get(new WeekKey(wgId, weekStart));
+    }
+
+    /**
+     * Current invalidation generation; pass it to {@link #putAll} for data loaded
+     * afterwards.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store loaded weeks, unless the cache was invalidated since the load started.
+     */
+    public synchronized void putAll(Long wgId, Map<LocalDate, List<CleaningTaskDTO>> weeks, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        for (Map.Entry<LocalDate, List<CleaningTaskDTO>> week : weeks.entrySet()) {
+            entries.put(new WeekKey(wgId, week.getKey()), List.copyOf(week.getValue()));
+        }
+        while (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Drop the weeks of a WG after the changing DB transaction committed, or
+     * immediately if the event was published outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCleaningTasksChanged(CleaningTasksChangedEvent event) {
+        generation++;
+        if (event.wgId() == null) {
+            entries.clear();
+        } else {
+            entries.keySet().removeIf(key -> key.wgId().equals(event.wgId()));
+        }
+    }
+
+    /**
+     * Drop all cached weeks.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package com.group_2.service.cleaning;
+
+import com.group_2.model.cleaning.RoomAssignmentQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-time migration of the room assignment queues from the comma-separated
+ * member_queue_order column to the binary member_ids ring buffer. Runs after
+ * Hibernate has added the new columns; the old column is dropped afterwards, so
+ * the migration is a no-op once it has run.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class RoomAssignmentQueueMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAssignmentQueueMigration.class);
+
+    private static final String TABLE = "room_assignment_queue";
+    private static final String OLD_COLUMN = "member_queue_order";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public RoomAssignmentQueueMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!columnExists(OLD_COLUMN)) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, " + OLD_COLUMN + " AS ids FROM "
+                    + TABLE + " WHERE member_ids IS NULL");
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                String order = (String) row.get("IDS");
+                long[] ids = order == null || order.isBlank() ? new long[0]
+                        : Arrays.stream(order.split(",")).mapToLong(id -> Long.parseLong(id.trim())).toArray();
+                updates.add(new Object[] { RoomAssignmentQueue.encode(ids), ((Number) row.get("ID")).longValue() });
+            }
+            jdbcTemplate.batchUpdate("UPDATE " + TABLE + " SET member_ids = ?, queue_head = 0 WHERE id = ?",
+                    updates);
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP COLUMN " + OLD_COLUMN);
+            log.info("Migrated {} room assignment queue(s) to the binary member format", updates.size());
+        });
+    }
+
+    private boolean columnExists(String column) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = ?", Integer.class, TABLE.toUpperCase(),
+                column.toUpperCase());
+        return count != null && count > 0;
+    }
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,16 +22,18 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final WGRepository wgRepository;
     private final CleaningScheduleService cleaningScheduleService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     @Autowired
     public RoomService(RoomRepository roomRepository, WGRepository wgRepository,
-            CleaningScheduleService cleaningScheduleService) {
+            CleaningScheduleService cleaningScheduleService, ApplicationEventPublisher eventPublisher) {
         this.roomRepository = roomRepository;
         this.wgRepository = wgRepository;
         this.cleaningScheduleService = cleaningScheduleService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -52,6 +55,8 @@ public class RoomService {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Room not found with id: " + id));
         room.setName(name);
+        // Cached schedule views show the room name
+        eventPublisher.publishEvent(new CleaningTasksChangedEvent(room.getWg() != null ? room.getWg().getId() : null));
         return roomRepository.save(room);
     }
 
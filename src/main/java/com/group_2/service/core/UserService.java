@@ -4,8 +4,10 @@ import com.group_2.dto.core.CoreMapper;
 import com.group_2.dto.core.UserSummaryDTO;
 import com.group_2.model.User;
 import com.group_2.repository.UserRepository;
+import com.group_2.service.cleaning.CleaningTasksChangedEvent;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,13 +22,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncryptionService passwordEncryptionService;
     private final CoreMapper coreMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public UserService(UserRepository userRepository, PasswordEncryptionService passwordEncryptionService,
-            CoreMapper coreMapper) {
+            CoreMapper coreMapper, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncryptionService = passwordEncryptionService;
         this.coreMapper = coreMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -93,6 +97,10 @@ public class UserService {
         user.setName(name);
         user.setSurname(surname);
         user.setEmail(email);
+        if (user.getWg() != null) {
+            // Cached cleaning schedule views show assignee names
+            eventPublisher.publishEvent(new CleaningTasksChangedEvent(user.getWg().getId()));
+        }
         return userRepository.save(user);
     }
 
@@ -0,0 +1,136 @@
+package com.group_2.service.finance;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded per-WG cache of balance matrices. Entries are filled on first read,
+ * evicted least recently used beyond {@code maxEntries} or after the TTL, and
+ * dropped after commit whenever a {@link TransactionsChangedEvent} for the WG is
+ * published.
+ */
+@Component
+public class BalanceCache {
+
+    /**
+     * Counter snapshot of the cache.
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+
+    private record Entry(WgBalanceMatrix matrix, long loadedAtMillis) {
+    }
+
+    private final Clock clock;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every invalidation; loads that raced with one are not stored
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public BalanceCache(@Value("${finance.balance-cache.max-entries:64}") int maxEntries,
+            @Value("${finance.balance-cache.ttl:PT5M}") Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Balance cache size must be positive");
+        }
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Get the balance matrix of a WG, loading it on a miss. Reads inside a
+     * read-write transaction bypass the cache, since they may see uncommitted
+     * changes that are rolled back later.
+     */
+    public WgBalanceMatrix get(Long wgId, Function<Long, WgBalanceMatrix> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.apply(wgId);
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(wgId);
+            long now = clock.millis();
+            if (entry != null && now - entry.loadedAtMillis() < ttlMillis) {
+                hits.incrementAndGet();
+                return entry.matrix();
+            }
+            if (entry != null) {
+                entries.remove(wgId);
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            loadGeneration = generation;
+        }
+
+        // Load outside the lock so a slow query does not block other WGs
+        WgBalanceMatrix matrix = loader.apply(wgId);
+
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(wgId, new Entry(matrix, clock.millis()));
+                while (entries.size() > maxEntries) {
+                    Long eldest = entries.keySet().iterator().next();
+                    entries.remove(eldest);
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Drop the cached matrix of a WG.
+     */
+    public synchronized void invalidate(Long wgId) {
+        generation++;
+        entries.remove(wgId);
+    }
+
+    /**
+     * Drop all cached matrices.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Invalidate after the changing DB transaction committed, or immediately if
+     * the event was published outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (event.wgId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.wgId());
+        }
+    }
+
+    /**
+     * Current hit, miss and eviction counters.
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), entries.size());
+    }
+}
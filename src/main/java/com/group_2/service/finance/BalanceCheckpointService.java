@@ -0,0 +1,171 @@
+package com.group_2.service.finance;
+
+import com.group_2.dto.finance.PairwiseBalanceDTO;
+import com.group_2.model.WG;
+import com.group_2.model.finance.BalanceCheckpoint;
+import com.group_2.model.finance.CheckpointPairBalance;
+import com.group_2.model.finance.Transaction;
+import com.group_2.repository.WGRepository;
+import com.group_2.repository.finance.BalanceCheckpointRepository;
+import com.group_2.repository.finance.BalanceLedgerRepository;
+import com.group_2.repository.finance.TransactionRepository;
+import com.group_2.repository.finance.TransactionSplitRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains per-WG balance checkpoints. Balances derived from the raw splits
+ * are the checkpoint pairs plus the splits of transactions newer than its
+ * cutoff, so the fold only covers the history since the last checkpoint.
+ */
+@Service
+public class BalanceCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceCheckpointService.class);
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransactionSplitRepository transactionSplitRepository;
+    private final BalanceLedgerRepository ledgerRepository;
+    private final WGRepository wgRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Transactions a WG must have collected since its last checkpoint before a
+    // new one is written
+    @Value("${finance.checkpoint.min-new-transactions:200}")
+    private long minNewTransactions;
+
+    @Autowired
+    public BalanceCheckpointService(BalanceCheckpointRepository checkpointRepository,
+            TransactionRepository transactionRepository, TransactionSplitRepository transactionSplitRepository,
+            BalanceLedgerRepository ledgerRepository, WGRepository wgRepository,
+            TransactionTemplate transactionTemplate) {
+        this.checkpointRepository = checkpointRepository;
+        this.transactionRepository = transactionRepository;
+        this.transactionSplitRepository = transactionSplitRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.wgRepository = wgRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Nightly job: advance the checkpoint of every WG that collected enough new
+     * transactions. Each WG is written in its own DB transaction.
+     */
+    @Scheduled(cron = "${finance.checkpoint.cron:0 30 3 * * ?}")
+    public void writeCheckpointsScheduled() {
+        int written = 0;
+        for (WG wg : wgRepository.findAll()) {
+            try {
+                Boolean advanced = transactionTemplate.execute(status -> advanceIfDue(wg.getId()));
+                if (Boolean.TRUE.equals(advanced)) {
+                    written++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to write balance checkpoint for WG {}", wg.getId(), e);
+            }
+        }
+        log.info("Balance checkpoint run finished, {} checkpoint(s) written", written);
+    }
+
+    /**
+     * Pairwise balances of a WG in cents: the latest checkpoint plus all
+     * transactions after its cutoff. Pairs may appear twice (once from the
+     * checkpoint, once from the delta); consumers sum them up.
+     */
+    @Transactional(readOnly = true)
+    public List<PairwiseBalanceDTO> sumPairs(Long wgId) {
+        Optional<BalanceCheckpoint> checkpoint = checkpointRepository.findByWgId(wgId);
+        if (checkpoint.isEmpty()) {
+            return transactionSplitRepository.sumAmountsByPair(wgId);
+        }
+        List<PairwiseBalanceDTO> pairs = new ArrayList<>();
+        for (CheckpointPairBalance pair : checkpoint.get().getPairs()) {
+            pairs.add(new PairwiseBalanceDTO(pair.getCreditorId(), pair.getDebtorId(), pair.getAmountCents()));
+        }
+        pairs.addAll(transactionSplitRepository.sumAmountsByPairInRange(wgId,
+                checkpoint.get().getCutoffTransactionId(), Long.MAX_VALUE));
+        return pairs;
+    }
+
+    /**
+     * Replace the checkpoint of a WG with one covering all of its current
+     * transactions.
+     *
+     * @return the new checkpoint, or null if the WG has no transactions
+     */
+    @Transactional
+    public BalanceCheckpoint writeCheckpoint(Long wgId) {
+        // Wait for in-flight postings of this WG so no transaction below the cutoff
+        // is still uncommitted
+        ledgerRepository.findByWgIdForUpdate(wgId);
+
+        checkpointRepository.deleteByWgId(wgId);
+        // The delete must reach the DB before the insert (unique WG constraint)
+        checkpointRepository.flush();
+
+        Long cutoffId = transactionRepository.findMaxIdByWgId(wgId);
+        if (cutoffId == null) {
+            return null;
+        }
+        List<CheckpointPairBalance> pairs = new ArrayList<>();
+        for (PairwiseBalanceDTO pair : transactionSplitRepository.sumAmountsByPairInRange(wgId, 0L, cutoffId)) {
+            if (pair.amountCents() != null && pair.amountCents() != 0L) {
+                pairs.add(new CheckpointPairBalance(pair.creditorId(), pair.debtorId(), pair.amountCents()));
+            }
+        }
+        BalanceCheckpoint checkpoint = checkpointRepository.save(new BalanceCheckpoint(wgId, cutoffId, pairs));
+        log.debug("Wrote balance checkpoint for WG {} at transaction {} ({} pairs)", wgId, cutoffId, pairs.size());
+        return checkpoint;
+    }
+
+    /**
+     * Must be called after a transaction was modified or deleted. If the
+     * transaction is covered by the checkpoint of its WG, the checkpoint no longer
+     * matches the splits and is rebuilt.
+     *
+     * @param wgId          WG of the transaction
+     * @param transactionId ID of the modified or deleted transaction
+     */
+    @Transactional
+    public void onTransactionChanged(Long wgId, Long transactionId) {
+        if (wgId == null || transactionId == null) {
+            return;
+        }
+        Optional<BalanceCheckpoint> checkpoint = checkpointRepository.findByWgId(wgId);
+        if (checkpoint.isPresent() && transactionId <= checkpoint.get().getCutoffTransactionId()) {
+            log.info("Transaction {} predates the balance checkpoint of WG {}, rebuilding it", transactionId, wgId);
+            writeCheckpoint(wgId);
+        }
+    }
+
+    /**
+     * Convenience overload of {@link #onTransactionChanged(Long, Long)}.
+     */
+    @Transactional
+    public void onTransactionChanged(Transaction transaction) {
+        if (transaction.getWg() != null) {
+            onTransactionChanged(transaction.getWg().getId(), transaction.getId());
+        }
+    }
+
+    private boolean advanceIfDue(Long wgId) {
+        Long cutoffId = checkpointRepository.findByWgId(wgId).map(BalanceCheckpoint::getCutoffTransactionId)
+                .orElse(0L);
+        if (transactionRepository.countByWgIdAndIdGreaterThan(wgId, cutoffId) < minNewTransactions) {
+            return false;
+        }
+        return writeCheckpoint(wgId) != null;
+    }
+}
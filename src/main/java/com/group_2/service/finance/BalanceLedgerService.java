@@ -0,0 +1,275 @@
+package com.group_2.service.finance;
+
+import com.group_2.dto.finance.PairwiseBalanceDTO;
+import com.group_2.model.WG;
+import com.group_2.model.finance.BalanceLedgerEntry;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.repository.WGRepository;
+import com.group_2.repository.finance.BalanceLedgerRepository;
+import com.group_2.util.Money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains the materialized pairwise balance ledger. Transaction mutations
+ * post their splits here in the same DB transaction, so balance reads are
+ * indexed lookups instead of a walk over the whole transaction history.
+ */
+@Service
+public class BalanceLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceLedgerService.class);
+
+    private final BalanceLedgerRepository ledgerRepository;
+    private final WGRepository wgRepository;
+    private final BalanceCheckpointService checkpointService;
+    private final BalanceCache balanceCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${finance.ledger.verify-on-startup:true}")
+    private boolean verifyOnStartup;
+
+    @Autowired
+    public BalanceLedgerService(BalanceLedgerRepository ledgerRepository, WGRepository wgRepository,
+            BalanceCheckpointService checkpointService, BalanceCache balanceCache,
+            ApplicationEventPublisher eventPublisher) {
+        this.ledgerRepository = ledgerRepository;
+        this.wgRepository = wgRepository;
+        this.checkpointService = checkpointService;
+        this.balanceCache = balanceCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Post all splits of a transaction to the ledger.
+     */
+    @Transactional
+    public void applyTransaction(Transaction transaction) {
+        post(transaction, 1);
+    }
+
+    /**
+     * Post the splits of many transactions to the ledger. Deltas are summed per
+     * pair first, so every pair row is locked and written once.
+     */
+    @Transactional
+    public void applyTransactions(List<Transaction> transactions) {
+        Map<LedgerKey, Long> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getWg() == null || transaction.getCreditor() == null) {
+                continue;
+            }
+            Long wgId = transaction.getWg().getId();
+            Long creditorId = transaction.getCreditor().getId();
+            for (TransactionSplit split : transaction.getSplits()) {
+                Long debtorId = split.getDebtor().getId();
+                if (creditorId.equals(debtorId)) {
+                    continue;
+                }
+                deltas.merge(new LedgerKey(wgId, creditorId, debtorId), split.getAmountCents(), Long::sum);
+            }
+        }
+        for (Map.Entry<LedgerKey, Long> e : deltas.entrySet()) {
+            LedgerKey key = e.getKey();
+            adjust(key.wgId(), key.creditorId(), key.debtorId(), e.getValue());
+        }
+    }
+
+    /**
+     * Remove all splits of a transaction from the ledger. Must be called with the
+     * transaction state as it was when it was applied (before any modification).
+     */
+    @Transactional
+    public void revertTransaction(Transaction transaction) {
+        post(transaction, -1);
+    }
+
+    /**
+     * Net balance between two users. Positive = otherUser owes user, negative =
+     * user owes otherUser.
+     */
+    public double getBalance(Long wgId, Long userId, Long otherUserId) {
+        return Money.toEuros(getBalanceCents(wgId, userId, otherUserId));
+    }
+
+    /**
+     * Net balance between two users in cents. Positive = otherUser owes user,
+     * negative = user owes otherUser.
+     */
+    public long getBalanceCents(Long wgId, Long userId, Long otherUserId) {
+        return getBalanceMatrix(wgId).balanceCentsBetween(userId, otherUserId);
+    }
+
+    /**
+     * Full balance matrix of a WG, served from the {@link BalanceCache} or read
+     * from the ledger in one query.
+     */
+    public WgBalanceMatrix getBalanceMatrix(Long wgId) {
+        if (wgId == null) {
+            return WgBalanceMatrix.empty();
+        }
+        return balanceCache.get(wgId, id -> WgBalanceMatrix.of(ledgerRepository.findPairsByWgId(id)));
+    }
+
+    /**
+     * Full balance matrix of a WG read from the ledger, bypassing the
+     * {@link BalanceCache}. Sees uncommitted changes of the current DB
+     * transaction.
+     */
+    public WgBalanceMatrix readBalanceMatrix(Long wgId) {
+        if (wgId == null) {
+            return WgBalanceMatrix.empty();
+        }
+        return WgBalanceMatrix.of(ledgerRepository.findPairsByWgId(wgId));
+    }
+
+    /**
+     * Full balance matrix of a WG, derived from the latest balance checkpoint plus
+     * the splits of all newer transactions. Bypasses the ledger.
+     */
+    public WgBalanceMatrix getBalanceMatrixFromSplits(Long wgId) {
+        if (wgId == null) {
+            return WgBalanceMatrix.empty();
+        }
+        return WgBalanceMatrix.of(checkpointService.sumPairs(wgId));
+    }
+
+    /**
+     * Recompute the ledger of a WG from the raw transaction splits.
+     */
+    @Transactional
+    public void rebuildLedger(Long wgId) {
+        Map<PairKey, Long> expected = computeFromSplits(wgId);
+
+        ledgerRepository.deleteByWgId(wgId);
+        // Deletes must hit the DB before the re-inserts to satisfy the unique pair
+        // constraint
+        ledgerRepository.flush();
+
+        List<BalanceLedgerEntry> entries = new ArrayList<>();
+        for (Map.Entry<PairKey, Long> e : expected.entrySet()) {
+            BalanceLedgerEntry entry = new BalanceLedgerEntry(wgId, e.getKey().creditorId(), e.getKey().debtorId());
+            entry.setAmountCents(e.getValue());
+            entries.add(entry);
+        }
+        ledgerRepository.saveAll(entries);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(wgId));
+        log.info("Rebuilt balance ledger for WG {} ({} pairs)", wgId, entries.size());
+    }
+
+    /**
+     * Compare the ledger of a WG with the raw transaction splits.
+     *
+     * @return number of pairs whose ledger amount drifted from the splits
+     */
+    @Transactional(readOnly = true)
+    public int verifyLedger(Long wgId) {
+        Map<PairKey, Long> expected = computeFromSplits(wgId);
+        Map<PairKey, Long> actual = new HashMap<>();
+        for (BalanceLedgerEntry entry : ledgerRepository.findByWgId(wgId)) {
+            actual.put(new PairKey(entry.getCreditorId(), entry.getDebtorId()), entry.getAmountCents());
+        }
+
+        Set<PairKey> pairs = new HashSet<>(expected.keySet());
+        pairs.addAll(actual.keySet());
+
+        int drifted = 0;
+        for (PairKey pair : pairs) {
+            long expectedAmount = expected.getOrDefault(pair, 0L);
+            long actualAmount = actual.getOrDefault(pair, 0L);
+            // Cents are exact, so any difference is real drift
+            if (expectedAmount != actualAmount) {
+                drifted++;
+                log.warn("Ledger drift in WG {} for {} -> {}: ledger {} ct, splits {} ct", wgId, pair.creditorId(),
+                        pair.debtorId(), actualAmount, expectedAmount);
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * Verify the ledger of a WG and rebuild it if it drifted.
+     *
+     * @return true if a rebuild was necessary
+     */
+    @Transactional
+    public boolean verifyAndRepair(Long wgId) {
+        if (verifyLedger(wgId) == 0) {
+            return false;
+        }
+        rebuildLedger(wgId);
+        return true;
+    }
+
+    /**
+     * Verify all WG ledgers on startup. Also populates the ledger for data that
+     * was created before the ledger existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void verifyOnStartup() {
+        if (!verifyOnStartup) {
+            return;
+        }
+        int repaired = 0;
+        for (WG wg : wgRepository.findAll()) {
+            if (verifyAndRepair(wg.getId())) {
+                repaired++;
+            }
+        }
+        log.info("Balance ledger verification finished, {} WG ledger(s) rebuilt", repaired);
+    }
+
+    private void post(Transaction transaction, int sign) {
+        if (transaction.getWg() == null || transaction.getCreditor() == null) {
+            return;
+        }
+        Long wgId = transaction.getWg().getId();
+        Long creditorId = transaction.getCreditor().getId();
+        for (TransactionSplit split : transaction.getSplits()) {
+            Long debtorId = split.getDebtor().getId();
+            if (creditorId.equals(debtorId)) {
+                continue; // Paying for yourself does not create a balance
+            }
+            adjust(wgId, creditorId, debtorId, sign * split.getAmountCents());
+        }
+    }
+
+    private void adjust(Long wgId, Long creditorId, Long debtorId, long deltaCents) {
+        BalanceLedgerEntry entry = ledgerRepository.findPairForUpdate(wgId, creditorId, debtorId)
+                .orElseGet(() -> new BalanceLedgerEntry(wgId, creditorId, debtorId));
+        entry.add(deltaCents);
+        ledgerRepository.save(entry);
+    }
+
+    private Map<PairKey, Long> computeFromSplits(Long wgId) {
+        Map<PairKey, Long> sums = new HashMap<>();
+        // Checkpoint and delta rows of the same pair are summed up
+        for (PairwiseBalanceDTO pair : checkpointService.sumPairs(wgId)) {
+            sums.merge(new PairKey(pair.creditorId(), pair.debtorId()), pair.amountCents(), Long::sum);
+        }
+        return sums;
+    }
+
+    private record PairKey(Long creditorId, Long debtorId) {
+    }
+
+    private record LedgerKey(Long wgId, Long creditorId, Long debtorId) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.group_2.service.finance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-time migration of the finance money columns from DOUBLE euros/percent to
+ * BIGINT cents and INT basis points. Runs after Hibernate has added the new
+ * columns and before any service reads them. Each old column is copied and
+ * dropped, so the migration is a no-op once it has run.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class MoneyColumnMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(MoneyColumnMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public MoneyColumnMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            migrateColumn("transactions", "total_amount", "total_amount_cents", "BIGINT");
+            migrateColumn("standing_orders", "total_amount", "total_amount_cents", "BIGINT");
+            migrateColumn("balance_ledger", "amount", "amount_cents", "BIGINT");
+            boolean amounts = migrateColumn("transaction_splits", "amount", "amount_cents", "BIGINT");
+            boolean shares = migrateColumn("transaction_splits", "percentage", "percentage_basis_points", "INT");
+
+            // Rounding each split on its own can miss the total by a few cents
+            if (amounts) {
+                fixSplitRemainders("amount_cents", "t.total_amount_cents");
+            }
+            if (shares) {
+                fixSplitRemainders("percentage_basis_points", "10000");
+            }
+        });
+
+        requireNotNull("transactions", "total_amount_cents");
+        requireNotNull("standing_orders", "total_amount_cents");
+        requireNotNull("balance_ledger", "amount_cents");
+        requireNotNull("transaction_splits", "amount_cents");
+        requireNotNull("transaction_splits", "percentage_basis_points");
+    }
+
+    /**
+     * Copy an old DOUBLE column (scaled by 100) into its fixed-point replacement
+     * and drop it.
+     *
+     * @return true if the old column existed and was migrated
+     */
+    private boolean migrateColumn(String table, String oldColumn, String newColumn, String sqlType) {
+        if (!columnExists(table, oldColumn)) {
+            return false;
+        }
+        int rows = jdbcTemplate.update("UPDATE " + table + " SET " + newColumn + " = CAST(ROUND(" + oldColumn
+                + " * 100) AS " + sqlType + ") WHERE " + newColumn + " IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + oldColumn);
+        log.info("Migrated {}.{} to {} ({} rows)", table, oldColumn, newColumn, rows);
+        return true;
+    }
+
+    /**
+     * Put the rounding difference of every transaction whose splits do not add up
+     * to the expected sum onto its largest split.
+     */
+    private void fixSplitRemainders(String splitColumn, String expectedSum) {
+        List<Map<String, Object>> mismatches = jdbcTemplate.queryForList("SELECT t.id AS tx_id, " + expectedSum
+                + " - SUM(s." + splitColumn + ") AS diff FROM transactions t "
+                + "JOIN transaction_splits s ON s.transaction_id = t.id GROUP BY t.id, t.total_amount_cents "
+                + "HAVING " + expectedSum + " <> SUM(s." + splitColumn + ")");
+        for (Map<String, Object> row : mismatches) {
+            jdbcTemplate.update("UPDATE transaction_splits SET " + splitColumn + " = " + splitColumn + " + ? "
+                    + "WHERE id = (SELECT id FROM transaction_splits WHERE transaction_id = ? ORDER BY " + splitColumn
+                    + " DESC, id LIMIT 1)", ((Number) row.get("DIFF")).longValue(),
+                    ((Number) row.get("TX_ID")).longValue());
+        }
+        if (!mismatches.isEmpty()) {
+            log.info("Corrected rounding of transaction_splits.{} for {} transactions", splitColumn,
+                    mismatches.size());
+        }
+    }
+
+    private void requireNotNull(String table, String column) {
+        if (columnExists(table, column)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " SET NOT NULL");
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = ? AND UPPER(COLUMN_NAME) = ?", Integer.class, table.toUpperCase(),
+                column.toUpperCase());
+        return count != null && count > 0;
+    }
+}
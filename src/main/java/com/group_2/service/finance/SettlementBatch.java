@@ -0,0 +1,81 @@
+package com.group_2.service.finance;
+
+import com.group_2.service.finance.SettlementPlanner.PlannedTransfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A set of settlement transfers within one WG that is recorded atomically by
+ * {@link TransactionService#executeSettlementBatch(Long, SettlementBatch)}.
+ * Every leg becomes one transaction where the payer is the creditor and the
+ * receiver the single debtor. Legs may form a chain (e.g. a credit transfer
+ * across several roommates).
+ */
+public final class SettlementBatch {
+
+    /**
+     * One transfer of the batch.
+     */
+    public record Leg(Long payerId, Long receiverId, long amountCents, String description) {
+    }
+
+    private final List<Leg> legs = new ArrayList<>();
+
+    /**
+     * Create a batch from planned transfers that share one description.
+     */
+    public static SettlementBatch of(List<PlannedTransfer> transfers, String description) {
+        SettlementBatch batch = new SettlementBatch();
+        for (PlannedTransfer transfer : transfers) {
+            batch.add(transfer.payerId(), transfer.receiverId(), transfer.amountCents(), description);
+        }
+        return batch;
+    }
+
+    /**
+     * Add a transfer to the batch.
+     *
+     * @param payerId     user who pays (becomes the creditor)
+     * @param receiverId  user who receives the money (becomes the debtor)
+     * @param amountCents transferred amount in cents, must be positive
+     * @param description description of the resulting transaction
+     * @return this batch
+     */
+    public SettlementBatch add(Long payerId, Long receiverId, long amountCents, String description) {
+        if (payerId == null || receiverId == null) {
+            throw new IllegalArgumentException("Payer and receiver are required");
+        }
+        if (payerId.equals(receiverId)) {
+            throw new IllegalArgumentException("Payer and receiver must be different users");
+        }
+        if (amountCents <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        legs.add(new Leg(payerId, receiverId, amountCents, description));
+        return this;
+    }
+
+    public List<Leg> getLegs() {
+        return Collections.unmodifiableList(legs);
+    }
+
+    public boolean isEmpty() {
+        return legs.isEmpty();
+    }
+
+    /**
+     * All users that pay or receive within the batch.
+     */
+    public Set<Long> getParticipantIds() {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Leg leg : legs) {
+            ids.add(leg.payerId());
+            ids.add(leg.receiverId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,174 @@
+package com.group_2.service.finance;
+
+import com.group_2.dto.core.CoreMapper;
+import com.group_2.dto.core.UserSummaryDTO;
+import com.group_2.dto.finance.SettlementTransferViewDTO;
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.repository.UserRepository;
+import com.group_2.service.finance.SettlementPlanner.PlannedTransfer;
+import com.group_2.util.Money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WG-wide debt simplification. Turns the pairwise balance matrix into a
+ * near-minimal set of transfers and records the whole plan atomically.
+ */
+@Service
+public class SettlementPlanService {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementPlanService.class);
+
+    private static final String PLAN_DESCRIPTION = "Settlement (simplified plan)";
+    private static final String NETTING_DESCRIPTION = "Settlement offset (no payment)";
+
+    private final TransactionService transactionService;
+    private final BalanceLedgerService balanceLedgerService;
+    private final UserRepository userRepository;
+    private final CoreMapper coreMapper;
+
+    @Autowired
+    public SettlementPlanService(TransactionService transactionService, BalanceLedgerService balanceLedgerService,
+            UserRepository userRepository, CoreMapper coreMapper) {
+        this.transactionService = transactionService;
+        this.balanceLedgerService = balanceLedgerService;
+        this.userRepository = userRepository;
+        this.coreMapper = coreMapper;
+    }
+
+    /**
+     * Compute the settlement plan for the current members of a WG.
+     */
+    public List<PlannedTransfer> planSettlement(Long wgId) {
+        if (wgId == null) {
+            return List.of();
+        }
+        return planSettlement(wgId, userRepository.findByWgId(wgId));
+    }
+
+    /**
+     * Get the settlement plan of a WG as view DTOs with nested user summaries.
+     */
+    public List<SettlementTransferViewDTO> getSettlementPlanView(Long wgId) {
+        if (wgId == null) {
+            return List.of();
+        }
+        List<User> members = userRepository.findByWgId(wgId);
+        Map<Long, UserSummaryDTO> summaries = new HashMap<>();
+        for (User member : members) {
+            summaries.put(member.getId(), coreMapper.toUserSummary(member));
+        }
+
+        List<SettlementTransferViewDTO> views = new ArrayList<>();
+        for (PlannedTransfer transfer : planSettlement(wgId, members)) {
+            views.add(new SettlementTransferViewDTO(summaries.get(transfer.payerId()),
+                    summaries.get(transfer.receiverId()), Money.toEuros(transfer.amountCents())));
+        }
+        return views;
+    }
+
+    /**
+     * Whether any two current members of a WG have an open balance. Can be true
+     * with an empty plan when the open balances cancel out in a cycle.
+     */
+    public boolean hasOpenBalances(Long wgId) {
+        if (wgId == null) {
+            return false;
+        }
+        return hasOpenPair(balanceLedgerService.getBalanceMatrix(wgId), userRepository.findByWgId(wgId));
+    }
+
+    /**
+     * Recompute the plan for the WG of the current user and record all transfers
+     * as settlement transactions in one DB transaction. The payments only settle
+     * net positions, so offsetting transfers without payment are recorded in the
+     * same batch to clear every remaining pair. Rolls back if any pair is still
+     * open afterwards.
+     *
+     * @return number of recorded payments, not counting offsetting transfers
+     */
+    @Transactional
+    public int executeSettlementPlan(Long currentUserId) {
+        User currentUser = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        WG wg = currentUser.getWg();
+        if (wg == null) {
+            throw new RuntimeException("User must be part of a WG to settle balances");
+        }
+
+        List<User> members = userRepository.findByWgId(wg.getId());
+        MemberBalances balances = memberBalances(balanceLedgerService.getBalanceMatrix(wg.getId()), members);
+        List<PlannedTransfer> plan = SettlementPlanner.plan(balances.userIds(), balances.netCents());
+        List<PlannedTransfer> netting = SettlementPlanner.netting(balances.userIds(), balances.pairCents(), plan);
+        if (plan.isEmpty() && netting.isEmpty()) {
+            return 0;
+        }
+
+        SettlementBatch batch = SettlementBatch.of(plan, PLAN_DESCRIPTION);
+        for (PlannedTransfer transfer : netting) {
+            batch.add(transfer.payerId(), transfer.receiverId(), transfer.amountCents(), NETTING_DESCRIPTION);
+        }
+        transactionService.executeSettlementBatch(currentUserId, batch);
+
+        WgBalanceMatrix after = balanceLedgerService.readBalanceMatrix(wg.getId());
+        if (hasOpenPair(after, members)) {
+            throw new IllegalStateException("Settlement plan left open balances in WG " + wg.getId());
+        }
+        log.info("Recorded settlement plan for WG {} with {} payment(s) and {} offsetting transfer(s)", wg.getId(),
+                plan.size(), netting.size());
+        return plan.size();
+    }
+
+    private List<PlannedTransfer> planSettlement(Long wgId, List<User> members) {
+        MemberBalances balances = memberBalances(balanceLedgerService.getBalanceMatrix(wgId), members);
+        return SettlementPlanner.plan(balances.userIds(), balances.netCents());
+    }
+
+    private static boolean hasOpenPair(WgBalanceMatrix matrix, List<User> members) {
+        for (User member : members) {
+            for (User other : members) {
+                if (!member.getId().equals(other.getId())
+                        && matrix.balanceCentsBetween(member.getId(), other.getId()) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pairwise and net balances of the current members, restricted to members
+     * like the balance sheet.
+     */
+    private static MemberBalances memberBalances(WgBalanceMatrix matrix, List<User> members) {
+        int n = members.size();
+        long[] userIds = new long[n];
+        for (int i = 0; i < n; i++) {
+            userIds[i] = members.get(i).getId();
+        }
+        long[][] pairCents = new long[n][n];
+        long[] netCents = new long[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (i != j) {
+                    pairCents[i][j] = matrix.balanceCentsBetween(userIds[i], userIds[j]);
+                    netCents[i] += pairCents[i][j];
+                }
+            }
+        }
+        return new MemberBalances(userIds, pairCents, netCents);
+    }
+
+    private record MemberBalances(long[] userIds, long[][] pairCents, long[] netCents) {
+    }
+}
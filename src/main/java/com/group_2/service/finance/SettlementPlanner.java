@@ -0,0 +1,187 @@
+package com.group_2.service.finance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes a near-minimal set of transfers that settles all net balances of a
+ * WG (minimum cash-flow heuristic). Repeatedly matches the largest creditor
+ * with the largest debtor using two max-heaps over primitive arrays, which
+ * yields at most {@code members - 1} transfers in O(n log n).
+ */
+public final class SettlementPlanner {
+
+    private SettlementPlanner() {
+    }
+
+    /**
+     * A planned payment: the payer transfers the amount to the receiver.
+     */
+    public record PlannedTransfer(Long payerId, Long receiverId, long amountCents) {
+    }
+
+    /**
+     * Plan the settlement transfers.
+     *
+     * @param userIds  member IDs, index-aligned with {@code netCents}
+     * @param netCents net balance per member in cents; positive = the member is
+     *                 owed money, negative = the member owes money
+     * @return transfers in planning order (largest amounts first)
+     */
+    public static List<PlannedTransfer> plan(long[] userIds, long[] netCents) {
+        if (userIds.length != netCents.length) {
+            throw new IllegalArgumentException("Number of balances must match number of users");
+        }
+        int n = netCents.length;
+        // Remaining open amount per member (always positive while in a heap)
+        long[] open = new long[n];
+        IndexMaxHeap creditors = new IndexMaxHeap(open, n);
+        IndexMaxHeap debtors = new IndexMaxHeap(open, n);
+        for (int i = 0; i < n; i++) {
+            if (netCents[i] > 0) {
+                open[i] = netCents[i];
+                creditors.push(i);
+            } else if (netCents[i] < 0) {
+                open[i] = -netCents[i];
+                debtors.push(i);
+            }
+        }
+
+        List<PlannedTransfer> transfers = new ArrayList<>();
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            int creditor = creditors.pop();
+            int debtor = debtors.pop();
+            long amount = Math.min(open[creditor], open[debtor]);
+            transfers.add(new PlannedTransfer(userIds[debtor], userIds[creditor], amount));
+
+            open[creditor] -= amount;
+            open[debtor] -= amount;
+            if (open[creditor] > 0) {
+                creditors.push(creditor);
+            }
+            if (open[debtor] > 0) {
+                debtors.push(debtor);
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * Offsetting transfers that clear the pairwise balances left over after the
+     * planned payments. The payments only settle net positions, so a member who
+     * was paid through an intermediary still has open pairs; these transfers
+     * close them. Every member pays and receives the same total, so no money
+     * changes hands.
+     *
+     * @param userIds   member IDs, index-aligned with {@code pairCents}
+     * @param pairCents pairwise balances in cents; {@code pairCents[i][j]} is
+     *                  positive if member j owes member i
+     * @param payments  the planned payments between these members
+     * @return one transfer per pair that is still open after the payments
+     */
+    public static List<PlannedTransfer> netting(long[] userIds, long[][] pairCents, List<PlannedTransfer> payments) {
+        int n = userIds.length;
+        if (pairCents.length != n) {
+            throw new IllegalArgumentException("Number of balance rows must match number of users");
+        }
+        Map<Long, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            indexById.put(userIds[i], i);
+        }
+        // Only the upper triangle is used: open[i][j] for i < j
+        long[][] open = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                open[i][j] = pairCents[i][j];
+            }
+        }
+        for (PlannedTransfer payment : payments) {
+            Integer payer = indexById.get(payment.payerId());
+            Integer receiver = indexById.get(payment.receiverId());
+            if (payer == null || receiver == null) {
+                throw new IllegalArgumentException("Payment between users outside the member list");
+            }
+            // Paying makes the receiver owe the payer the amount
+            if (payer < receiver) {
+                open[payer][receiver] += payment.amountCents();
+            } else {
+                open[receiver][payer] -= payment.amountCents();
+            }
+        }
+
+        List<PlannedTransfer> transfers = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (open[i][j] < 0) {
+                    transfers.add(new PlannedTransfer(userIds[i], userIds[j], -open[i][j]));
+                } else if (open[i][j] > 0) {
+                    transfers.add(new PlannedTransfer(userIds[j], userIds[i], open[i][j]));
+                }
+            }
+        }
+        return transfers;
+    }
+
+    /**
+     * Binary max-heap of indices ordered by a shared key array. Keys of indices
+     * inside the heap must not change; callers pop, modify and push again.
+     */
+    private static final class IndexMaxHeap {
+        private final long[] keys;
+        private final int[] heap;
+        private int size;
+
+        IndexMaxHeap(long[] keys, int capacity) {
+            this.keys = keys;
+            this.heap = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int index) {
+            int pos = size++;
+            heap[pos] = index;
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                if (keys[heap[parent]] >= keys[heap[pos]]) {
+                    break;
+                }
+                swap(pos, parent);
+                pos = parent;
+            }
+        }
+
+        int pop() {
+            int top = heap[0];
+            heap[0] = heap[--size];
+            int pos = 0;
+            while (true) {
+                int left = 2 * pos + 1;
+                if (left >= size) {
+                    break;
+                }
+                int largest = left;
+                int right = left + 1;
+                if (right < size && keys[heap[right]] > keys[heap[left]]) {
+                    largest = right;
+                }
+                if (keys[heap[pos]] >= keys[heap[largest]]) {
+                    break;
+                }
+                swap(pos, largest);
+                pos = largest;
+            }
+            return top;
+        }
+
+        private void swap(int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.group_2.service.finance;
+
+import com.group_2.dto.core.CoreMapper;
+import com.group_2.dto.core.UserSummaryDTO;
+import com.group_2.dto.finance.MemberSpendSeriesDTO;
+import com.group_2.dto.finance.SpendAggregateRow;
+import com.group_2.dto.finance.SpendTrendViewDTO;
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.finance.MonthlySpendRollup;
+import com.group_2.repository.UserRepository;
+import com.group_2.repository.WGRepository;
+import com.group_2.repository.finance.ArchivedTransactionRepository;
+import com.group_2.repository.finance.BalanceLedgerRepository;
+import com.group_2.repository.finance.MonthlySpendRollupRepository;
+import com.group_2.repository.finance.TransactionRepository;
+import com.group_2.util.Money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Monthly spending analytics backed by precomputed per-member, per-month
+ * rollups. The rollups are updated incrementally from
+ * {@link TransactionsChangedEvent}s inside the DB transaction of the change and
+ * can be rebuilt from the live and archived transactions at any time. Reading
+ * a trend only touches the rollups, so its cost depends on months × members,
+ * not on the number of transactions. Carry-forwards of compacted history are
+ * not spending and are left out; their archived originals are counted instead.
+ */
+@Service
+public class SpendAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendAnalyticsService.class);
+
+    private final MonthlySpendRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final BalanceLedgerRepository ledgerRepository;
+    private final UserRepository userRepository;
+    private final WGRepository wgRepository;
+    private final CoreMapper coreMapper;
+    private final Clock clock;
+
+    @Value("${finance.spend-rollups.populate-on-startup:true}")
+    private boolean populateOnStartup;
+
+    @Autowired
+    public SpendAnalyticsService(MonthlySpendRollupRepository rollupRepository,
+            TransactionRepository transactionRepository, ArchivedTransactionRepository archivedTransactionRepository,
+            BalanceLedgerRepository ledgerRepository, UserRepository userRepository, WGRepository wgRepository,
+            CoreMapper coreMapper, Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.userRepository = userRepository;
+        this.wgRepository = wgRepository;
+        this.coreMapper = coreMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Apply the removed and added snapshots of a change to the rollups. Runs
+     * synchronously in the publishing DB transaction, so the rollups commit or
+     * roll back together with the transactions.
+     */
+    @EventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (event.wgId() == null || (event.removed().isEmpty() && event.added().isEmpty())) {
+            return;
+        }
+        // (userId, period) -> {paid, owed, count}; sorted so concurrent writers lock
+        // the rows in the same order
+        Map<RollupKey, long[]> deltas = new TreeMap<>();
+        collect(event.removed(), -1, deltas);
+        collect(event.added(), 1, deltas);
+
+        for (Map.Entry<RollupKey, long[]> entry : deltas.entrySet()) {
+            RollupKey key = entry.getKey();
+            long[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) {
+                continue;
+            }
+            MonthlySpendRollup rollup = rollupRepository.findForUpdate(event.wgId(), key.userId(), key.period())
+                    .orElseGet(() -> new MonthlySpendRollup(event.wgId(), key.userId(), key.period()));
+            rollup.add(delta[0], delta[1], delta[2]);
+            if (rollup.isEmpty()) {
+                if (rollup.getId() != null) {
+                    rollupRepository.delete(rollup);
+                }
+            } else {
+                rollupRepository.save(rollup);
+            }
+        }
+    }
+
+    /**
+     * Recompute all rollups of a WG from the live and archived transactions.
+     *
+     * @return number of written rollups
+     */
+    @Transactional
+    public int rebuild(Long wgId) {
+        // Wait for in-flight postings of this WG
+        ledgerRepository.findByWgIdForUpdate(wgId);
+        rollupRepository.deleteByWgId(wgId);
+        rollupRepository.flush();
+
+        Map<RollupKey, long[]> totals = new TreeMap<>();
+        merge(rollupRepository.sumPaidByMonth(wgId), 0, totals);
+        merge(rollupRepository.sumArchivedPaidByMonth(wgId), 0, totals);
+        merge(rollupRepository.sumOwedByMonth(wgId), 1, totals);
+        merge(rollupRepository.sumArchivedOwedByMonth(wgId), 1, totals);
+
+        List<MonthlySpendRollup> rollups = new ArrayList<>(totals.size());
+        for (Map.Entry<RollupKey, long[]> entry : totals.entrySet()) {
+            long[] values = entry.getValue();
+            MonthlySpendRollup rollup = new MonthlySpendRollup(wgId, entry.getKey().userId(), entry.getKey().period());
+            rollup.add(values[0], values[1], values[2]);
+            rollups.add(rollup);
+        }
+        rollupRepository.saveAll(rollups);
+        log.info("Rebuilt {} spend rollup(s) for WG {}", rollups.size(), wgId);
+        return rollups.size();
+    }
+
+    /**
+     * Build the rollups of WGs that have transactions but no rollups yet, e.g.
+     * history recorded before the rollups existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void populateOnStartup() {
+        if (!populateOnStartup) {
+            return;
+        }
+        int populated = 0;
+        for (WG wg : wgRepository.findAll()) {
+            Long wgId = wg.getId();
+            if (rollupRepository.countByWgId(wgId) == 0
+                    && (transactionRepository.countByWgIdAndIdGreaterThan(wgId, 0L) > 0
+                            || archivedTransactionRepository.countByWgId(wgId) > 0)) {
+                rebuild(wgId);
+                populated++;
+            }
+        }
+        if (populated > 0) {
+            log.info("Populated spend rollups of {} WG(s)", populated);
+        }
+    }
+
+    /**
+     * Monthly spending of every member of a WG over the last months, including
+     * the current one. Members that left the WG but still have spending in the
+     * range are listed after the current members.
+     *
+     * @param wgId   WG to read
+     * @param months number of months, at least 1
+     */
+    @Transactional(readOnly = true)
+    public SpendTrendViewDTO getSpendTrend(Long wgId, int months) {
+        if (months < 1) {
+            throw new IllegalArgumentException("At least one month is required");
+        }
+        YearMonth first = YearMonth.now(clock).minusMonths(months - 1L);
+        List<YearMonth> range = new ArrayList<>(months);
+        Map<Integer, Integer> monthIndex = new HashMap<>();
+        for (int i = 0; i < months; i++) {
+            YearMonth month = first.plusMonths(i);
+            range.add(month);
+            monthIndex.put(period(month), i);
+        }
+
+        Map<Long, Series> series = new LinkedHashMap<>();
+        for (User member : userRepository.findByWgId(wgId)) {
+            series.put(member.getId(), new Series(coreMapper.toUserSummary(member), months));
+        }
+        List<Long> formerMemberIds = new ArrayList<>();
+        List<MonthlySpendRollup> rollups = rollupRepository.findByWgIdAndPeriodGreaterThanEqualOrderByPeriod(wgId,
+                period(first));
+        for (MonthlySpendRollup rollup : rollups) {
+            if (!series.containsKey(rollup.getUserId()) && !formerMemberIds.contains(rollup.getUserId())) {
+                formerMemberIds.add(rollup.getUserId());
+            }
+        }
+        for (User former : userRepository.findAllById(formerMemberIds)) {
+            series.put(former.getId(), new Series(coreMapper.toUserSummary(former), months));
+        }
+
+        for (MonthlySpendRollup rollup : rollups) {
+            Integer index = monthIndex.get(rollup.getPeriod());
+            Series member = series.get(rollup.getUserId());
+            if (index == null || member == null) {
+                continue; // Future-dated rows or deleted users
+            }
+            member.paid[index] += rollup.getPaidCents();
+            member.owed[index] += rollup.getOwedCents();
+            member.counts[index] += rollup.getTransactionCount();
+        }
+
+        List<MemberSpendSeriesDTO> members = new ArrayList<>(series.size());
+        for (Series member : series.values()) {
+            members.add(member.toDTO());
+        }
+        return new SpendTrendViewDTO(range, members);
+    }
+
+    private static void collect(List<TransactionSnapshot> snapshots, int sign, Map<RollupKey, long[]> deltas) {
+        for (TransactionSnapshot snapshot : snapshots) {
+            if (snapshot.carryForward() || snapshot.settlement() || snapshot.timestamp() == null) {
+                continue;
+            }
+            int period = period(snapshot.timestamp());
+            if (snapshot.creditorId() != null) {
+                long[] delta = deltas.computeIfAbsent(new RollupKey(snapshot.creditorId(), period), k -> new long[3]);
+                delta[0] += sign * snapshot.totalAmountCents();
+                delta[2] += sign;
+            }
+            for (TransactionSnapshot.Share share : snapshot.shares()) {
+                deltas.computeIfAbsent(new RollupKey(share.debtorId(), period), k -> new long[3])[1] += sign
+                        * share.amountCents();
+            }
+        }
+    }
+
+    // column 0 = paid (with count), 1 = owed
+    private static void merge(List<SpendAggregateRow> rows, int column, Map<RollupKey, long[]> totals) {
+        for (SpendAggregateRow row : rows) {
+            if (row.userId() == null) {
+                continue;
+            }
+            long[] values = totals.computeIfAbsent(new RollupKey(row.userId(), row.year() * 100 + row.month()),
+                    k -> new long[3]);
+            values[column] += row.amountCents() != null ? row.amountCents() : 0L;
+            if (column == 0) {
+                values[2] += row.count() != null ? row.count() : 0L;
+            }
+        }
+    }
+
+    private static int period(LocalDateTime timestamp) {
+        return timestamp.getYear() * 100 + timestamp.getMonthValue();
+    }
+
+    private static int period(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private record RollupKey(Long userId, int period) implements Comparable<RollupKey> {
+        @Override
+        public int compareTo(RollupKey other) {
+            int byUser = userId.compareTo(other.userId);
+            return byUser != 0 ? byUser : Integer.compare(period, other.period);
+        }
+    }
+
+    private static final class Series {
+        private final UserSummaryDTO member;
+        private final long[] paid;
+        private final long[] owed;
+        private final long[] counts;
+
+        Series(UserSummaryDTO member, int months) {
+            this.member = member;
+            this.paid = new long[months];
+            this.owed = new long[months];
+            this.counts = new long[months];
+        }
+
+        MemberSpendSeriesDTO toDTO() {
+            List<Double> paidEuros = new ArrayList<>(paid.length);
+            List<Double> owedEuros = new ArrayList<>(owed.length);
+            List<Long> countList = new ArrayList<>(counts.length);
+            for (int i = 0; i < paid.length; i++) {
+                paidEuros.add(Money.toEuros(paid[i]));
+                owedEuros.add(Money.toEuros(owed[i]));
+                countList.add(counts[i]);
+            }
+            return new MemberSpendSeriesDTO(member, paidEuros, owedEuros, countList);
+        }
+    }
+}
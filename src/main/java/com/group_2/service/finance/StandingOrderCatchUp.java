@@ -0,0 +1,262 @@
+package com.group_2.service.finance;
+
+import com.group_2.model.User;
+import com.group_2.model.finance.StandingOrder;
+import com.group_2.model.finance.StandingOrderDebtorShare;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.repository.UserRepository;
+import com.group_2.repository.finance.StandingOrderRepository;
+import com.group_2.util.Money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Posts every missed period of all due standing orders. Work is partitioned by
+ * WG; partitions run in parallel on a bounded executor, each in its own DB
+ * transaction holding the row locks of its orders. The transactions of a
+ * partition are written in one batched insert.
+ */
+@Component
+public class StandingOrderCatchUp {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderCatchUp.class);
+
+    /**
+     * Upper bound of periods posted per order and run, guards against runaway
+     * loops on corrupt schedules. Remaining periods are posted by the next run.
+     */
+    private static final int MAX_OCCURRENCES_PER_RUN = 500;
+
+    private static final String DESCRIPTION_SUFFIX = " (Standing Order)";
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final UserRepository userRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    // Prevents overlapping runs of the startup and the scheduled trigger
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${finance.standing-orders.parallelism:4}")
+    private int parallelism;
+
+    @Autowired
+    public StandingOrderCatchUp(StandingOrderRepository standingOrderRepository, UserRepository userRepository,
+            TransactionService transactionService, TransactionTemplate transactionTemplate, Clock clock) {
+        this.standingOrderRepository = standingOrderRepository;
+        this.userRepository = userRepository;
+        this.transactionService = transactionService;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Post all periods due up to and including the given day.
+     */
+    public StandingOrderRunReport run(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Standing order catch-up already running, skipping");
+            return StandingOrderRunReport.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            List<Long> wgIds = standingOrderRepository.findWgIdsWithDueOrders(today);
+            if (wgIds.isEmpty()) {
+                return StandingOrderRunReport.empty();
+            }
+
+            List<PartitionResult> results = new ArrayList<>();
+            ExecutorService executor = newExecutor(Math.max(1, Math.min(parallelism, wgIds.size())));
+            try {
+                List<Future<PartitionResult>> futures = new ArrayList<>();
+                for (Long wgId : wgIds) {
+                    futures.add(executor.submit(() -> processPartition(wgId, today)));
+                }
+                for (Future<PartitionResult> future : futures) {
+                    try {
+                        results.add(future.get());
+                    } catch (ExecutionException e) {
+                        log.error("Standing order partition crashed: {}", e.getCause().getMessage(), e.getCause());
+                        results.add(PartitionResult.failure());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Standing order catch-up interrupted");
+            } finally {
+                executor.shutdown();
+            }
+
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            StandingOrderRunReport report = summarize(wgIds.size(), results, duration);
+            log.info("Standing order catch-up: {} occurrences from {} orders in {} WGs ({} failed, {} skipped), "
+                    + "{} ms, {} occurrences/s, lag max {} d / avg {} d", report.occurrences(), report.orders(),
+                    report.partitions(), report.failedPartitions(), report.skippedOrders(),
+                    report.duration().toMillis(), String.format("%.1f", report.occurrencesPerSecond()),
+                    report.maxLagDays(), String.format("%.1f", report.averageLagDays()));
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private PartitionResult processPartition(Long wgId, LocalDate today) {
+        try {
+            return transactionTemplate.execute(status -> postDueOrders(wgId, today));
+        } catch (Exception e) {
+            // The partition is rolled back and retried by the next run
+            log.error("Failed to process standing orders of WG {}: {}", wgId, e.getMessage(), e);
+            return PartitionResult.failure();
+        }
+    }
+
+    private PartitionResult postDueOrders(Long wgId, LocalDate today) {
+        List<StandingOrder> orders = standingOrderRepository.findDueOrdersForUpdateByWgId(wgId, today);
+        Map<Long, User> members = new HashMap<>();
+        for (User member : userRepository.findByWgId(wgId)) {
+            members.put(member.getId(), member);
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Transaction> batch = new ArrayList<>();
+        int skipped = 0;
+        long totalLag = 0;
+        long maxLag = 0;
+        for (StandingOrder order : orders) {
+            List<User> debtors = resolveDebtors(order, members);
+            User creditor = members.get(order.getCreditor().getId());
+            if (debtors == null || creditor == null) {
+                log.warn("Skipping standing order {}: a participant is no longer a member of WG {}", order.getId(),
+                        wgId);
+                skipped++;
+                continue;
+            }
+            long[] basisPoints = new long[debtors.size()];
+            for (int i = 0; i < basisPoints.length; i++) {
+                basisPoints[i] = order.getDebtorShares().get(i).getBasisPoints();
+            }
+            long[] amounts = Money.allocate(order.getTotalAmountCents(), basisPoints);
+
+            int posted = 0;
+            while (!order.getNextExecution().isAfter(today) && posted < MAX_OCCURRENCES_PER_RUN) {
+                LocalDate occurrence = order.getNextExecution();
+                batch.add(buildTransaction(order, creditor, debtors, basisPoints, amounts, occurrence, now));
+                long lag = ChronoUnit.DAYS.between(occurrence, today);
+                totalLag += lag;
+                maxLag = Math.max(maxLag, lag);
+                order.advanceNextExecution();
+                posted++;
+            }
+        }
+
+        transactionService.recordTransactions(batch);
+        return new PartitionResult(orders.size(), skipped, batch.size(), totalLag, maxLag, false);
+    }
+
+    /**
+     * Resolve the debtors of an order, or null if one of them left the WG.
+     */
+    private List<User> resolveDebtors(StandingOrder order, Map<Long, User> members) {
+        List<User> debtors = new ArrayList<>();
+        for (StandingOrderDebtorShare share : order.getDebtorShares()) {
+            User debtor = members.get(share.getUserId());
+            if (debtor == null) {
+                return null;
+            }
+            debtors.add(debtor);
+        }
+        return debtors.isEmpty() ? null : debtors;
+    }
+
+    private Transaction buildTransaction(StandingOrder order, User creditor, List<User> debtors,
+            long[] basisPoints, long[] amounts, LocalDate occurrence, LocalDateTime now) {
+        Transaction transaction = new Transaction(creditor, order.getCreatedBy(), order.getTotalAmountCents(),
+                order.getDescription() + DESCRIPTION_SUFFIX, order.getWg());
+        // Backdate to the period the payment belongs to, never into the future
+        LocalDateTime timestamp = occurrence.atTime(12, 0);
+        transaction.setTimestamp(timestamp.isAfter(now) ? now : timestamp);
+        for (int i = 0; i < debtors.size(); i++) {
+            transaction.addSplit(new TransactionSplit(transaction, debtors.get(i), (int) basisPoints[i], amounts[i]));
+        }
+        return transaction;
+    }
+
+    private StandingOrderRunReport summarize(int partitions, List<PartitionResult> results, Duration duration) {
+        int failed = partitions - results.size();
+        int orders = 0;
+        int skipped = 0;
+        int occurrences = 0;
+        long totalLag = 0;
+        long maxLag = 0;
+        for (PartitionResult result : results) {
+            if (result.failed()) {
+                failed++;
+                continue;
+            }
+            orders += result.orders();
+            skipped += result.skippedOrders();
+            occurrences += result.occurrences();
+            totalLag += result.totalLagDays();
+            maxLag = Math.max(maxLag, result.maxLagDays());
+        }
+        double averageLag = occurrences > 0 ? (double) totalLag / occurrences : 0.0;
+        return new StandingOrderRunReport(partitions, failed, orders, skipped, occurrences, maxLag, averageLag,
+                duration);
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        ThreadFactory factory = virtualThreadFactory();
+        if (factory == null) {
+            factory = runnable -> {
+                Thread thread = new Thread(runnable, "standing-order-catch-up");
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Virtual thread factory on Java 21+, null on older runtimes. Resolved
+     * reflectively because the project targets Java 17.
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private record PartitionResult(int orders, int skippedOrders, int occurrences, long totalLagDays,
+            long maxLagDays, boolean failed) {
+
+        static PartitionResult failure() {
+            return new PartitionResult(0, 0, 0, 0, 0, true);
+        }
+    }
+}
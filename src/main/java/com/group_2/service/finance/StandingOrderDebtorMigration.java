@@ -0,0 +1,94 @@
+package com.group_2.service.finance;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group_2.util.Money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-time migration of the standing order debtor JSON column
+ * ({@code debtor_data}) into the {@code standing_order_debtors} table. The JSON
+ * column is dropped afterwards, so the migration is a no-op once it has run.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class StandingOrderDebtorMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingOrderDebtorMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public StandingOrderDebtorMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE UPPER(TABLE_NAME) = 'STANDING_ORDERS' AND UPPER(COLUMN_NAME) = 'DEBTOR_DATA'",
+                Integer.class);
+        if (count == null || count == 0) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Map<String, Object>> orders = jdbcTemplate
+                    .queryForList("SELECT id, debtor_data FROM standing_orders WHERE debtor_data IS NOT NULL");
+            int rows = 0;
+            for (Map<String, Object> order : orders) {
+                Long orderId = ((Number) order.get("ID")).longValue();
+                rows += insertShares(orderId, (String) order.get("DEBTOR_DATA"));
+            }
+            jdbcTemplate.execute("ALTER TABLE standing_orders DROP COLUMN debtor_data");
+            log.info("Migrated debtor data of {} standing orders ({} shares)", orders.size(), rows);
+        });
+    }
+
+    private int insertShares(Long orderId, String json) {
+        if (json.isEmpty()) {
+            return 0;
+        }
+        List<Map<String, Object>> entries;
+        try {
+            entries = objectMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to parse debtor data of standing order " + orderId, e);
+        }
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> userIds = new ArrayList<>();
+        List<Double> percentages = new ArrayList<>();
+        for (Map<String, Object> entry : entries) {
+            userIds.add(Long.parseLong(entry.get("userId").toString()));
+            percentages.add(Double.parseDouble(entry.get("percentage").toString()));
+        }
+        long[] basisPoints = Money.toBasisPoints(percentages, userIds.size());
+
+        jdbcTemplate.update("DELETE FROM standing_order_debtors WHERE standing_order_id = ?", orderId);
+        for (int i = 0; i < userIds.size(); i++) {
+            jdbcTemplate.update("INSERT INTO standing_order_debtors (standing_order_id, share_index, user_id, "
+                    + "basis_points) VALUES (?, ?, ?, ?)", orderId, i, userIds.get(i), basisPoints[i]);
+        }
+        return userIds.size();
+    }
+}
@@ -0,0 +1,31 @@
+package com.group_2.service.finance;
+
+import java.time.Duration;
+
+/**
+ * Metrics of one standing order catch-up run.
+ *
+ * @param partitions       WG partitions that had due orders
+ * @param failedPartitions partitions rolled back because of an error
+ * @param orders           due orders that were processed
+ * @param skippedOrders    due orders skipped because a participant left the WG
+ * @param occurrences      transactions posted (one per missed period)
+ * @param maxLagDays       largest delay between a due date and its posting
+ * @param averageLagDays   average delay between due date and posting
+ * @param duration         wall-clock time of the run
+ */
+public record StandingOrderRunReport(int partitions, int failedPartitions, int orders, int skippedOrders,
+        int occurrences, long maxLagDays, double averageLagDays, Duration duration) {
+
+    public static StandingOrderRunReport empty() {
+        return new StandingOrderRunReport(0, 0, 0, 0, 0, 0, 0.0, Duration.ZERO);
+    }
+
+    /**
+     * Posted occurrences per second of wall-clock time.
+     */
+    public double occurrencesPerSecond() {
+        long nanos = duration.toNanos();
+        return nanos > 0 ? occurrences * 1_000_000_000.0 / nanos : 0.0;
+    }
+}
@@ -1,11 +1,9 @@
 package com.group_2.service.finance;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.group_2.model.User;
 import com.group_2.model.WG;
 import com.group_2.model.finance.StandingOrder;
+import com.group_2.model.finance.StandingOrderDebtorShare;
 import com.group_2.model.finance.StandingOrderFrequency;
 import com.group_2.repository.UserRepository;
 import com.group_2.repository.finance.StandingOrderRepository;
@@ -13,21 +11,23 @@ import com.group_2.dto.finance.FinanceMapper;
 import com.group_2.dto.finance.StandingOrderDTO;
 import com.group_2.dto.finance.StandingOrderViewDTO;
 import com.group_2.repository.WGRepository;
+import com.group_2.util.Money;
 import com.group_2.util.MonthlyScheduleUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 @Service
 public class StandingOrderService {
@@ -36,20 +36,26 @@ public class StandingOrderService {
 
     private final StandingOrderRepository standingOrderRepository;
     private final TransactionService transactionService;
-    private final ObjectMapper objectMapper;
+    private final StandingOrderCatchUp standingOrderCatchUp;
     private final FinanceMapper financeMapper;
     private final UserRepository userRepository;
     private final WGRepository wgRepository;
+    private final Clock clock;
+
+    @Value("${finance.standing-orders.process-on-startup:true}")
+    private boolean processOnStartup;
 
     @Autowired
     public StandingOrderService(StandingOrderRepository standingOrderRepository, TransactionService transactionService,
-            FinanceMapper financeMapper, UserRepository userRepository, WGRepository wgRepository) {
+            StandingOrderCatchUp standingOrderCatchUp, FinanceMapper financeMapper, UserRepository userRepository,
+            WGRepository wgRepository, Clock clock) {
         this.standingOrderRepository = standingOrderRepository;
         this.transactionService = transactionService;
-        this.objectMapper = new ObjectMapper();
+        this.standingOrderCatchUp = standingOrderCatchUp;
         this.financeMapper = financeMapper;
         this.userRepository = userRepository;
         this.wgRepository = wgRepository;
+        this.clock = clock;
     }
 
     /**
@@ -61,7 +67,7 @@ public class StandingOrderService {
             Integer monthlyDay, Boolean monthlyLastDay) {
         // Calculate next execution date
         LocalDate nextExecution;
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock);
 
         if (frequency == StandingOrderFrequency.MONTHLY) {
             if (Boolean.TRUE.equals(monthlyLastDay)) {
@@ -93,18 +99,17 @@ public class StandingOrderService {
             nextExecution = startDate;
         }
 
-        // Build debtor data JSON
-        String debtorData = buildDebtorDataJson(debtorIds, percentages);
+        List<StandingOrderDebtorShare> debtorShares = buildDebtorShares(debtorIds, percentages);
 
         // Create order with monthly preferences (creator gets edit rights)
-        StandingOrder order = new StandingOrder(creditor, creator, wg, totalAmount, description, frequency,
-                nextExecution, debtorData, monthlyDay, monthlyLastDay);
+        StandingOrder order = new StandingOrder(creditor, creator, wg, Money.toCents(totalAmount), description,
+                frequency, nextExecution, debtorShares, monthlyDay, monthlyLastDay);
 
         order = standingOrderRepository.save(order);
 
         // If the order is due today or earlier, execute it immediately
         // (handles case where user creates order after 12PM scheduler has run)
-        if (!nextExecution.isAfter(LocalDate.now())) {
+        if (!nextExecution.isAfter(LocalDate.now(clock))) {
             try {
                 executeStandingOrder(order);
                 order.advanceNextExecution();
@@ -122,7 +127,6 @@ public class StandingOrderService {
      * Process all due standing orders - runs at 12:00 PM daily
      */
     @Scheduled(cron = "0 0 12 * * ?")
-    @Transactional
     public void processDueStandingOrdersScheduled() {
         processDueStandingOrders();
     }
@@ -132,32 +136,21 @@ public class StandingOrderService {
      * wasn't running for several days)
      */
     @EventListener(ApplicationReadyEvent.class)
-    @Transactional
     public void processOnStartup() {
+        if (!processOnStartup) {
+            return;
+        }
         log.info("Checking for due standing orders on startup...");
         processDueStandingOrders();
     }
 
     /**
-     * Process all standing orders that are due
+     * Process all standing orders that are due. Every missed period is posted
+     * (e.g. all weekly payments while the app was not running), grouped by WG and
+     * processed in parallel. Each WG runs in its own DB transaction.
      */
-    @Transactional
-    public void processDueStandingOrders() {
-        LocalDate today = LocalDate.now();
-        // Use pessimistic lock to prevent double-execution when scheduler runs
-        // concurrently
-        List<StandingOrder> dueOrders = standingOrderRepository.findDueOrdersForUpdate(today);
-
-        for (StandingOrder order : dueOrders) {
-            try {
-                executeStandingOrder(order);
-                order.advanceNextExecution();
-                standingOrderRepository.save(order);
-            } catch (Exception e) {
-                // Log error but continue with other orders
-                log.error("Failed to execute standing order {}: {}", order.getId(), e.getMessage());
-            }
-        }
+    public StandingOrderRunReport processDueStandingOrders() {
+        return standingOrderCatchUp.run(LocalDate.now(clock));
     }
 
     /**
@@ -165,16 +158,19 @@ public class StandingOrderService {
      */
     @Transactional
     public void executeStandingOrder(StandingOrder order) {
-        // Parse debtor data
         List<Long> debtorIds = new ArrayList<>();
         List<Double> percentages = new ArrayList<>();
-        parseDebtorData(order.getDebtorData(), debtorIds, percentages);
+        for (StandingOrderDebtorShare share : order.getDebtorShares()) {
+            debtorIds.add(share.getUserId());
+            percentages.add(Money.toPercentage(share.getBasisPoints()));
+        }
 
         // Create the transaction (createdBy is whoever created the standing order)
         String description = order.getDescription() + " (Standing Order)";
         transactionService.createTransaction(order.getCreatedBy().getId(), // creator of the transaction
                 order.getCreditor().getId(), // creditor (payer)
-                debtorIds, percentages.isEmpty() ? null : percentages, order.getTotalAmount(), description);
+                debtorIds, percentages.isEmpty() ? null : percentages, Money.toEuros(order.getTotalAmountCents()),
+                description);
     }
 
     /**
@@ -195,6 +191,13 @@ public class StandingOrderService {
         return standingOrderRepository.findByWgAndIsActiveTrue(wg);
     }
 
+    /**
+     * Get all active standing orders that bill a user as a debtor
+     */
+    public List<StandingOrder> getActiveStandingOrdersForDebtor(Long userId) {
+        return standingOrderRepository.findActiveByDebtorUserId(userId);
+    }
+
     /**
      * Get a standing order by ID
      */
@@ -233,18 +236,16 @@ public class StandingOrderService {
 
         // Update basic fields
         order.setCreditor(newCreditor);
-        order.setTotalAmount(totalAmount);
+        order.setTotalAmountCents(Money.toCents(totalAmount));
         order.setDescription(description);
         order.setFrequency(frequency);
         order.setMonthlyDay(monthlyDay);
         order.setMonthlyLastDay(monthlyLastDay != null ? monthlyLastDay : false);
 
-        // Build new debtor data JSON
-        String debtorData = buildDebtorDataJson(debtorIds, percentages);
-        order.setDebtorData(debtorData);
+        order.setDebtorShares(buildDebtorShares(debtorIds, percentages));
 
         // Recalculate next execution if frequency changed
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(clock);
         LocalDate currentNext = order.getNextExecution();
 
         // If next execution is in the past or today, recalculate based on new frequency
@@ -271,49 +272,19 @@ public class StandingOrderService {
         return standingOrderRepository.save(order);
     }
 
-    private String buildDebtorDataJson(List<Long> debtorIds, List<Double> percentages) {
-        List<Map<String, Object>> debtorList = new ArrayList<>();
-
-        boolean hasPercentages = percentages != null && !percentages.isEmpty();
-        double equalPercentage = hasPercentages ? 0 : 100.0 / debtorIds.size();
-
-        for (int i = 0; i < debtorIds.size(); i++) {
-            double pct = hasPercentages ? percentages.get(i) : equalPercentage;
-            debtorList.add(Map.of("userId", debtorIds.get(i), "percentage", pct));
-        }
-
-        try {
-            return objectMapper.writeValueAsString(debtorList);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to serialize debtor data", e);
+    private List<StandingOrderDebtorShare> buildDebtorShares(List<Long> debtorIds, List<Double> percentages) {
+        if (debtorIds == null || debtorIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one debtor is required");
         }
-    }
-
-    private void parseDebtorData(String json, List<Long> debtorIds, List<Double> percentages) {
-        if (json == null || json.isEmpty()) {
-            return;
+        if (percentages != null && !percentages.isEmpty() && percentages.size() != debtorIds.size()) {
+            throw new IllegalArgumentException("Number of percentages must match number of debtors");
         }
-
-        try {
-            List<Map<String, Object>> debtorList = objectMapper.readValue(json,
-                    new TypeReference<List<Map<String, Object>>>() {
-                    });
-
-            for (Map<String, Object> entry : debtorList) {
-                Object userIdObj = entry.get("userId");
-                Object percentageObj = entry.get("percentage");
-
-                Long userId = userIdObj instanceof Number ? ((Number) userIdObj).longValue()
-                        : Long.parseLong(userIdObj.toString());
-                Double percentage = percentageObj instanceof Number ? ((Number) percentageObj).doubleValue()
-                        : Double.parseDouble(percentageObj.toString());
-
-                debtorIds.add(userId);
-                percentages.add(percentage);
-            }
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException("Failed to parse debtor data", e);
+        long[] basisPoints = Money.toBasisPoints(percentages, debtorIds.size());
+        List<StandingOrderDebtorShare> shares = new ArrayList<>(debtorIds.size());
+        for (int i = 0; i < debtorIds.size(); i++) {
+            shares.add(new StandingOrderDebtorShare(debtorIds.get(i), (int) basisPoints[i]));
         }
+        return shares;
     }
 
     // ==================== DTO METHODS ====================
@@ -0,0 +1,274 @@
+package com.group_2.service.finance;
+
+import com.group_2.model.WG;
+import com.group_2.model.finance.ArchivedTransaction;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.repository.WGRepository;
+import com.group_2.repository.finance.ArchivedTransactionRepository;
+import com.group_2.repository.finance.BalanceLedgerRepository;
+import com.group_2.repository.finance.TransactionRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compacts old transaction history. Transactions of a WG older than the horizon
+ * are moved to the archive tables if every pair they touch is settled over that
+ * range; history behind an open balance stays live so it can still be traced.
+ * Balances are unchanged by a compaction, while the live tables only grow with
+ * recent activity and open debts.
+ */
+@Service
+public class TransactionCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionCompactionService.class);
+
+    // Transactions loaded, archived and deleted per persistence context flush
+    private static final int CHUNK_SIZE = 500;
+
+    private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final BalanceLedgerRepository ledgerRepository;
+    private final WGRepository wgRepository;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${finance.compaction.enabled:false}")
+    private boolean enabled;
+
+    @Value("${finance.compaction.horizon-months:24}")
+    private int horizonMonths;
+
+    @Autowired
+    public TransactionCompactionService(TransactionRepository transactionRepository,
+            ArchivedTransactionRepository archivedTransactionRepository, BalanceLedgerRepository ledgerRepository,
+            WGRepository wgRepository, BalanceLedgerService balanceLedgerService,
+            BalanceCheckpointService balanceCheckpointService, TransactionTemplate transactionTemplate, Clock clock) {
+        this.transactionRepository = transactionRepository;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.wgRepository = wgRepository;
+        this.balanceLedgerService = balanceLedgerService;
+        this.balanceCheckpointService = balanceCheckpointService;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Monthly job: compact every WG with transactions older than the horizon.
+     * Each WG is compacted in its own DB transaction.
+     */
+    @Scheduled(cron = "${finance.compaction.cron:0 0 4 1 * ?}")
+    public void compactScheduled() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime horizon = LocalDateTime.now(clock).minusMonths(horizonMonths);
+        int archived = 0;
+        for (Long wgId : transactionRepository.findWgIdsWithTransactionsBefore(horizon)) {
+            try {
+                Integer count = transactionTemplate.execute(status -> compactWg(wgId, horizon));
+                archived += count != null ? count : 0;
+            } catch (RuntimeException e) {
+                log.error("Failed to compact transaction history of WG {}", wgId, e);
+            }
+        }
+        log.info("Transaction compaction finished, {} transaction(s) archived", archived);
+    }
+
+    /**
+     * Archive the transactions of a WG older than the horizon that only touch
+     * settled pairs. Pairs that share a transaction form a group; a group is
+     * archived only if the net balance of every pair in it is zero over the
+     * compacted range, so balances and the remaining live history are unchanged.
+     *
+     * @return number of archived transactions
+     */
+    @Transactional
+    public int compactWg(Long wgId, LocalDateTime horizon) {
+        WG wg = wgRepository.findById(wgId).orElseThrow(() -> new RuntimeException("WG not found"));
+        // Wait for in-flight postings of this WG
+        ledgerRepository.findByWgIdForUpdate(wgId);
+
+        // First pass: net balance per pair and groups of pairs linked by a transaction
+        PairGroups groups = new PairGroups();
+        Long afterId = 0L;
+        while (true) {
+            List<Transaction> chunk = nextChunk(wgId, horizon, afterId);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            for (Transaction transaction : chunk) {
+                Long creditorId = transaction.getCreditor().getId();
+                Pair first = null;
+                for (TransactionSplit split : transaction.getSplits()) {
+                    Long debtorId = split.getDebtor().getId();
+                    if (creditorId.equals(debtorId)) {
+                        continue;
+                    }
+                    Pair pair = groups.add(creditorId, debtorId, split.getAmountCents());
+                    if (first == null) {
+                        first = pair;
+                    } else {
+                        groups.union(first, pair);
+                    }
+                }
+            }
+            entityManager.clear();
+        }
+        Set<Pair> openGroups = groups.openGroups();
+
+        // Second pass: archive and delete the transactions of settled groups
+        LocalDateTime archivedAt = LocalDateTime.now(clock);
+        int archived = 0;
+        int kept = 0;
+        afterId = 0L;
+        while (true) {
+            List<Transaction> chunk = nextChunk(wgId, horizon, afterId);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+
+            List<Transaction> compacted = new ArrayList<>(chunk.size());
+            List<ArchivedTransaction> archive = new ArrayList<>(chunk.size());
+            for (Transaction transaction : chunk) {
+                if (touchesOpenGroup(transaction, groups, openGroups)) {
+                    kept++;
+                    continue;
+                }
+                compacted.add(transaction);
+                // Carry-forwards of earlier compactions are dropped; their originals are archived already
+                if (!transaction.isCarryForward()) {
+                    archive.add(new ArchivedTransaction(transaction, archivedAt));
+                }
+            }
+            archivedTransactionRepository.saveAll(archive);
+            transactionRepository.deleteAll(compacted);
+            archived += archive.size();
+
+            // Keep the persistence context small on long histories
+            entityManager.flush();
+            entityManager.clear();
+        }
+        if (archived == 0) {
+            return 0;
+        }
+
+        // The checkpoint covered the deleted rows and the ledger holds both
+        // directions of every pair; derive both again from the remaining splits
+        balanceCheckpointService.writeCheckpoint(wgId);
+        balanceLedgerService.rebuildLedger(wgId);
+
+        log.info("Compacted WG {} ({}): archived {} transaction(s), kept {} with open balances", wgId, wg.getName(),
+                archived, kept);
+        return archived;
+    }
+
+    private List<Transaction> nextChunk(Long wgId, LocalDateTime horizon, Long afterId) {
+        List<Long> ids = transactionRepository.findIdsBefore(wgId, horizon, afterId, PageRequest.of(0, CHUNK_SIZE));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Transaction> chunk = new ArrayList<>(transactionRepository.findAllWithSplitsByIdIn(ids));
+        chunk.sort(Comparator.comparing(Transaction::getId));
+        return chunk;
+    }
+
+    private static boolean touchesOpenGroup(Transaction transaction, PairGroups groups, Set<Pair> openGroups) {
+        Long creditorId = transaction.getCreditor().getId();
+        for (TransactionSplit split : transaction.getSplits()) {
+            Long debtorId = split.getDebtor().getId();
+            if (!creditorId.equals(debtorId) && openGroups.contains(groups.find(Pair.of(creditorId, debtorId)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unordered pair of users.
+     */
+    private record Pair(Long lowId, Long highId) {
+        static Pair of(Long a, Long b) {
+            return a < b ? new Pair(a, b) : new Pair(b, a);
+        }
+    }
+
+    /**
+     * Union-find over pairs with the net balance of every pair. The net is
+     * positive if the higher ID owes the lower one.
+     */
+    private static final class PairGroups {
+        private final Map<Pair, Long> netCents = new HashMap<>();
+        private final Map<Pair, Pair> parent = new HashMap<>();
+
+        Pair add(Long creditorId, Long debtorId, long cents) {
+            Pair pair = Pair.of(creditorId, debtorId);
+            netCents.merge(pair, creditorId.equals(pair.lowId()) ? cents : -cents, Long::sum);
+            parent.putIfAbsent(pair, pair);
+            return pair;
+        }
+
+        Pair find(Pair pair) {
+            Pair root = pair;
+            while (!parent.getOrDefault(root, root).equals(root)) {
+                root = parent.get(root);
+            }
+            // Path compression
+            while (!pair.equals(root)) {
+                Pair next = parent.get(pair);
+                parent.put(pair, root);
+                pair = next;
+            }
+            return root;
+        }
+
+        void union(Pair a, Pair b) {
+            Pair rootA = find(a);
+            Pair rootB = find(b);
+            if (!rootA.equals(rootB)) {
+                parent.put(rootB, rootA);
+            }
+        }
+
+        /**
+         * Roots of all groups that contain at least one pair with an open balance.
+         */
+        Set<Pair> openGroups() {
+            Set<Pair> open = new HashSet<>();
+            for (Map.Entry<Pair, Long> e : netCents.entrySet()) {
+                if (e.getValue() != 0) {
+                    open.add(find(e.getKey()));
+                }
+            }
+            return open;
+        }
+    }
+}
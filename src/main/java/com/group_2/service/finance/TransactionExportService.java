@@ -0,0 +1,225 @@
+package com.group_2.service.finance;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.group_2.dto.finance.TransactionExportResult;
+import com.group_2.dto.finance.TransactionExportRow;
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.model.User;
+import com.group_2.repository.UserRepository;
+import com.group_2.repository.finance.TransactionRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the transaction history of a user to CSV or JSON. Rows are streamed
+ * from a database cursor and written straight to the file, so memory use does
+ * not depend on the size of the history.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionExportService.class);
+
+    // Rows fetched per cursor round trip
+    private static final int FETCH_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "transaction_id;timestamp;description;total_amount;creditor;debtor;"
+            + "percentage;amount";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    /**
+     * Supported export file formats.
+     */
+    public enum ExportFormat {
+        /** One line per split, transaction columns repeated. */
+        CSV,
+        /** Array of transactions with nested splits. */
+        JSON
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Autowired
+    public TransactionExportService(TransactionRepository transactionRepository, UserRepository userRepository) {
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Export the history of a user (as creditor or debtor), newest first.
+     *
+     * @param userId user whose history is exported
+     * @param filter optional filter criteria (null = whole history)
+     * @param target file to write, replaced if it exists
+     * @param format output format
+     * @param gzip   whether to GZIP-compress the output
+     * @return number of exported transactions and splits
+     */
+    @Transactional(readOnly = true)
+    public TransactionExportResult exportHistory(Long userId, TransactionHistoryFilter filter, Path target,
+            ExportFormat format, boolean gzip) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getWg() == null) {
+            throw new RuntimeException("User is not a member of a WG");
+        }
+        Long wgId = user.getWg().getId();
+
+        Map<Long, String> names = new HashMap<>();
+        for (User member : userRepository.findByWgId(wgId)) {
+            names.put(member.getId(), displayName(member));
+        }
+
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamExportRows(wgId, userId, filter,
+                FETCH_SIZE); OutputStream out = open(target, gzip)) {
+            Counts counts = format == ExportFormat.JSON
+                    ? writeJson(rows.iterator(), out, names)
+                    : writeCsv(rows.iterator(), out, names);
+            log.info("Exported {} transactions ({} splits) of user {} to {}", counts.transactions, counts.splits,
+                    userId, target);
+            return new TransactionExportResult(target, counts.transactions, counts.splits);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export file " + target, e);
+        }
+    }
+
+    private OutputStream open(Path target, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        return gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+
+    private Counts writeCsv(Iterator<TransactionExportRow> rows, OutputStream out, Map<Long, String> names)
+            throws IOException {
+        Counts counts = new Counts();
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        Long currentId = null;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            if (!row.transactionId().equals(currentId)) {
+                currentId = row.transactionId();
+                counts.transactions++;
+            }
+            counts.splits++;
+            writer.write(row.transactionId().toString());
+            writer.write(';');
+            writer.write(row.timestamp().format(TIMESTAMP_FORMAT));
+            writer.write(';');
+            writer.write(csvField(row.description()));
+            writer.write(';');
+            writer.write(BigDecimal.valueOf(row.totalAmountCents(), 2).toPlainString());
+            writer.write(';');
+            writer.write(csvField(nameOf(row.creditorId(), names)));
+            writer.write(';');
+            writer.write(csvField(nameOf(row.debtorId(), names)));
+            writer.write(';');
+            writer.write(BigDecimal.valueOf(row.percentageBasisPoints(), 2).toPlainString());
+            writer.write(';');
+            writer.write(BigDecimal.valueOf(row.amountCents(), 2).toPlainString());
+            writer.write('\n');
+        }
+        writer.flush();
+        return counts;
+    }
+
+    private Counts writeJson(Iterator<TransactionExportRow> rows, OutputStream out, Map<Long, String> names)
+            throws IOException {
+        Counts counts = new Counts();
+        JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        json.writeStartArray();
+        Long currentId = null;
+        while (rows.hasNext()) {
+            TransactionExportRow row = rows.next();
+            if (!row.transactionId().equals(currentId)) {
+                if (currentId != null) {
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                currentId = row.transactionId();
+                counts.transactions++;
+                json.writeStartObject();
+                json.writeNumberField("id", row.transactionId());
+                json.writeStringField("timestamp", row.timestamp().format(TIMESTAMP_FORMAT));
+                json.writeStringField("description", row.description());
+                json.writeNumberField("totalAmount", BigDecimal.valueOf(row.totalAmountCents(), 2));
+                json.writeStringField("creditor", nameOf(row.creditorId(), names));
+                json.writeArrayFieldStart("splits");
+            }
+            counts.splits++;
+            json.writeStartObject();
+            json.writeStringField("debtor", nameOf(row.debtorId(), names));
+            json.writeNumberField("percentage", BigDecimal.valueOf(row.percentageBasisPoints(), 2));
+            json.writeNumberField("amount", BigDecimal.valueOf(row.amountCents(), 2));
+            json.writeEndObject();
+        }
+        if (currentId != null) {
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.flush();
+        return counts;
+    }
+
+    // Former members are not in the preloaded map, look them up once
+    private String nameOf(Long userId, Map<Long, String> names) {
+        if (userId == null) {
+            return "";
+        }
+        return names.computeIfAbsent(userId,
+                id -> userRepository.findById(id).map(TransactionExportService::displayName).orElse("Unknown"));
+    }
+
+    private static String displayName(User user) {
+        if (user.getSurname() == null || user.getSurname().isBlank()) {
+            return user.getName();
+        }
+        return user.getName() + " " + user.getSurname();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static final class Counts {
+        private long transactions;
+        private long splits;
+    }
+}
@@ -0,0 +1,305 @@
+package com.group_2.service.finance;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming readers for the transaction import. Both formats mirror the
+ * history export: CSV with one line per split (grouped by the transaction_id
+ * column) and JSON as an array of transactions with nested splits. Only one
+ * transaction is held in memory at a time.
+ */
+final class TransactionImportParser {
+
+    private TransactionImportParser() {
+    }
+
+    /**
+     * One parsed transaction, not yet validated.
+     *
+     * @param line        line (CSV) or position (JSON) of the transaction, for
+     *                    error messages
+     * @param timestamp   raw timestamp text
+     * @param description description, may be null
+     * @param totalAmount total in euros, null if missing
+     * @param creditor    creditor name or email
+     * @param splits      splits of the transaction
+     */
+    record ParsedTransaction(long line, String timestamp, String description, BigDecimal totalAmount,
+            String creditor, List<ParsedSplit> splits) {
+    }
+
+    /**
+     * One parsed split; percentage may be null.
+     */
+    record ParsedSplit(String debtor, BigDecimal percentage, BigDecimal amount) {
+    }
+
+    /**
+     * Iterator over parsed transactions that owns the underlying input.
+     */
+    interface TransactionReader extends Iterator<ParsedTransaction>, Closeable {
+    }
+
+    static TransactionReader csv(Reader input) {
+        return new CsvTransactionReader(input);
+    }
+
+    static TransactionReader json(Reader input, ObjectMapper objectMapper) throws IOException {
+        return new JsonTransactionReader(input, objectMapper);
+    }
+
+    /**
+     * Parses a BigDecimal, null for blank input.
+     */
+    static BigDecimal decimal(String value, long line, String column) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + line + ": invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static final class CsvTransactionReader implements TransactionReader {
+        private static final char SEPARATOR = ';';
+        private static final String[] HEADER = { "transaction_id", "timestamp", "description", "total_amount",
+                "creditor", "debtor", "percentage", "amount" };
+
+        private final Reader input;
+        private long line = 1;
+        private List<String> pendingRecord;
+        private long pendingLine;
+        private boolean headerRead;
+
+        CsvTransactionReader(Reader input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return pendingRecord != null;
+        }
+
+        @Override
+        public ParsedTransaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<String> first = pendingRecord;
+            long firstLine = pendingLine;
+            String key = field(first, 0);
+
+            List<ParsedSplit> splits = new ArrayList<>();
+            splits.add(split(first, firstLine));
+            pendingRecord = null;
+            // Following lines with the same transaction_id are further splits
+            while (true) {
+                fill();
+                if (pendingRecord == null || !field(pendingRecord, 0).equals(key)) {
+                    break;
+                }
+                splits.add(split(pendingRecord, pendingLine));
+                pendingRecord = null;
+            }
+            return new ParsedTransaction(firstLine, field(first, 1), emptyToNull(field(first, 2)),
+                    decimal(field(first, 3), firstLine, "total_amount"), field(first, 4), splits);
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+
+        private ParsedSplit split(List<String> record, long recordLine) {
+            return new ParsedSplit(field(record, 5), decimal(field(record, 6), recordLine, "percentage"),
+                    decimal(field(record, 7), recordLine, "amount"));
+        }
+
+        private void fill() {
+            if (pendingRecord != null) {
+                return;
+            }
+            try {
+                if (!headerRead) {
+                    headerRead = true;
+                    List<String> header = readRecord();
+                    if (header == null) {
+                        return;
+                    }
+                    if (header.size() < HEADER.length || !HEADER[0].equalsIgnoreCase(header.get(0).trim())) {
+                        throw new IllegalArgumentException("Line 1: expected header " + String.join(";", HEADER));
+                    }
+                }
+                List<String> record;
+                do {
+                    pendingLine = line;
+                    record = readRecord();
+                } while (record != null && record.size() == 1 && record.get(0).isBlank());
+                if (record != null && record.size() < HEADER.length) {
+                    throw new IllegalArgumentException("Line " + pendingLine + ": expected " + HEADER.length
+                            + " columns but found " + record.size());
+                }
+                pendingRecord = record;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Read one record; quoted fields may contain separators, quotes ("") and
+         * line breaks. Returns null at the end of the input.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = input.read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>(HEADER.length);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c >= 0) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        int next = input.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (ch == '\n') {
+                            line++;
+                        }
+                        field.append(ch);
+                    }
+                } else if (ch == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (ch == SEPARATOR) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    line++;
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+                c = input.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private static String field(List<String> record, int index) {
+            return record.get(index).trim();
+        }
+
+        private static String emptyToNull(String value) {
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    private static final class JsonTransactionReader implements TransactionReader {
+        private final JsonParser parser;
+        private final ObjectReader transactionReader;
+        private long position;
+        private JsonTransaction pending;
+        private boolean finished;
+
+        JsonTransactionReader(Reader input, ObjectMapper objectMapper) throws IOException {
+            this.parser = objectMapper.getFactory().createParser(input);
+            // Exported files carry extra fields (e.g. the original id)
+            this.transactionReader = objectMapper.readerFor(JsonTransaction.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            JsonToken first;
+            try {
+                first = parser.nextToken();
+            } catch (JsonProcessingException e) {
+                throw invalid(e);
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Line 1: expected a JSON array of transactions");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending == null && !finished) {
+                try {
+                    if (parser.nextToken() == JsonToken.START_OBJECT) {
+                        // Binds a single array element; the rest of the input is not read
+                        pending = transactionReader.readValue(parser);
+                        position++;
+                    } else {
+                        finished = true;
+                    }
+                } catch (JsonProcessingException e) {
+                    // The parser cannot resync after a syntax or type error
+                    finished = true;
+                    throw invalid(e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return pending != null;
+        }
+
+        @Override
+        public ParsedTransaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JsonTransaction transaction = pending;
+            pending = null;
+            List<ParsedSplit> splits = new ArrayList<>();
+            if (transaction.splits() != null) {
+                for (JsonSplit split : transaction.splits()) {
+                    splits.add(new ParsedSplit(split.debtor(), split.percentage(), split.amount()));
+                }
+            }
+            return new ParsedTransaction(position, transaction.timestamp(), transaction.description(),
+                    transaction.totalAmount(), transaction.creditor(), splits);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        /**
+         * Malformed JSON or a value of the wrong type, reported like a CSV error.
+         */
+        private IllegalArgumentException invalid(JsonProcessingException e) {
+            JsonLocation location = e.getLocation() != null ? e.getLocation() : parser.currentLocation();
+            return new IllegalArgumentException("Line " + location.getLineNr() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private record JsonTransaction(String timestamp, String description, BigDecimal totalAmount, String creditor,
+            List<JsonSplit> splits) {
+    }
+
+    private record JsonSplit(String debtor, BigDecimal percentage, BigDecimal amount) {
+    }
+}
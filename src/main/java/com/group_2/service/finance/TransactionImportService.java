@@ -0,0 +1,323 @@
+package com.group_2.service.finance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group_2.dto.finance.TransactionImportResult;
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.repository.UserRepository;
+import com.group_2.service.finance.TransactionImportParser.ParsedSplit;
+import com.group_2.service.finance.TransactionImportParser.ParsedTransaction;
+import com.group_2.service.finance.TransactionImportParser.TransactionReader;
+import com.group_2.util.Money;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports historical expenses from CSV or JSON files in the history export
+ * format. The file is streamed twice: a validation pass that resolves all
+ * users through an in-memory name/email map and collects every error, then a
+ * write pass that persists the transactions in chunks through the batched
+ * {@link TransactionService#recordTransactions(List)} path. Nothing is written
+ * if any row is invalid.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    // Transactions per batched write; the persistence context is cleared after each
+    private static final int CHUNK_SIZE = 1000;
+    // Errors reported at most; validation stops after that
+    private static final int MAX_ERRORS = 50;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Supported import file formats.
+     */
+    public enum ImportFormat {
+        CSV, JSON
+    }
+
+    private final TransactionService transactionService;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public TransactionImportService(TransactionService transactionService, UserRepository userRepository,
+            ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Import a file into the WG of the importing user. The format is derived
+     * from the file name (.csv or .json, optionally followed by .gz).
+     */
+    @Transactional
+    public TransactionImportResult importFile(Long importerId, Path source) {
+        String name = source.getFileName().toString().toLowerCase(Locale.ROOT);
+        String base = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+        ImportFormat format = base.endsWith(".json") ? ImportFormat.JSON : ImportFormat.CSV;
+        return importFile(importerId, source, format, name.endsWith(".gz"));
+    }
+
+    /**
+     * Import a file into the WG of the importing user, who becomes the creator of
+     * all imported transactions.
+     *
+     * @return imported counts, or the validation errors if nothing was imported
+     */
+    @Transactional
+    public TransactionImportResult importFile(Long importerId, Path source, ImportFormat format, boolean gzip) {
+        long start = System.nanoTime();
+        User importer = userRepository.findById(importerId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        WG wg = importer.getWg();
+        if (wg == null) {
+            throw new RuntimeException("User is not a member of a WG");
+        }
+        UserDirectory users = new UserDirectory(userRepository.findByWgId(wg.getId()));
+
+        // Pass 1: validate everything before the first write
+        List<String> errors = new ArrayList<>();
+        try (TransactionReader reader = open(source, format, gzip)) {
+            while (reader.hasNext() && errors.size() < MAX_ERRORS) {
+                try {
+                    validate(reader.next(), users);
+                } catch (IllegalArgumentException e) {
+                    errors.add(e.getMessage());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            errors.add(e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file " + source, e);
+        }
+        if (!errors.isEmpty()) {
+            return TransactionImportResult.failed(errors);
+        }
+
+        // Pass 2: build and write in batched chunks
+        long transactions = 0;
+        long splits = 0;
+        try (TransactionReader reader = open(source, format, gzip)) {
+            List<Transaction> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (reader.hasNext()) {
+                Transaction transaction = build(validate(reader.next(), users), importer, wg);
+                chunk.add(transaction);
+                splits += transaction.getSplits().size();
+                if (chunk.size() == CHUNK_SIZE) {
+                    transactions += write(chunk);
+                }
+            }
+            transactions += write(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file " + source, e);
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        TransactionImportResult result = new TransactionImportResult(transactions, splits, duration, List.of());
+        log.info("Imported {} transactions ({} splits) into WG {} in {} ms ({} splits/s)", transactions, splits,
+                wg.getId(), duration.toMillis(), Math.round(result.splitsPerSecond()));
+        return result;
+    }
+
+    private TransactionReader open(Path source, ImportFormat format, boolean gzip) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE);
+        if (gzip) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return format == ImportFormat.JSON ? TransactionImportParser.json(reader, objectMapper)
+                : TransactionImportParser.csv(reader);
+    }
+
+    private int write(List<Transaction> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int size = chunk.size();
+        transactionService.recordTransactions(chunk);
+        // Members stay usable as detached references for the next chunk
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+        return size;
+    }
+
+    /**
+     * Validate one parsed transaction and convert it to cents and basis points.
+     *
+     * @throws IllegalArgumentException with the line number if it is invalid
+     */
+    private ValidTransaction validate(ParsedTransaction parsed, UserDirectory users) {
+        String at = "Line " + parsed.line() + ": ";
+        LocalDateTime timestamp = parseTimestamp(parsed.timestamp(), at);
+        if (parsed.description() != null && parsed.description().length() > 500) {
+            throw new IllegalArgumentException(at + "description is longer than 500 characters");
+        }
+        long totalCents = toCents(parsed.totalAmount(), at + "total amount");
+        if (totalCents <= 0) {
+            throw new IllegalArgumentException(at + "total amount must be positive");
+        }
+        User creditor = users.resolve(parsed.creditor(), at);
+        if (parsed.splits().isEmpty()) {
+            throw new IllegalArgumentException(at + "at least one debtor is required");
+        }
+
+        int count = parsed.splits().size();
+        User[] debtors = new User[count];
+        long[] amounts = new long[count];
+        long[] basisPoints = new long[count];
+        long amountSum = 0;
+        long basisPointSum = 0;
+        boolean allPercentages = true;
+        for (int i = 0; i < count; i++) {
+            ParsedSplit split = parsed.splits().get(i);
+            debtors[i] = users.resolve(split.debtor(), at);
+            amounts[i] = toCents(split.amount(), at + "split amount");
+            if (amounts[i] < 0) {
+                throw new IllegalArgumentException(at + "split amounts must not be negative");
+            }
+            amountSum += amounts[i];
+            if (split.percentage() == null) {
+                allPercentages = false;
+            } else {
+                // Rounded; percentages only count if they sum to exactly 100%
+                basisPoints[i] = split.percentage().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+                basisPointSum += basisPoints[i];
+            }
+        }
+        if (amountSum != totalCents) {
+            throw new IllegalArgumentException(at + "split amounts sum to " + Money.toEuros(amountSum)
+                    + " but the total is " + Money.toEuros(totalCents));
+        }
+        if (!allPercentages || basisPointSum != Money.FULL_SHARE_BASIS_POINTS) {
+            // Derive exact shares from the amounts
+            basisPoints = Money.allocate(Money.FULL_SHARE_BASIS_POINTS, amounts);
+        }
+        return new ValidTransaction(timestamp, parsed.description(), totalCents, creditor, debtors, basisPoints,
+                amounts);
+    }
+
+    private static Transaction build(ValidTransaction valid, User importer, WG wg) {
+        Transaction transaction = new Transaction(valid.creditor(), importer, valid.totalCents(), valid.description(),
+                wg);
+        transaction.setTimestamp(valid.timestamp());
+        for (int i = 0; i < valid.debtors().length; i++) {
+            transaction.addSplit(new TransactionSplit(transaction, valid.debtors()[i], (int) valid.basisPoints()[i],
+                    valid.amounts()[i]));
+        }
+        return transaction;
+    }
+
+    private static LocalDateTime parseTimestamp(String value, String at) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(at + "timestamp is required");
+        }
+        try {
+            if (value.length() == 10) {
+                // Date only, book at noon like standing orders
+                return LocalDate.parse(value).atTime(12, 0);
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(at + "invalid timestamp '" + value + "'");
+        }
+    }
+
+    /**
+     * Convert a euro amount with at most two fraction digits to cents.
+     */
+    private static long toCents(BigDecimal value, String what) {
+        if (value == null) {
+            throw new IllegalArgumentException(what + " is required");
+        }
+        try {
+            return value.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(what + " must have at most two decimal places: " + value);
+        }
+    }
+
+    private record ValidTransaction(LocalDateTime timestamp, String description, long totalCents, User creditor,
+            User[] debtors, long[] basisPoints, long[] amounts) {
+    }
+
+    /**
+     * WG members by lower-case email and display name, built once per import.
+     * Display names shared by several members are ambiguous and rejected.
+     */
+    private static final class UserDirectory {
+        private final Map<String, User> byKey = new HashMap<>();
+        private final Map<String, Boolean> ambiguous = new HashMap<>();
+
+        UserDirectory(List<User> members) {
+            for (User member : members) {
+                if (member.getEmail() != null) {
+                    byKey.put(member.getEmail().trim().toLowerCase(Locale.ROOT), member);
+                }
+                String displayName = displayName(member).toLowerCase(Locale.ROOT);
+                if (byKey.putIfAbsent(displayName, member) != null && byKey.get(displayName) != member) {
+                    ambiguous.put(displayName, Boolean.TRUE);
+                }
+            }
+        }
+
+        User resolve(String nameOrEmail, String at) {
+            if (nameOrEmail == null || nameOrEmail.isBlank()) {
+                throw new IllegalArgumentException(at + "user name or email is missing");
+            }
+            String key = nameOrEmail.trim().toLowerCase(Locale.ROOT);
+            if (ambiguous.containsKey(key)) {
+                throw new IllegalArgumentException(at + "'" + nameOrEmail + "' matches several members, use the email");
+            }
+            User user = byKey.get(key);
+            if (user == null) {
+                throw new IllegalArgumentException(at + "'" + nameOrEmail + "' is not a member of the WG");
+            }
+            return user;
+        }
+
+        private static String displayName(User user) {
+            if (user.getSurname() == null || user.getSurname().isBlank()) {
+                return user.getName().trim();
+            }
+            return user.getName().trim() + " " + user.getSurname().trim();
+        }
+    }
+}
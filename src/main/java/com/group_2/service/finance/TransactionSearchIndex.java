@@ -0,0 +1,332 @@
+package com.group_2.service.finance;
+
+import com.group_2.dto.finance.TransactionSearchEntry;
+import com.group_2.repository.finance.TransactionRepository;
+import com.group_2.util.SearchTokens;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over the descriptions of the live transactions of
+ * each WG. Matching follows {@link SearchTokens}: a query matches a
+ * transaction if every query token is a token or a token prefix of its
+ * description. Hits are ranked by exact token matches first, then newest
+ * first.
+ * <p>
+ * The index of a WG is built on its first search and kept for at most
+ * {@code maxWgs} WGs, least recently used first out. After commit, every
+ * {@link TransactionsChangedEvent} is applied incrementally from its snapshots;
+ * events without snapshots (e.g. after a compaction) drop the WG index, which is
+ * then rebuilt on the next search.
+ */
+@Component
+public class TransactionSearchIndex {
+
+    // Score of a query token that equals a description token; prefixes score 1
+    private static final int EXACT_MATCH_SCORE = 2;
+
+    private final TransactionRepository transactionRepository;
+    private final int maxWgs;
+
+    // Access-ordered, so the eldest entry is the least recently used
+    private final LinkedHashMap<Long, WgIndex> indexes = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Bumped on every change; builds that raced with one are not stored
+    private long generation;
+
+    @Autowired
+    public TransactionSearchIndex(TransactionRepository transactionRepository,
+            @Value("${finance.search-index.max-wgs:32}") int maxWgs) {
+        if (maxWgs <= 0) {
+            throw new IllegalArgumentException("Search index size must be positive");
+        }
+        this.transactionRepository = transactionRepository;
+        this.maxWgs = maxWgs;
+    }
+
+    /**
+     * Search the descriptions of the live transactions of a WG.
+     *
+     * @param wgId  WG to search
+     * @param query free text; blank queries match nothing
+     * @return matching transaction ids, best match first
+     */
+    public List<Long> search(Long wgId, String query) {
+        String[] tokens = tokenize(query).toArray(new String[0]);
+        if (tokens.length == 0) {
+            return List.of();
+        }
+        return index(wgId).search(tokens);
+    }
+
+    /**
+     * Apply a change after the changing DB transaction committed, or immediately
+     * if the event was published outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        WgIndex index;
+        synchronized (this) {
+            generation++;
+            if (event.wgId() == null) {
+                indexes.clear();
+                return;
+            }
+            if (event.removed().isEmpty() && event.added().isEmpty()) {
+                indexes.remove(event.wgId());
+                return;
+            }
+            index = indexes.get(event.wgId());
+        }
+        if (index == null) {
+            return; // Not built yet, the next search loads the committed state
+        }
+        for (TransactionSnapshot removed : event.removed()) {
+            index.remove(removed.id());
+        }
+        for (TransactionSnapshot added : event.added()) {
+            index.add(added.id(), added.description());
+        }
+    }
+
+    /**
+     * Drop all indexes.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        indexes.clear();
+    }
+
+    private WgIndex index(Long wgId) {
+        long buildGeneration;
+        synchronized (this) {
+            WgIndex index = indexes.get(wgId);
+            if (index != null) {
+                return index;
+            }
+            buildGeneration = generation;
+        }
+
+        // Build outside the lock so a large WG does not block the others
+        WgIndex index = new WgIndex();
+        for (TransactionSearchEntry entry : transactionRepository.findSearchEntriesByWgId(wgId)) {
+            index.add(entry.id(), entry.description());
+        }
+
+        synchronized (this) {
+            if (generation == buildGeneration) {
+                indexes.put(wgId, index);
+                while (indexes.size() > maxWgs) {
+                    indexes.remove(indexes.keySet().iterator().next());
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Split text into distinct lower-case tokens of letters and digits.
+     */
+    static Set<String> tokenize(String text) {
+        return SearchTokens.tokenize(text);
+    }
+
+    /**
+     * Index of one WG: token -> sorted posting list of transaction ids.
+     */
+    private static final class WgIndex {
+        private final TreeMap<String, PostingList> postings = new TreeMap<>();
+        private final Map<Long, String[]> tokensById = new HashMap<>();
+
+        synchronized void add(Long id, String description) {
+            if (id == null) {
+                return;
+            }
+            remove(id);
+            String[] tokens = tokenize(description).toArray(new String[0]);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new PostingList()).add(id);
+            }
+            tokensById.put(id, tokens);
+        }
+
+        synchronized void remove(Long id) {
+            String[] tokens = tokensById.remove(id);
+            if (tokens == null) {
+                return;
+            }
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(token);
+                }
+            }
+        }
+
+        synchronized List<Long> search(String[] queryTokens) {
+            // Posting lists of every query token (exact or prefix), intersected
+            // starting with the rarest token
+            Hits[] perToken = new Hits[queryTokens.length];
+            for (int i = 0; i < queryTokens.length; i++) {
+                perToken[i] = matches(queryTokens[i]);
+                if (perToken[i].size == 0) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(perToken, (a, b) -> Integer.compare(a.size, b.size));
+            Hits result = perToken[0];
+            for (int i = 1; i < perToken.length && result.size > 0; i++) {
+                result = result.intersect(perToken[i]);
+            }
+            return result.ranked();
+        }
+
+        private Hits matches(String queryToken) {
+            Map<String, PostingList> prefixed = postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE,
+                    false);
+            if (prefixed.size() == 1 && prefixed.containsKey(queryToken)) {
+                return Hits.of(prefixed.get(queryToken), EXACT_MATCH_SCORE);
+            }
+            Hits hits = new Hits(0);
+            for (Map.Entry<String, PostingList> entry : prefixed.entrySet()) {
+                int score = entry.getKey().equals(queryToken) ? EXACT_MATCH_SCORE : 1;
+                hits = hits.union(Hits.of(entry.getValue(), score));
+            }
+            return hits;
+        }
+    }
+
+    /**
+     * Ascending array of transaction ids. New transactions have the highest ids,
+     * so adds are appends in the common case.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+
+    /**
+     * Ascending transaction ids with a relevance score per id.
+     */
+    private static final class Hits {
+        private final long[] ids;
+        private final int[] scores;
+        private int size;
+
+        Hits(int capacity) {
+            this.ids = new long[capacity];
+            this.scores = new int[capacity];
+        }
+
+        static Hits of(PostingList list, int score) {
+            Hits hits = new Hits(list.size);
+            System.arraycopy(list.ids, 0, hits.ids, 0, list.size);
+            Arrays.fill(hits.scores, 0, list.size, score);
+            hits.size = list.size;
+            return hits;
+        }
+
+        /**
+         * Ids in both, scores summed.
+         */
+        Hits intersect(Hits other) {
+            Hits result = new Hits(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    result.append(ids[i], scores[i] + other.scores[j]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Ids in either, keeping the higher score.
+         */
+        Hits union(Hits other) {
+            Hits result = new Hits(size + other.size);
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+                    result.append(ids[i], scores[i]);
+                    i++;
+                } else if (i == size || ids[i] > other.ids[j]) {
+                    result.append(other.ids[j], other.scores[j]);
+                    j++;
+                } else {
+                    result.append(ids[i], Math.max(scores[i], other.scores[j]));
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+
+        private void append(long id, int score) {
+            ids[size] = id;
+            scores[size] = score;
+            size++;
+        }
+
+        /**
+         * Ids by score descending, then newest (highest id) first.
+         */
+        List<Long> ranked() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b] ? Integer.compare(scores[b], scores[a])
+                    : Long.compare(ids[b], ids[a]));
+            List<Long> ranked = new ArrayList<>(size);
+            for (Integer index : order) {
+                ranked.add(ids[index]);
+            }
+            return ranked;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.group_2.service.finance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Moves the transaction ID sequences past the IDs that were generated while
+ * the tables still used IDENTITY columns. Hibernate creates the sequences
+ * starting at 1, which would collide with existing rows.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TransactionSequenceMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSequenceMigration.class);
+
+    // Must match the allocationSize of the entity sequence generators
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TransactionSequenceMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        alignSequence("transactions", "transactions_seq");
+        alignSequence("transaction_splits", "transaction_splits_seq");
+    }
+
+    private void alignSequence(String table, String sequence) {
+        List<Long> baseValues = jdbcTemplate.queryForList("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE UPPER(SEQUENCE_NAME) = ?", Long.class, sequence.toUpperCase());
+        if (baseValues.isEmpty()) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long max = maxId != null ? maxId : 0L;
+
+        // The pooled optimizer hands out the block ending at the fetched value
+        long nextBlockStart = baseValues.get(0) - ALLOCATION_SIZE + 1;
+        if (max > 0 && nextBlockStart <= max) {
+            long restartWith = max + ALLOCATION_SIZE;
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartWith);
+            log.info("Restarted {} at {} (max {}.id = {})", sequence, restartWith, table, max);
+        }
+    }
+}
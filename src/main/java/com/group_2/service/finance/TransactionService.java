@@ -6,13 +6,19 @@ import com.group_2.model.finance.Transaction;
 import com.group_2.model.finance.TransactionSplit;
 import com.group_2.repository.UserRepository;
 import com.group_2.repository.WGRepository;
+import com.group_2.repository.finance.ArchivedTransactionRepository;
 import com.group_2.repository.finance.TransactionRepository;
 import com.group_2.repository.finance.TransactionSplitRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,31 +26,56 @@ import java.util.Map;
 import com.group_2.dto.finance.BalanceDTO;
 import com.group_2.dto.finance.FinanceMapper;
 import com.group_2.dto.finance.TransactionDTO;
+import com.group_2.dto.finance.TransactionHistoryCursor;
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.dto.finance.TransactionHistoryPageDTO;
+import com.group_2.dto.finance.TransactionSplitViewRow;
 import com.group_2.dto.finance.TransactionViewDTO;
+import com.group_2.dto.finance.TransactionViewRow;
 import com.group_2.dto.finance.BalanceViewDTO;
 import com.group_2.dto.core.CoreMapper;
 import com.group_2.dto.core.UserSummaryDTO;
+import com.group_2.service.finance.SettlementPlanner.PlannedTransfer;
+import com.group_2.util.Money;
 
 @Service
 public class TransactionService {
 
+    // Search hits resolved per database round trip
+    private static final int SEARCH_BATCH_SIZE = 100;
+
     private final TransactionRepository transactionRepository;
     private final TransactionSplitRepository transactionSplitRepository;
     private final UserRepository userRepository;
     private final WGRepository wgRepository;
     private final FinanceMapper financeMapper;
     private final CoreMapper coreMapper;
+    private final BalanceLedgerService balanceLedgerService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
+    private final TransactionSearchIndex searchIndex;
+    private final Clock clock;
 
     @Autowired
     public TransactionService(TransactionRepository transactionRepository,
             TransactionSplitRepository transactionSplitRepository, UserRepository userRepository,
-            WGRepository wgRepository, FinanceMapper financeMapper, CoreMapper coreMapper) {
+            WGRepository wgRepository, FinanceMapper financeMapper, CoreMapper coreMapper,
+            BalanceLedgerService balanceLedgerService, BalanceCheckpointService balanceCheckpointService,
+            ApplicationEventPublisher eventPublisher, ArchivedTransactionRepository archivedTransactionRepository,
+            TransactionSearchIndex searchIndex, Clock clock) {
         this.transactionRepository = transactionRepository;
         this.transactionSplitRepository = transactionSplitRepository;
         this.userRepository = userRepository;
         this.wgRepository = wgRepository;
         this.financeMapper = financeMapper;
         this.coreMapper = coreMapper;
+        this.balanceLedgerService = balanceLedgerService;
+        this.balanceCheckpointService = balanceCheckpointService;
+        this.eventPublisher = eventPublisher;
+        this.archivedTransactionRepository = archivedTransactionRepository;
+        this.searchIndex = searchIndex;
+        this.clock = clock;
     }
 
     /**
@@ -77,7 +108,8 @@ public class TransactionService {
         if (debtorIds == null || debtorIds.isEmpty()) {
             throw new IllegalArgumentException("At least one debtor is required");
         }
-        if (totalAmount == null || totalAmount <= 0) {
+        long totalCents = totalAmount != null ? Money.toCents(totalAmount) : 0L;
+        if (totalCents <= 0) {
             throw new IllegalArgumentException("Total amount must be positive");
         }
 
@@ -92,12 +124,8 @@ public class TransactionService {
         assertSameWg(wg, creditor, "Creditor");
 
         // Handle percentages - default to equal split if not provided
-        List<Double> finalPercentages = percentages;
-        if (percentages == null || percentages.isEmpty()) {
-            double equalPercentage = 100.0 / debtorIds.size();
-            finalPercentages = debtorIds.stream().map(id -> equalPercentage).toList();
-        } else {
-            // Validate percentages sum to 100
+        if (percentages != null && !percentages.isEmpty()) {
+            // Validate the user input sums to 100
             double sum = percentages.stream().mapToDouble(Double::doubleValue).sum();
             if (Math.abs(sum - 100.0) > 0.01) {
                 throw new IllegalArgumentException("Percentages must sum to 100");
@@ -106,27 +134,32 @@ public class TransactionService {
                 throw new IllegalArgumentException("Number of percentages must match number of debtors");
             }
         }
+        // Largest remainder allocation: shares sum to exactly 100% and amounts to
+        // exactly the total
+        long[] basisPoints = Money.toBasisPoints(percentages, debtorIds.size());
+        long[] splitCents = Money.allocate(totalCents, basisPoints);
 
         // Create transaction (createdBy is the user who created it, not necessarily the
         // creditor)
-        Transaction transaction = new Transaction(creditor, creator, totalAmount, description, wg);
+        Transaction transaction = new Transaction(creditor, creator, totalCents, description, wg);
         transaction = transactionRepository.save(transaction);
 
         // Create splits
         for (int i = 0; i < debtorIds.size(); i++) {
             Long debtorId = debtorIds.get(i);
-            Double percentage = finalPercentages.get(i);
 
             User debtor = userRepository.findById(debtorId)
                     .orElseThrow(() -> new RuntimeException("Debtor not found: " + debtorId));
             assertSameWg(wg, debtor, "Debtor");
 
-            double amount = (percentage / 100.0) * totalAmount;
-            TransactionSplit split = new TransactionSplit(transaction, debtor, percentage, amount);
+            TransactionSplit split = new TransactionSplit(transaction, debtor, (int) basisPoints[i], splitCents[i]);
             transaction.addSplit(split);
             transactionSplitRepository.save(split);
         }
 
+        balanceLedgerService.applyTransaction(transaction);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(wg.getId(), List.of(),
+                List.of(TransactionSnapshot.of(transaction))));
         return transaction;
     }
 
@@ -150,18 +183,7 @@ public class TransactionService {
             return List.of();
         }
 
-        List<Transaction> allTransactions = transactionRepository.findByWg(wg);
-
-        // Filter transactions where user is creditor or appears in splits
-        return allTransactions.stream().filter(t -> {
-            // User is creditor
-            if (t.getCreditor().getId().equals(userId)) {
-                return true;
-            }
-            // User is debtor in any split
-            return t.getSplits().stream().anyMatch(split -> split.getDebtor().getId().equals(userId));
-        }).sorted((t1, t2) -> t2.getTimestamp().compareTo(t1.getTimestamp())) // Newest first
-                .toList();
+        return transactionRepository.findInvolvingUser(wg.getId(), userId);
     }
 
     /**
@@ -172,37 +194,16 @@ public class TransactionService {
         User currentUser = userRepository.findById(currentUserId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         // Validate other user exists
-        userRepository.findById(otherUserId).orElseThrow(() -> new RuntimeException("Other user not found"));
+        if (!userRepository.existsById(otherUserId)) {
+            throw new RuntimeException("Other user not found");
+        }
 
         WG wg = currentUser.getWg();
         if (wg == null) {
             return 0.0;
         }
 
-        List<Transaction> allTransactions = transactionRepository.findByWg(wg);
-        double balance = 0.0;
-
-        for (Transaction transaction : allTransactions) {
-            // Case 1: Current user is creditor, other user is debtor
-            if (transaction.getCreditor().getId().equals(currentUserId)) {
-                for (TransactionSplit split : transaction.getSplits()) {
-                    if (split.getDebtor().getId().equals(otherUserId)) {
-                        balance += split.getAmount(); // Other user owes current user
-                    }
-                }
-            }
-
-            // Case 2: Other user is creditor, current user is debtor
-            if (transaction.getCreditor().getId().equals(otherUserId)) {
-                for (TransactionSplit split : transaction.getSplits()) {
-                    if (split.getDebtor().getId().equals(currentUserId)) {
-                        balance -= split.getAmount(); // Current user owes other user
-                    }
-                }
-            }
-        }
-
-        return balance;
+        return balanceLedgerService.getBalance(wg.getId(), currentUserId, otherUserId);
     }
 
     /**
@@ -220,11 +221,11 @@ public class TransactionService {
         }
 
         Map<Long, Double> balances = new HashMap<>();
+        WgBalanceMatrix matrix = balanceLedgerService.getBalanceMatrix(wg.getId());
         List<User> members = userRepository.findByWgId(wg.getId());
         for (User member : members) {
             if (!member.getId().equals(currentUserId)) {
-                double balance = calculateBalanceWithUser(currentUserId, member.getId());
-                balances.put(member.getId(), balance);
+                balances.put(member.getId(), matrix.balanceBetween(currentUserId, member.getId()));
             }
         }
 
@@ -268,12 +269,16 @@ public class TransactionService {
         if (!transaction.getCreatedBy().getId().equals(currentUserId)) {
             throw new RuntimeException("Only the creator of the transaction can edit it");
         }
+        if (transaction.isCarryForward()) {
+            throw new RuntimeException("Carry-forward entries of compacted history cannot be edited");
+        }
 
         // Validate inputs
         if (debtorIds == null || debtorIds.isEmpty()) {
             throw new IllegalArgumentException("At least one debtor is required");
         }
-        if (totalAmount == null || totalAmount <= 0) {
+        long totalCents = totalAmount != null ? Money.toCents(totalAmount) : 0L;
+        if (totalCents <= 0) {
             throw new IllegalArgumentException("Total amount must be positive");
         }
 
@@ -283,12 +288,8 @@ public class TransactionService {
         assertSameWg(wg, newCreditor, "Creditor");
 
         // Handle percentages - default to equal split if not provided
-        List<Double> finalPercentages = percentages;
-        if (percentages == null || percentages.isEmpty()) {
-            double equalPercentage = 100.0 / debtorIds.size();
-            finalPercentages = debtorIds.stream().map(id -> equalPercentage).toList();
-        } else {
-            // Validate percentages sum to 100
+        if (percentages != null && !percentages.isEmpty()) {
+            // Validate the user input sums to 100
             double sum = percentages.stream().mapToDouble(Double::doubleValue).sum();
             if (Math.abs(sum - 100.0) > 0.01) {
                 throw new IllegalArgumentException("Percentages must sum to 100");
@@ -297,10 +298,18 @@ public class TransactionService {
                 throw new IllegalArgumentException("Number of percentages must match number of debtors");
             }
         }
+        // Largest remainder allocation: shares sum to exactly 100% and amounts to
+        // exactly the total
+        long[] basisPoints = Money.toBasisPoints(percentages, debtorIds.size());
+        long[] splitCents = Money.allocate(totalCents, basisPoints);
+
+        // Take the old splits off the ledger before they are replaced
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
+        balanceLedgerService.revertTransaction(transaction);
 
         // Update transaction fields
         transaction.setCreditor(newCreditor);
-        transaction.setTotalAmount(totalAmount);
+        transaction.setTotalAmountCents(totalCents);
         transaction.setDescription(description);
 
         // Clear old splits
@@ -310,19 +319,23 @@ public class TransactionService {
         // Create new splits
         for (int i = 0; i < debtorIds.size(); i++) {
             Long debtorId = debtorIds.get(i);
-            Double percentage = finalPercentages.get(i);
 
             User debtor = userRepository.findById(debtorId)
                     .orElseThrow(() -> new RuntimeException("Debtor not found: " + debtorId));
             assertSameWg(wg, debtor, "Debtor");
 
-            double amount = (percentage / 100.0) * totalAmount;
-            TransactionSplit split = new TransactionSplit(transaction, debtor, percentage, amount);
+            TransactionSplit split = new TransactionSplit(transaction, debtor, (int) basisPoints[i], splitCents[i]);
             transaction.addSplit(split);
             transactionSplitRepository.save(split);
         }
 
-        return transactionRepository.save(transaction);
+        balanceLedgerService.applyTransaction(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        // Editing history covered by the balance checkpoint invalidates it
+        balanceCheckpointService.onTransactionChanged(saved);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(wg.getId(), List.of(before),
+                List.of(TransactionSnapshot.of(saved))));
+        return saved;
     }
 
     /**
@@ -340,12 +353,21 @@ public class TransactionService {
         if (!transaction.getCreatedBy().getId().equals(currentUserId)) {
             throw new RuntimeException("Only the creator of the transaction can delete it");
         }
+        if (transaction.isCarryForward()) {
+            throw new RuntimeException("Carry-forward entries of compacted history cannot be deleted");
+        }
+
+        balanceLedgerService.revertTransaction(transaction);
+        TransactionSnapshot removed = TransactionSnapshot.of(transaction);
 
         // Delete all splits first (cascade should handle this, but being explicit)
         transactionSplitRepository.deleteAll(transaction.getSplits());
 
         // Delete the transaction
+        Long wgId = transaction.getWg() != null ? transaction.getWg().getId() : null;
         transactionRepository.delete(transaction);
+        balanceCheckpointService.onTransactionChanged(wgId, transactionId);
+        eventPublisher.publishEvent(new TransactionsChangedEvent(wgId, List.of(removed), List.of()));
     }
 
     /**
@@ -386,9 +408,163 @@ public class TransactionService {
     /**
      * Get all transactions for a user as view DTOs with nested user summaries.
      */
+    @Transactional(readOnly = true)
     public List<TransactionViewDTO> getTransactionsForUserView(Long userId) {
-        List<Transaction> transactions = getTransactionsForUser(userId);
-        return financeMapper.toViewList(transactions);
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getWg() == null) {
+            return List.of();
+        }
+        List<TransactionViewRow> rows = transactionRepository.findViewRowsInvolvingUser(user.getWg().getId(), userId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (TransactionViewRow row : rows) {
+            ids.add(row.id());
+        }
+        return financeMapper.toViewList(rows, transactionSplitRepository.findViewRowsByTransactionIdIn(ids));
+    }
+
+    /**
+     * Get one page of the transaction history of a user (as creditor or debtor),
+     * newest first. All filter criteria are evaluated by the database and the page
+     * is located by keyset, so the cost does not grow with the history size.
+     *
+     * @param userId   user whose history is read
+     * @param filter   optional filter criteria (null = no filter)
+     * @param after    cursor returned with the previous page (null = first page)
+     * @param pageSize maximum number of transactions in the page
+     */
+    @Transactional(readOnly = true)
+    public TransactionHistoryPageDTO getTransactionHistoryPage(Long userId, TransactionHistoryFilter filter,
+            TransactionHistoryCursor after, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        WG wg = user.getWg();
+        if (wg == null) {
+            return new TransactionHistoryPageDTO(List.of(), null, false);
+        }
+        if (filter != null && filter.hasSearch()) {
+            return searchHistoryPage(wg.getId(), userId, filter, after, pageSize);
+        }
+
+        // Two projection queries per page: the transaction rows (one extra to know
+        // whether another page follows) and their splits
+        List<TransactionViewRow> rows = transactionRepository.findHistoryPageRows(wg.getId(), userId, filter, after,
+                pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        if (rows.isEmpty()) {
+            return new TransactionHistoryPageDTO(List.of(), null, false);
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (TransactionViewRow row : rows) {
+            ids.add(row.id());
+        }
+        List<TransactionSplitViewRow> splitRows = transactionSplitRepository.findViewRowsByTransactionIdIn(ids);
+
+        TransactionViewRow last = rows.get(rows.size() - 1);
+        TransactionHistoryCursor next = new TransactionHistoryCursor(last.timestamp(), last.id());
+        return new TransactionHistoryPageDTO(financeMapper.toViewList(rows, splitRows), next, hasMore);
+    }
+
+    /**
+     * History page of a description search, ordered by relevance. The search
+     * index yields the ranked ids; they are resolved in batches against the
+     * remaining filter criteria by primary key until the page is full.
+     */
+    private TransactionHistoryPageDTO searchHistoryPage(Long wgId, Long userId, TransactionHistoryFilter filter,
+            TransactionHistoryCursor after, int pageSize) {
+        List<Long> ranked = searchIndex.search(wgId, filter.search());
+        TransactionHistoryFilter rest = filter.withoutSearch();
+        int offset = after != null && after.searchOffset() != null ? after.searchOffset() : 0;
+
+        List<TransactionViewRow> rows = new ArrayList<>(pageSize);
+        boolean hasMore = false;
+        int consumed = offset;
+        while (consumed < ranked.size() && !hasMore) {
+            // Hits may be filtered out, so fetch a little more than the page needs
+            int end = Math.min(ranked.size(), consumed + Math.max(pageSize - rows.size() + 1, SEARCH_BATCH_SIZE));
+            List<Long> candidates = ranked.subList(consumed, end);
+            Map<Long, TransactionViewRow> found = new HashMap<>();
+            for (TransactionViewRow row : transactionRepository.findHistoryRowsByIdIn(wgId, userId, rest,
+                    candidates)) {
+                found.put(row.id(), row);
+            }
+            for (Long id : candidates) {
+                TransactionViewRow row = found.get(id);
+                if (row != null && rows.size() == pageSize) {
+                    hasMore = true;
+                    break;
+                }
+                consumed++;
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return new TransactionHistoryPageDTO(List.of(), null, false);
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (TransactionViewRow row : rows) {
+            ids.add(row.id());
+        }
+        List<TransactionSplitViewRow> splitRows = transactionSplitRepository.findViewRowsByTransactionIdIn(ids);
+        TransactionViewRow last = rows.get(rows.size() - 1);
+        TransactionHistoryCursor next = new TransactionHistoryCursor(last.timestamp(), last.id(), consumed);
+        return new TransactionHistoryPageDTO(financeMapper.toViewList(rows, splitRows), next, hasMore);
+    }
+
+    /**
+     * Search the archived (compacted) history of a user, newest first. Archived
+     * transactions are read-only and only loaded on demand.
+     *
+     * @param userId user whose archived history is searched
+     * @param filter optional filter criteria (null = no filter)
+     * @param limit  maximum number of transactions to return
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionViewDTO> searchArchivedHistory(Long userId, TransactionHistoryFilter filter, int limit) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        WG wg = user.getWg();
+        if (wg == null) {
+            return List.of();
+        }
+        return financeMapper.toArchivedViewList(
+                archivedTransactionRepository.searchHistory(wg.getId(), userId, filter, limit), wg);
+    }
+
+    /**
+     * Get the years in which a user has transactions, newest first. Always
+     * contains the current year.
+     */
+    public List<Integer> getTransactionHistoryYears(Long userId) {
+        int currentYear = LocalDateTime.now(clock).getYear();
+        User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime oldest = null;
+        if (user.getWg() != null) {
+            oldest = transactionRepository.findOldestTimestampForUser(user.getWg().getId(), userId);
+            // Compacted years stay selectable so the archive can be searched
+            LocalDateTime oldestArchived = archivedTransactionRepository
+                    .findOldestTimestampForUser(user.getWg().getId(), userId);
+            if (oldestArchived != null && (oldest == null || oldestArchived.isBefore(oldest))) {
+                oldest = oldestArchived;
+            }
+        }
+        int firstYear = oldest != null ? Math.min(oldest.getYear(), currentYear) : currentYear;
+
+        List<Integer> years = new ArrayList<>();
+        for (int year = currentYear; year >= firstYear; year--) {
+            years.add(year);
+        }
+        return years;
     }
 
     /**
@@ -403,9 +579,10 @@ public class TransactionService {
             return List.of();
         }
 
+        WgBalanceMatrix matrix = balanceLedgerService.getBalanceMatrix(wg.getId());
         return userRepository.findByWgId(wg.getId()).stream()
                 .filter(member -> !member.getId().equals(currentUserId)).map(member -> {
-            double balance = calculateBalanceWithUser(currentUserId, member.getId());
+            double balance = matrix.balanceBetween(currentUserId, member.getId());
             return financeMapper.toBalanceDTO(member, balance);
         }).filter(dto -> dto != null).toList();
     }
@@ -423,9 +600,10 @@ public class TransactionService {
             return List.of();
         }
 
+        WgBalanceMatrix matrix = balanceLedgerService.getBalanceMatrix(wg.getId());
         return userRepository.findByWgId(wg.getId()).stream()
                 .filter(member -> !member.getId().equals(currentUserId)).map(member -> {
-            double balance = calculateBalanceWithUser(currentUserId, member.getId());
+            double balance = matrix.balanceBetween(currentUserId, member.getId());
             return financeMapper.toBalanceView(member, balance);
         }).filter(dto -> dto != null).toList();
     }
@@ -476,22 +654,13 @@ public class TransactionService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        User otherUser = userRepository.findById(otherUserId)
-                .orElseThrow(() -> new RuntimeException("Other user not found"));
-
-        WG wg = currentUser.getWg();
-        if (wg == null || otherUser.getWg() == null || !wg.getId().equals(otherUser.getWg().getId())) {
-            throw new RuntimeException("Users must belong to the same WG to settle balances");
-        }
-
         Long payerId = currentUserPays ? currentUserId : otherUserId;
         Long debtorId = currentUserPays ? otherUserId : currentUserId;
 
         String description = "Settlement" + (paymentMethod != null ? " via " + paymentMethod : "");
 
-        createTransactionDTO(currentUserId, payerId, List.of(debtorId), null, amount, description);
+        executeSettlementBatch(currentUserId,
+                new SettlementBatch().add(payerId, debtorId, Money.toCents(amount), description));
     }
 
     /**
@@ -503,26 +672,109 @@ public class TransactionService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be positive");
         }
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        User creditSource = userRepository.findById(creditSourceUserId)
-                .orElseThrow(() -> new RuntimeException("Credit source user not found"));
-        User debtorTo = userRepository.findById(debtorToUserId)
-                .orElseThrow(() -> new RuntimeException("Debtor user not found"));
+        long amountCents = Money.toCents(amount);
+        SettlementBatch batch = new SettlementBatch()
+                // Current user settles the debt with debtorTo
+                .add(currentUserId, debtorToUserId, amountCents, "Settlement via Credit Transfer (settled debt)")
+                // Credit source settles their debt with the current user
+                .add(creditSourceUserId, currentUserId, amountCents, "Settlement via Credit Transfer (used credit)");
+        executeSettlementBatch(currentUserId, batch);
+    }
 
-        WG wg = currentUser.getWg();
-        if (wg == null || creditSource.getWg() == null || debtorTo.getWg() == null
-                || !wg.getId().equals(creditSource.getWg().getId()) || !wg.getId().equals(debtorTo.getWg().getId())) {
-            throw new RuntimeException("All users must belong to the same WG for credit transfer");
+    /**
+     * Record several planned settlement transfers of one WG that share a
+     * description. See {@link #executeSettlementBatch(Long, SettlementBatch)}.
+     *
+     * @param creatorId   ID of the user recording the settlements (gets edit
+     *                    rights)
+     * @param transfers   Planned transfers (payer becomes creditor, receiver the
+     *                    single debtor)
+     * @param description Description used for every settlement transaction
+     * @return The created transactions
+     */
+    @Transactional
+    public List<Transaction> createSettlementTransactions(Long creatorId, List<PlannedTransfer> transfers,
+            String description) {
+        if (transfers == null || transfers.isEmpty()) {
+            return List.of();
         }
+        return executeSettlementBatch(creatorId, SettlementBatch.of(transfers, description));
+    }
 
-        // Transaction 1: current user settles debt with debtorTo
-        createTransactionDTO(currentUserId, currentUserId, List.of(debtorToUserId), null, amount,
-                "Settlement via Credit Transfer (settled debt)");
+    /**
+     * Record all legs of a settlement batch atomically. All participants are
+     * validated against one member query, the transactions are built in memory
+     * and written with one batched flush, the ledger is updated in the same DB
+     * transaction and one change event is published.
+     *
+     * @param creatorId ID of the user recording the settlements (gets edit rights)
+     * @param batch     Transfers to record; all participants must be members of
+     *                  the creator's WG
+     * @return The created transactions, in the order of the legs
+     */
+    @Transactional
+    public List<Transaction> executeSettlementBatch(Long creatorId, SettlementBatch batch) {
+        if (batch == null || batch.isEmpty()) {
+            return List.of();
+        }
+        User creator = userRepository.findById(creatorId).orElseThrow(() -> new RuntimeException("Creator not found"));
+        WG wg = creator.getWg();
+        if (wg == null) {
+            throw new RuntimeException("Creator must be part of a WG");
+        }
 
-        // Transaction 2: credit source settles their debt with current user
-        createTransactionDTO(currentUserId, creditSourceUserId, List.of(currentUserId), null, amount,
-                "Settlement via Credit Transfer (used credit)");
+        Map<Long, User> members = new HashMap<>();
+        for (User member : userRepository.findByWgId(wg.getId())) {
+            members.put(member.getId(), member);
+        }
+        if (!members.keySet().containsAll(batch.getParticipantIds())) {
+            throw new RuntimeException("All users must belong to the same WG for settlement");
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (SettlementBatch.Leg leg : batch.getLegs()) {
+            Transaction transaction = new Transaction(members.get(leg.payerId()), creator, leg.amountCents(),
+                    leg.description(), wg);
+            transaction.setSettlement(true);
+            transaction.addSplit(new TransactionSplit(transaction, members.get(leg.receiverId()),
+                    Money.FULL_SHARE_BASIS_POINTS, leg.amountCents()));
+            transactions.add(transaction);
+        }
+
+        return recordTransactions(transactions);
+    }
+
+    /**
+     * Persist prepared transactions (with their splits) in one batched write and
+     * post them to the ledger. Callers are responsible for validating
+     * participants and split amounts.
+     *
+     * @param transactions New, not yet persisted transactions
+     * @return The saved transactions
+     */
+    @Transactional
+    public List<Transaction> recordTransactions(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        // Splits are persisted through the cascade on Transaction.splits; the
+        // sequence IDs let Hibernate batch the inserts
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        transactionRepository.flush();
+        balanceLedgerService.applyTransactions(saved);
+
+        // One event per WG with the snapshots of its new transactions
+        Map<Long, List<TransactionSnapshot>> addedByWg = new LinkedHashMap<>();
+        for (Transaction transaction : saved) {
+            if (transaction.getWg() != null) {
+                addedByWg.computeIfAbsent(transaction.getWg().getId(), id -> new ArrayList<>())
+                        .add(TransactionSnapshot.of(transaction));
+            }
+        }
+        for (Map.Entry<Long, List<TransactionSnapshot>> entry : addedByWg.entrySet()) {
+            eventPublisher.publishEvent(new TransactionsChangedEvent(entry.getKey(), List.of(), entry.getValue()));
+        }
+        return saved;
     }
 
     private void assertSameWg(WG wg, User user, String role) {
@@ -0,0 +1,51 @@
+package com.group_2.service.finance;
+
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable copy of the amounts of a transaction at the time of a change.
+ * Carried by {@link TransactionsChangedEvent} so listeners can apply deltas
+ * without reloading (or, after a delete, without access to) the entity.
+ *
+ * @param id               transaction id
+ * @param description      description of the transaction, may be null
+ * @param creditorId       user who paid
+ * @param timestamp        booking time of the transaction
+ * @param totalAmountCents total amount in cents
+ * @param carryForward     whether this is a carry-forward of compacted history
+ * @param settlement       whether this is a transfer that settles debts
+ * @param shares           debtor shares of the transaction
+ */
+public record TransactionSnapshot(Long id, String description, Long creditorId, LocalDateTime timestamp,
+        long totalAmountCents, boolean carryForward, boolean settlement, List<Share> shares) {
+
+    /**
+     * Amount owed by one debtor of the transaction.
+     */
+    public record Share(Long debtorId, long amountCents) {
+    }
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        List<Share> shares = new ArrayList<>(transaction.getSplits().size());
+        for (TransactionSplit split : transaction.getSplits()) {
+            shares.add(new Share(split.getDebtor().getId(), split.getAmountCents()));
+        }
+        Long creditorId = transaction.getCreditor() != null ? transaction.getCreditor().getId() : null;
+        return new TransactionSnapshot(transaction.getId(), transaction.getDescription(), creditorId,
+                transaction.getTimestamp(), transaction.getTotalAmountCents(), transaction.isCarryForward(),
+                transaction.isSettlement(), List.copyOf(shares));
+    }
+
+    public static List<TransactionSnapshot> of(List<Transaction> transactions) {
+        List<TransactionSnapshot> snapshots = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            snapshots.add(of(transaction));
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,28 @@
+package com.group_2.service.finance;
+
+import java.util.List;
+
+/**
+ * Published when transactions of a WG were created, modified or deleted.
+ * Listeners that cache derived data (e.g. balances) drop it after commit;
+ * listeners that maintain aggregates apply the removed and added snapshots as
+ * deltas. An update is reported as its old state removed and its new state
+ * added. Events without snapshots (e.g. after a ledger rebuild) only signal
+ * that derived data may be stale.
+ *
+ * @param wgId    WG whose transactions changed
+ * @param removed transactions (or old states) that no longer exist
+ * @param added   transactions (or new states) that were written
+ */
+public record TransactionsChangedEvent(Long wgId, List<TransactionSnapshot> removed,
+        List<TransactionSnapshot> added) {
+
+    public TransactionsChangedEvent {
+        removed = removed != null ? removed : List.of();
+        added = added != null ? added : List.of();
+    }
+
+    public TransactionsChangedEvent(Long wgId) {
+        this(wgId, List.of(), List.of());
+    }
+}
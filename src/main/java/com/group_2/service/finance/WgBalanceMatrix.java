@@ -0,0 +1,109 @@
+package com.group_2.service.finance;
+
+import com.group_2.dto.finance.PairwiseBalanceDTO;
+import com.group_2.util.Money;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable pairwise balance matrix of a WG, built from one aggregated result
+ * set. Holds the amount in cents each debtor owes each creditor and derives the
+ * net balance between any two members from both directions.
+ */
+public final class WgBalanceMatrix {
+
+    private static final WgBalanceMatrix EMPTY = new WgBalanceMatrix(Map.of());
+
+    // creditorId -> (debtorId -> cents owed)
+    private final Map<Long, Map<Long, Long>> owed;
+
+    private WgBalanceMatrix(Map<Long, Map<Long, Long>> owed) {
+        this.owed = owed;
+    }
+
+    public static WgBalanceMatrix empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a matrix from aggregated (creditor, debtor, cents) rows. Duplicate
+     * pairs are summed up.
+     */
+    public static WgBalanceMatrix of(List<PairwiseBalanceDTO> pairs) {
+        Map<Long, Map<Long, Long>> owed = new HashMap<>();
+        for (PairwiseBalanceDTO pair : pairs) {
+            if (pair.amountCents() == null || pair.creditorId().equals(pair.debtorId())) {
+                continue;
+            }
+            owed.computeIfAbsent(pair.creditorId(), id -> new HashMap<>()).merge(pair.debtorId(),
+                    pair.amountCents(), Long::sum);
+        }
+        return new WgBalanceMatrix(owed);
+    }
+
+    /**
+     * Cents the debtor owes the creditor in this direction only.
+     */
+    public long owedCentsBy(Long debtorId, Long creditorId) {
+        Map<Long, Long> debtors = owed.get(creditorId);
+        if (debtors == null) {
+            return 0L;
+        }
+        return debtors.getOrDefault(debtorId, 0L);
+    }
+
+    /**
+     * Net balance between two users in cents. Positive = otherUser owes user,
+     * negative = user owes otherUser.
+     */
+    public long balanceCentsBetween(Long userId, Long otherUserId) {
+        return owedCentsBy(otherUserId, userId) - owedCentsBy(userId, otherUserId);
+    }
+
+    /**
+     * Net balance between two users in euros, for display.
+     */
+    public double balanceBetween(Long userId, Long otherUserId) {
+        return Money.toEuros(balanceCentsBetween(userId, otherUserId));
+    }
+
+    /**
+     * Net balances in cents between a user and every counterparty of the matrix.
+     */
+    public Map<Long, Long> balancesCentsFor(Long userId) {
+        Map<Long, Long> balances = new HashMap<>();
+        for (Long otherUserId : userIds()) {
+            if (!otherUserId.equals(userId)) {
+                balances.put(otherUserId, balanceCentsBetween(userId, otherUserId));
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * Sum of all net balances of a user in cents.
+     */
+    public long totalCentsFor(Long userId) {
+        long total = 0L;
+        for (long balance : balancesCentsFor(userId).values()) {
+            total += balance;
+        }
+        return total;
+    }
+
+    /**
+     * All users that appear as creditor or debtor.
+     */
+    public Set<Long> userIds() {
+        Set<Long> ids = new HashSet<>(owed.keySet());
+        for (Map<Long, Long> debtors : owed.values()) {
+            ids.addAll(debtors.keySet());
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+}
@@ -0,0 +1,400 @@
+package com.group_2.tools;
+
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.cleaning.CleaningTaskTemplate;
+import com.group_2.model.cleaning.RecurrenceInterval;
+import com.group_2.model.cleaning.Room;
+import com.group_2.model.cleaning.RoomAssignmentQueue;
+import com.group_2.model.finance.StandingOrder;
+import com.group_2.model.finance.StandingOrderDebtorShare;
+import com.group_2.model.finance.StandingOrderFrequency;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.model.shopping.ShoppingList;
+import com.group_2.repository.UserRepository;
+import com.group_2.repository.WGRepository;
+import com.group_2.repository.cleaning.CleaningTaskTemplateRepository;
+import com.group_2.repository.cleaning.RoomAssignmentQueueRepository;
+import com.group_2.repository.cleaning.RoomRepository;
+import com.group_2.repository.finance.StandingOrderRepository;
+import com.group_2.repository.shopping.ShoppingListRepository;
+import com.group_2.service.core.PasswordEncryptionService;
+import com.group_2.service.core.WGService;
+import com.group_2.service.finance.TransactionService;
+import com.group_2.util.Money;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic dataset across all domains for load tests: WGs with
+ * members, rooms, cleaning templates and queues, years of weekly cleaning task
+ * history, expenses with skewed payers, split sizes and amounts, standing orders
+ * and shopping lists.
+ * <p>
+ * Each WG draws from its own random stream derived from the seed, so the same
+ * options produce the same data. Expenses go through
+ * {@link TransactionService#recordTransactions(List)} (batched inserts, ledger
+ * and rollups kept consistent); cleaning tasks and shopping list items are
+ * written with plain JDBC batch inserts, which avoids the entity overhead for
+ * the largest tables.
+ */
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    // Each fetched sequence value is used directly; Hibernate's pooled blocks end
+    // at the values it fetches itself, so the IDs never collide
+    private static final String TASK_INSERT = "INSERT INTO tasks (id, version, room_id, assignee_id, wg_id, "
+            + "week_start_date, due_date, completed, completed_at, manual_override) "
+            + "VALUES (NEXT VALUE FOR tasks_seq, 0, ?, ?, ?, ?, ?, ?, ?, FALSE)";
+    private static final String ITEM_INSERT = "INSERT INTO shopping_list_item (name, creator_id, shopping_list_id, "
+            + "bought) VALUES (?, ?, ?, ?)";
+
+    private static final String[] FIRST_NAMES = { "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannah",
+            "Jonas", "Lea", "Lukas", "Marie", "Noah", "Paul", "Sophie", "Tim" };
+    private static final String[] ROOM_NAMES = { "Kitchen", "Bathroom", "Living Room", "Hallway", "Balcony",
+            "Guest Toilet", "Laundry Room", "Basement" };
+    private static final String[] EXPENSES = { "Groceries", "Supermarket", "Drugstore", "Electricity", "Internet",
+            "Cleaning supplies", "Pizza", "Bakery", "Toilet paper", "Beverages", "Hardware store", "Streaming" };
+    private static final String[] ITEMS = { "Milk", "Bread", "Eggs", "Butter", "Coffee", "Pasta", "Rice", "Tomatoes",
+            "Apples", "Cheese", "Yogurt", "Dish soap", "Sponges", "Trash bags", "Toilet paper", "Olive oil" };
+
+    // Share of tasks in the past that were completed
+    private static final double COMPLETION_RATE = 0.9;
+    // Share of shopping list items already bought
+    private static final double BOUGHT_RATE = 0.7;
+
+    private final DatasetGeneratorOptions options;
+    private final UserRepository userRepository;
+    private final WGRepository wgRepository;
+    private final RoomRepository roomRepository;
+    private final CleaningTaskTemplateRepository templateRepository;
+    private final RoomAssignmentQueueRepository queueRepository;
+    private final StandingOrderRepository standingOrderRepository;
+    private final ShoppingListRepository shoppingListRepository;
+    private final WGService wgService;
+    private final TransactionService transactionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String passwordHash;
+
+    private long rows;
+
+    public DatasetGenerator(ApplicationContext context, DatasetGeneratorOptions options) {
+        this.options = options;
+        this.userRepository = context.getBean(UserRepository.class);
+        this.wgRepository = context.getBean(WGRepository.class);
+        this.roomRepository = context.getBean(RoomRepository.class);
+        this.templateRepository = context.getBean(CleaningTaskTemplateRepository.class);
+        this.queueRepository = context.getBean(RoomAssignmentQueueRepository.class);
+        this.standingOrderRepository = context.getBean(StandingOrderRepository.class);
+        this.shoppingListRepository = context.getBean(ShoppingListRepository.class);
+        this.wgService = context.getBean(WGService.class);
+        this.transactionService = context.getBean(TransactionService.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        // One BCrypt hash for everyone; hashing per user would dominate the run
+        this.passwordHash = context.getBean(PasswordEncryptionService.class).hashPassword("password");
+    }
+
+    /**
+     * Generate all WGs.
+     *
+     * @return number of inserted rows (entities, splits and join rows)
+     */
+    public long generate() {
+        long start = System.nanoTime();
+        log.info("Generating dataset: {}", options);
+        for (int w = 0; w < options.wgs(); w++) {
+            generateWg(w);
+            if ((w + 1) % 10 == 0 || w + 1 == options.wgs()) {
+                double seconds = (System.nanoTime() - start) / 1e9;
+                log.info("{} of {} WGs, {} rows, {} rows/s", w + 1, options.wgs(), rows,
+                        Math.round(rows / Math.max(seconds, 1e-3)));
+            }
+        }
+        return rows;
+    }
+
+    private void generateWg(int wgIndex) {
+        // Independent stream per WG: data does not depend on generation order
+        SplittableRandom random = new SplittableRandom(options.seed() * 1_000_003L + wgIndex);
+        Household household = transactionTemplate.execute(status -> createHousehold(wgIndex, random));
+        generateCleaningHistory(household, random);
+        generateExpenses(household, random);
+        generateShoppingLists(household, random);
+    }
+
+    private Household createHousehold(int wgIndex, SplittableRandom random) {
+        List<User> members = new ArrayList<>(options.members());
+        for (int m = 0; m < options.members(); m++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String email = "gen" + options.seed() + "-w" + wgIndex + "-m" + m + "@example.invalid";
+            members.add(new User(name, "Member" + m, email, passwordHash));
+        }
+        members = userRepository.saveAll(members);
+
+        List<Room> rooms = new ArrayList<>(options.rooms());
+        for (int r = 0; r < options.rooms(); r++) {
+            String name = ROOM_NAMES[r % ROOM_NAMES.length] + (r >= ROOM_NAMES.length ? " " + (r + 1) : "");
+            rooms.add(new Room(name));
+        }
+        rooms = roomRepository.saveAll(rooms);
+
+        WG wg = wgService.createWG("Generated WG " + wgIndex, members.get(0), rooms);
+        for (User member : members.subList(1, members.size())) {
+            wg.addMitbewohner(member);
+        }
+        wg = wgRepository.save(wg);
+        userRepository.saveAll(members);
+        rows += members.size() * 2L + rooms.size() + 1;
+
+        // Templates are anchored at the start of the history so recurrences line up
+        LocalDate historyStart = monday(options.anchorDate().minusYears(options.years()));
+        RecurrenceInterval[] intervals = RecurrenceInterval.values();
+        List<CleaningTaskTemplate> templates = new ArrayList<>(rooms.size());
+        List<RoomAssignmentQueue> queues = new ArrayList<>(rooms.size());
+        for (int r = 0; r < rooms.size(); r++) {
+            // Mostly weekly, some bi-weekly or monthly rooms
+            RecurrenceInterval interval = random.nextInt(4) == 0 ? intervals[1 + random.nextInt(intervals.length - 1)]
+                    : RecurrenceInterval.WEEKLY;
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(7));
+            templates.add(new CleaningTaskTemplate(rooms.get(r), wg, day, interval, historyStart));
+            queues.add(new RoomAssignmentQueue(rooms.get(r), wg, members, r));
+        }
+        templateRepository.saveAll(templates);
+        queueRepository.saveAll(queues);
+        rows += templates.size() + queues.size();
+
+        generateStandingOrders(wg, members, random);
+        return new Household(wg, members, rooms, templates, historyStart);
+    }
+
+    private void generateStandingOrders(WG wg, List<User> members, SplittableRandom random) {
+        LocalDate nextExecution = options.anchorDate().with(TemporalAdjusters.firstDayOfNextMonth());
+        List<StandingOrder> orders = new ArrayList<>(options.standingOrders());
+        for (int i = 0; i < options.standingOrders(); i++) {
+            User creditor = members.get(random.nextInt(members.size()));
+            List<StandingOrderDebtorShare> shares = new ArrayList<>(members.size());
+            long[] basisPoints = equalBasisPoints(members.size());
+            for (int m = 0; m < members.size(); m++) {
+                shares.add(new StandingOrderDebtorShare(members.get(m).getId(), (int) basisPoints[m]));
+            }
+            long cents = 1_000 + random.nextInt(100_000);
+            orders.add(new StandingOrder(creditor, creditor, wg, cents,
+                    EXPENSES[random.nextInt(EXPENSES.length)] + " (monthly)", StandingOrderFrequency.MONTHLY,
+                    nextExecution, shares, 1, false));
+            rows += 1 + shares.size();
+        }
+        standingOrderRepository.saveAll(orders);
+    }
+
+    /**
+     * Weekly tasks of every template from the start of the history to the
+     * anchor date, assigned round robin like the room queues.
+     */
+    private void generateCleaningHistory(Household household, SplittableRandom random) {
+        List<Object[]> batch = new ArrayList<>(options.batchSize());
+        LocalDate lastWeek = monday(options.anchorDate());
+        List<User> members = household.members();
+        for (int r = 0; r < household.templates().size(); r++) {
+            CleaningTaskTemplate template = household.templates().get(r);
+            int step = template.getRecurrenceInterval().getWeeks();
+            int occurrence = 0;
+            for (LocalDate week = household.historyStart(); !week.isAfter(lastWeek); week = week.plusWeeks(step)) {
+                User assignee = members.get((r + occurrence++) % members.size());
+                LocalDate due = week.plusDays(template.getDayOfWeek() - 1L);
+                boolean completed = due.isBefore(options.anchorDate()) && random.nextDouble() < COMPLETION_RATE;
+                Timestamp completedAt = completed
+                        ? Timestamp.valueOf(due.atTime(8 + random.nextInt(14), random.nextInt(60)))
+                        : null;
+                batch.add(new Object[] { template.getRoom().getId(), assignee.getId(), household.wg().getId(),
+                        Date.valueOf(week), Date.valueOf(due), completed, completedAt });
+                if (batch.size() == options.batchSize()) {
+                    insertBatch(TASK_INSERT, batch);
+                }
+            }
+        }
+        insertBatch(TASK_INSERT, batch);
+    }
+
+    /**
+     * Expenses month by month. Payers follow a Zipf distribution (one member
+     * pays most), most expenses are split among everyone, some among a few or
+     * a single member, and amounts are log-normal around 25 euros.
+     */
+    private void generateExpenses(Household household, SplittableRandom random) {
+        List<User> members = household.members();
+        int memberCount = members.size();
+        double[] payerWeights = zipfCumulative(memberCount);
+        YearMonth first = YearMonth.from(options.anchorDate().minusYears(options.years()));
+        YearMonth last = YearMonth.from(options.anchorDate());
+
+        List<Transaction> chunk = new ArrayList<>(options.batchSize());
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            int count = options.transactionsPerMemberMonth() == 0 ? 0
+                    : random.nextInt(2 * options.transactionsPerMemberMonth() * memberCount + 1);
+            int days = month.equals(last) ? options.anchorDate().getDayOfMonth() : month.lengthOfMonth();
+            List<LocalDateTime> timestamps = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                timestamps.add(month.atDay(1 + random.nextInt(days)).atTime(7 + random.nextInt(16),
+                        random.nextInt(60)));
+            }
+            // Chronological inserts, like real usage
+            timestamps.sort(null);
+
+            for (LocalDateTime timestamp : timestamps) {
+                User creditor = members.get(pick(payerWeights, random));
+                List<User> debtors = pickDebtors(members, creditor, random);
+                long totalCents = Math.max(50, Math.min(500_000,
+                        Math.round(Math.exp(Math.log(2_500) + 0.9 * gaussian(random)))));
+
+                long[] weights = new long[debtors.size()];
+                boolean unequal = random.nextInt(5) == 0;
+                for (int d = 0; d < weights.length; d++) {
+                    weights[d] = unequal ? 1 + random.nextInt(4) : 1;
+                }
+                long[] basisPoints = Money.allocate(Money.FULL_SHARE_BASIS_POINTS, weights);
+                long[] amounts = Money.allocate(totalCents, basisPoints);
+
+                Transaction transaction = new Transaction(creditor, creditor, totalCents,
+                        EXPENSES[random.nextInt(EXPENSES.length)], household.wg());
+                transaction.setTimestamp(timestamp);
+                for (int d = 0; d < debtors.size(); d++) {
+                    transaction.addSplit(new TransactionSplit(transaction, debtors.get(d), (int) basisPoints[d],
+                            amounts[d]));
+                }
+                chunk.add(transaction);
+                rows += 1 + debtors.size();
+                if (chunk.size() == options.batchSize()) {
+                    transactionService.recordTransactions(chunk);
+                    chunk = new ArrayList<>(options.batchSize());
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            transactionService.recordTransactions(chunk);
+        }
+    }
+
+    private void generateShoppingLists(Household household, SplittableRandom random) {
+        List<User> members = household.members();
+        List<ShoppingList> lists = new ArrayList<>();
+        for (User creator : members) {
+            for (int l = 0; l < options.shoppingListsPerMember(); l++) {
+                List<User> sharedWith = new ArrayList<>();
+                for (User member : members) {
+                    if (member != creator && random.nextBoolean()) {
+                        sharedWith.add(member);
+                    }
+                }
+                lists.add(new ShoppingList(creator.getName() + "'s list " + (l + 1), creator, sharedWith));
+                rows += 1 + sharedWith.size();
+            }
+        }
+        lists = shoppingListRepository.saveAll(lists);
+
+        List<Object[]> batch = new ArrayList<>(options.batchSize());
+        for (ShoppingList list : lists) {
+            for (int i = 0; i < options.itemsPerList(); i++) {
+                User creator = members.get(random.nextInt(members.size()));
+                batch.add(new Object[] { ITEMS[random.nextInt(ITEMS.length)], creator.getId(), list.getId(),
+                        random.nextDouble() < BOUGHT_RATE });
+                if (batch.size() == options.batchSize()) {
+                    insertBatch(ITEM_INSERT, batch);
+                }
+            }
+        }
+        insertBatch(ITEM_INSERT, batch);
+    }
+
+    private void insertBatch(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        rows += batch.size();
+        batch.clear();
+    }
+
+    /**
+     * Debtors of one expense: 60% everyone, 25% a random group, 15% a single
+     * other member (e.g. something bought for one flatmate).
+     */
+    private static List<User> pickDebtors(List<User> members, User creditor, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (members.size() == 1 || roll < 60) {
+            return members;
+        }
+        List<User> others = new ArrayList<>(members);
+        others.remove(creditor);
+        if (roll < 85 && members.size() > 2) {
+            List<User> group = new ArrayList<>();
+            group.add(creditor);
+            for (User member : others) {
+                if (random.nextBoolean()) {
+                    group.add(member);
+                }
+            }
+            if (group.size() > 1) {
+                return group;
+            }
+        }
+        return List.of(others.get(random.nextInt(others.size())));
+    }
+
+    private static double[] zipfCumulative(int n) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -(index + 1), cumulative.length - 1);
+    }
+
+    // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static long[] equalBasisPoints(int count) {
+        long[] weights = new long[count];
+        Arrays.fill(weights, 1);
+        return Money.allocate(Money.FULL_SHARE_BASIS_POINTS, weights);
+    }
+
+    private static LocalDate monday(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private record Household(WG wg, List<User> members, List<Room> rooms, List<CleaningTaskTemplate> templates,
+            LocalDate historyStart) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.group_2.tools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Command-line entry point of the {@link DatasetGenerator}. Starts the
+ * application context without JavaFX, the web server and the background jobs,
+ * generates the data into the configured database and exits. Example:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.group_2.tools.DatasetGeneratorMain \
+ *     -Dexec.args="--generator.wgs=2000 --generator.members=6 --generator.years=3 \
+ *     --spring.datasource.url=jdbc:h2:file:./data/loadtest --spring.jpa.show-sql=false"
+ * </pre>
+ *
+ * All options are listed in {@link DatasetGeneratorOptions}. Point the
+ * datasource at a separate database; generated e-mail addresses are derived
+ * from the seed, so a second run with the same seed into the same database
+ * fails on the unique e-mail constraint.
+ */
+public final class DatasetGeneratorMain {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGeneratorMain.class);
+
+    private DatasetGeneratorMain() {
+    }
+
+    public static void main(String[] args) {
+        int exitCode = 0;
+        try (ConfigurableApplicationContext context = ToolApplication.builder().run(args)) {
+            DatasetGeneratorOptions options = DatasetGeneratorOptions.from(context.getEnvironment());
+            new DatasetGenerator(context, options).generate();
+        } catch (RuntimeException e) {
+            log.error("Dataset generation failed", e);
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+}
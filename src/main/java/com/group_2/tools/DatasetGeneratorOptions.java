@@ -0,0 +1,49 @@
+package com.group_2.tools;
+
+import org.springframework.core.env.Environment;
+
+import java.time.LocalDate;
+
+/**
+ * Volume and seed of a generated dataset, read from {@code generator.*}
+ * properties (e.g. {@code --generator.wgs=1000} on the command line).
+ *
+ * @param wgs                         number of WGs
+ * @param members                     members per WG
+ * @param rooms                       rooms per WG, each with a cleaning template
+ * @param years                       years of history before the anchor date
+ * @param transactionsPerMemberMonth  average expenses per member and month
+ * @param standingOrders              standing orders per WG
+ * @param shoppingListsPerMember      shopping lists per member
+ * @param itemsPerList                items per shopping list
+ * @param seed                        random seed; equal options and seed give equal data
+ * @param batchSize                   rows per batched insert
+ * @param anchorDate                  last day of the generated history
+ */
+public record DatasetGeneratorOptions(int wgs, int members, int rooms, int years, int transactionsPerMemberMonth,
+        int standingOrders, int shoppingListsPerMember, int itemsPerList, long seed, int batchSize,
+        LocalDate anchorDate) {
+
+    public DatasetGeneratorOptions {
+        if (wgs < 1 || members < 1 || rooms < 0 || years < 0 || transactionsPerMemberMonth < 0 || standingOrders < 0
+                || shoppingListsPerMember < 0 || itemsPerList < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Generator volumes must not be negative, WGs and members at least 1");
+        }
+    }
+
+    public static DatasetGeneratorOptions from(Environment env) {
+        String anchor = env.getProperty("generator.anchor-date");
+        return new DatasetGeneratorOptions(
+                env.getProperty("generator.wgs", Integer.class, 10),
+                env.getProperty("generator.members", Integer.class, 5),
+                env.getProperty("generator.rooms", Integer.class, 4),
+                env.getProperty("generator.years", Integer.class, 2),
+                env.getProperty("generator.transactions-per-member-month", Integer.class, 10),
+                env.getProperty("generator.standing-orders", Integer.class, 3),
+                env.getProperty("generator.shopping-lists-per-member", Integer.class, 1),
+                env.getProperty("generator.items-per-list", Integer.class, 20),
+                env.getProperty("generator.seed", Long.class, 42L),
+                env.getProperty("generator.batch-size", Integer.class, 1000),
+                anchor != null ? LocalDate.parse(anchor) : LocalDate.now());
+    }
+}
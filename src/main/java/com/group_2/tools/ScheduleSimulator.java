@@ -0,0 +1,162 @@
+package com.group_2.tools;
+
+import com.group_2.model.WG;
+import com.group_2.repository.WGRepository;
+import com.group_2.service.cleaning.CleaningScheduleService;
+import com.group_2.service.finance.StandingOrderRunReport;
+import com.group_2.service.finance.StandingOrderService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fast-forwards the schedule of generated WGs week by week. Every simulated
+ * week moves the {@link SimulationClock} to Monday 06:00, then loads the week
+ * of every WG like the cleaning view does (generating its tasks from the
+ * templates and rotating the assignment queues) and runs the standing order
+ * job. The wall-clock time of both steps is reported per simulated week and
+ * summarized at the end.
+ */
+public class ScheduleSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleSimulator.class);
+
+    private static final LocalTime TICK_TIME = LocalTime.of(6, 0);
+
+    private final ApplicationContext context;
+    private final ScheduleSimulatorOptions options;
+    private final SimulationClock clock;
+    private final CleaningScheduleService cleaningScheduleService;
+    private final StandingOrderService standingOrderService;
+    private final WGRepository wgRepository;
+
+    public ScheduleSimulator(ApplicationContext context, ScheduleSimulatorOptions options, SimulationClock clock) {
+        this.context = context;
+        this.options = options;
+        this.clock = clock;
+        this.cleaningScheduleService = context.getBean(CleaningScheduleService.class);
+        this.standingOrderService = context.getBean(StandingOrderService.class);
+        this.wgRepository = context.getBean(WGRepository.class);
+    }
+
+    /**
+     * Seed the WGs and simulate all weeks.
+     *
+     * @return measurements of every simulated week, in order
+     */
+    public List<WeekResult> run() {
+        // The seeded state is the Sunday before the first simulated week
+        tick(options.startWeek().minusDays(1));
+        new DatasetGenerator(context, seedOptions()).generate();
+        List<Long> wgIds = wgRepository.findAll().stream().map(WG::getId).toList();
+
+        WeekResult[] results = new WeekResult[options.weeks()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = simulateWeek(options.startWeek().plusWeeks(i), wgIds);
+            if ((i + 1) % 52 == 0) {
+                log.info("Simulated {} of {} weeks", i + 1, results.length);
+            }
+        }
+        List<WeekResult> weeks = Arrays.asList(results);
+        logSummary(weeks, wgIds.size());
+        if (options.report() != null) {
+            writeReport(Path.of(options.report()), weeks);
+        }
+        return weeks;
+    }
+
+    private WeekResult simulateWeek(LocalDate week, List<Long> wgIds) {
+        tick(week);
+
+        long start = System.nanoTime();
+        int tasks = 0;
+        for (Long wgId : wgIds) {
+            tasks += cleaningScheduleService.getTasksForWeekDTO(wgId, week).size();
+        }
+        long cleaningNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        StandingOrderRunReport report = standingOrderService.processDueStandingOrders();
+        long standingOrderNanos = System.nanoTime() - start;
+
+        WeekResult result = new WeekResult(week, tasks, report.occurrences(), cleaningNanos, standingOrderNanos);
+        log.debug("Week {}: {} tasks in {} ms, {} standing order occurrences in {} ms", week, tasks,
+                cleaningNanos / 1_000_000, report.occurrences(), standingOrderNanos / 1_000_000);
+        return result;
+    }
+
+    private void tick(LocalDate date) {
+        clock.setInstant(date.atTime(TICK_TIME).atZone(clock.getZone()).toInstant());
+    }
+
+    private DatasetGeneratorOptions seedOptions() {
+        // WGs, templates, queues and standing orders only; no history
+        return new DatasetGeneratorOptions(options.wgs(), options.members(), options.rooms(), 0, 0,
+                options.standingOrders(), 0, 0, options.seed(), 1000, options.startWeek().minusDays(1));
+    }
+
+    private void logSummary(List<WeekResult> weeks, int wgs) {
+        long[] nanos = weeks.stream().mapToLong(WeekResult::totalNanos).sorted().toArray();
+        long total = Arrays.stream(nanos).sum();
+        long tasks = weeks.stream().mapToLong(WeekResult::tasks).sum();
+        long occurrences = weeks.stream().mapToLong(WeekResult::occurrences).sum();
+        log.info("Simulated {} weeks of {} WGs: {} tasks, {} standing order occurrences in {} ms", weeks.size(), wgs,
+                tasks, occurrences, total / 1_000_000);
+        log.info("Latency per simulated week: mean {} ms, p50 {} ms, p95 {} ms, max {} ms",
+                millis(total / nanos.length), millis(percentile(nanos, 0.50)), millis(percentile(nanos, 0.95)),
+                millis(nanos[nanos.length - 1]));
+    }
+
+    private static void writeReport(Path path, List<WeekResult> weeks) {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("week;tasks;occurrences;cleaning_ms;standing_orders_ms;total_ms");
+            for (WeekResult week : weeks) {
+                out.println(week.week() + ";" + week.tasks() + ";" + week.occurrences() + ";"
+                        + millis(week.cleaningNanos()) + ";" + millis(week.standingOrderNanos()) + ";"
+                        + millis(week.totalNanos()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write simulation report " + path, e);
+        }
+        log.info("Wrote per-week report to {}", path.toAbsolutePath());
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    /**
+     * Measurements of one simulated week.
+     *
+     * @param week               Monday of the week
+     * @param tasks              cleaning tasks of the week over all WGs
+     * @param occurrences        posted standing order occurrences
+     * @param cleaningNanos      time to load and generate the week of all WGs
+     * @param standingOrderNanos time of the standing order run
+     */
+    public record WeekResult(LocalDate week, int tasks, int occurrences, long cleaningNanos,
+            long standingOrderNanos) {
+
+        public long totalNanos() {
+            return cleaningNanos + standingOrderNanos;
+        }
+    }
+}
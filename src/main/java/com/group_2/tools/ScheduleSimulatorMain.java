@@ -0,0 +1,53 @@
+package com.group_2.tools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * Command-line entry point of the {@link ScheduleSimulator}. Starts the
+ * application context against a fresh in-memory H2 database with a
+ * {@link SimulationClock} in place of the system clock, simulates and exits.
+ * Scheduled jobs stay off: they fire on real time and would land in the middle
+ * of a simulated week.
+ * Example:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.group_2.tools.ScheduleSimulatorMain \
+ *     -Dexec.args="--simulator.wgs=200 --simulator.years=5 --simulator.report=simulation.csv"
+ * </pre>
+ *
+ * All options are listed in {@link ScheduleSimulatorOptions}; other
+ * application properties, including the datasource, can be overridden the same
+ * way.
+ */
+public final class ScheduleSimulatorMain {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleSimulatorMain.class);
+
+    private ScheduleSimulatorMain() {
+    }
+
+    public static void main(String[] args) {
+        SimulationClock clock = new SimulationClock(Instant.now(), ZoneId.systemDefault());
+        int exitCode = 0;
+        try (ConfigurableApplicationContext context = ToolApplication.builder()
+                .properties(Map.of(
+                        "spring.datasource.url", "jdbc:h2:mem:simulator;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql", "false"))
+                // Registered before the configuration is parsed, so the default clock bean backs off
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton("simulationClock", clock))
+                .run(args)) {
+            ScheduleSimulatorOptions options = ScheduleSimulatorOptions.from(context.getEnvironment());
+            new ScheduleSimulator(context, options, clock).run();
+        } catch (RuntimeException e) {
+            log.error("Schedule simulation failed", e);
+            exitCode = 1;
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,48 @@
+package com.group_2.tools;
+
+import org.springframework.core.env.Environment;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Size and time span of a simulation, read from {@code simulator.*}
+ * properties (e.g. {@code --simulator.years=5} on the command line).
+ *
+ * @param wgs            number of generated WGs
+ * @param members        members per WG
+ * @param rooms          rooms per WG, each with a cleaning template
+ * @param standingOrders standing orders per WG
+ * @param years          simulated years, in whole weeks
+ * @param seed           random seed of the generated WGs
+ * @param startWeek      Monday of the first simulated week
+ * @param report         CSV file for the per-week measurements, null for none
+ */
+public record ScheduleSimulatorOptions(int wgs, int members, int rooms, int standingOrders, int years, long seed,
+        LocalDate startWeek, String report) {
+
+    public ScheduleSimulatorOptions {
+        if (wgs < 1 || members < 1 || rooms < 0 || standingOrders < 0 || years < 1) {
+            throw new IllegalArgumentException("Simulator needs at least 1 WG, 1 member and 1 year");
+        }
+    }
+
+    public static ScheduleSimulatorOptions from(Environment env) {
+        String start = env.getProperty("simulator.start-date");
+        LocalDate startDate = start != null ? LocalDate.parse(start) : LocalDate.now();
+        return new ScheduleSimulatorOptions(
+                env.getProperty("simulator.wgs", Integer.class, 50),
+                env.getProperty("simulator.members", Integer.class, 5),
+                env.getProperty("simulator.rooms", Integer.class, 4),
+                env.getProperty("simulator.standing-orders", Integer.class, 3),
+                env.getProperty("simulator.years", Integer.class, 3),
+                env.getProperty("simulator.seed", Long.class, 42L),
+                startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                env.getProperty("simulator.report"));
+    }
+
+    public int weeks() {
+        return (int) (years * 52L);
+    }
+}
@@ -0,0 +1,30 @@
+package com.group_2.tools;
+
+import com.group_2.Main;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.Map;
+
+/**
+ * Application context setup shared by the command-line tools: no web server,
+ * no scheduled jobs and no startup catch-up or repair jobs, so only the tool
+ * itself writes to the database. Every property can still be overridden on
+ * the command line.
+ */
+final class ToolApplication {
+
+    private ToolApplication() {
+    }
+
+    static SpringApplicationBuilder builder() {
+        return new SpringApplicationBuilder(Main.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "app.scheduling.enabled", "false",
+                        "finance.ledger.verify-on-startup", "false",
+                        "finance.standing-orders.process-on-startup", "false",
+                        "finance.spend-rollups.populate-on-startup", "false"));
+    }
+}
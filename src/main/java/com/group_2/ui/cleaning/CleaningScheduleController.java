@@ -75,9 +75,13 @@ public class CleaningScheduleController extends Controller {
 
     private void refreshView() {
         updateWeekDisplay();
-        loadCalendarDays();
-        loadRoomCards();
-        updateStats();
+        // One (cached) lookup per refresh, shared by all parts of the view
+        UserSessionDTO session = sessionManager.getCurrentUserSession().orElse(null);
+        List<CleaningTaskDTO> weekTasks = session == null || session.wgId() == null ? List.of()
+                : cleaningScheduleService.getTasksForWeekDTO(session.wgId(), displayedWeekStart);
+        loadCalendarDays(weekTasks);
+        loadRoomCards(weekTasks);
+        updateStats(weekTasks);
     }
 
     private void updateWeekDisplay() {
@@ -95,15 +99,13 @@ public class CleaningScheduleController extends Controller {
         weekDateRange.setText(dateRange);
     }
 
-    private void loadCalendarDays() {
+    private void loadCalendarDays(List<CleaningTaskDTO> weekTasks) {
         calendarDaysContainer.getChildren().clear();
 
         UserSessionDTO session = sessionManager.getCurrentUserSession().orElse(null);
         if (session == null || session.wgId() == null)
             return;
 
-        List<CleaningTaskDTO> weekTasks = cleaningScheduleService.getTasksForWeekDTO(session.wgId(),
-                displayedWeekStart);
         LocalDate today = LocalDate.now();
 
         // Create 7 day cells
@@ -215,7 +217,7 @@ public class CleaningScheduleController extends Controller {
         return pill;
     }
 
-    private void loadRoomCards() {
+    private void loadRoomCards(List<CleaningTaskDTO> weekTasks) {
         roomCardsContainer.getChildren().clear();
 
         UserSessionDTO session = sessionManager.getCurrentUserSession().orElse(null);
@@ -224,9 +226,6 @@ public class CleaningScheduleController extends Controller {
             return;
         }
 
-        List<CleaningTaskDTO> weekTasks = cleaningScheduleService.getTasksForWeekDTO(session.wgId(),
-                displayedWeekStart);
-
         if (weekTasks.isEmpty()) {
             showEmptyState();
             return;
@@ -408,7 +407,7 @@ public class CleaningScheduleController extends Controller {
         roomCardsContainer.getChildren().add(emptyState);
     }
 
-    private void updateStats() {
+    private void updateStats(List<CleaningTaskDTO> weekTasks) {
         UserSessionDTO session = sessionManager.getCurrentUserSession().orElse(null);
         if (session == null || session.wgId() == null) {
             completedTasksText.setText("0/0");
@@ -416,9 +415,6 @@ public class CleaningScheduleController extends Controller {
             return;
         }
 
-        List<CleaningTaskDTO> weekTasks = cleaningScheduleService.getTasksForWeekDTO(session.wgId(),
-                displayedWeekStart);
-
         int total = weekTasks.size();
         int completed = (int) weekTasks.stream().filter(CleaningTaskDTO::completed).count();
         int myTasks = (int) weekTasks.stream()
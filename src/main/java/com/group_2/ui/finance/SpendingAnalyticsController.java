@@ -0,0 +1,150 @@
+package com.group_2.ui.finance;
+
+import com.group_2.dto.finance.MemberSpendSeriesDTO;
+import com.group_2.dto.finance.SpendTrendViewDTO;
+import com.group_2.service.finance.SpendAnalyticsService;
+import com.group_2.ui.core.Controller;
+import com.group_2.util.SessionManager;
+
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.ComboBox;
+import javafx.scene.text.Text;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.text.DecimalFormat;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Monthly spending chart of the current WG. Reads only the precomputed spend
+ * rollups, so the chart is cheap regardless of the size of the history.
+ */
+@Component
+public class SpendingAnalyticsController extends Controller {
+
+    private static final String METRIC_PAID = "Paid";
+    private static final String METRIC_OWED = "Own share";
+    private static final String METRIC_COUNT = "Transactions paid";
+
+    private static final String RANGE_6 = "6 months";
+    private static final String RANGE_12 = "12 months";
+    private static final String RANGE_24 = "24 months";
+
+    private final SpendAnalyticsService spendAnalyticsService;
+    private final SessionManager sessionManager;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @FXML
+    private ComboBox<String> metricSelector;
+    @FXML
+    private ComboBox<String> rangeSelector;
+    @FXML
+    private Text totalText;
+    @FXML
+    private LineChart<String, Number> spendChart;
+    @FXML
+    private CategoryAxis monthAxis;
+    @FXML
+    private NumberAxis valueAxis;
+
+    private final DecimalFormat currencyFormat = new DecimalFormat("€#,##0.00");
+    private final DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MM/yyyy");
+
+    // Trend of the selected range, reused when only the metric changes
+    private SpendTrendViewDTO trend;
+
+    @Autowired
+    public SpendingAnalyticsController(SpendAnalyticsService spendAnalyticsService, SessionManager sessionManager) {
+        this.spendAnalyticsService = spendAnalyticsService;
+        this.sessionManager = sessionManager;
+    }
+
+    @FXML
+    public void initialize() {
+        metricSelector.setItems(FXCollections.observableArrayList(METRIC_PAID, METRIC_OWED, METRIC_COUNT));
+        metricSelector.setValue(METRIC_PAID);
+        rangeSelector.setItems(FXCollections.observableArrayList(RANGE_6, RANGE_12, RANGE_24));
+        rangeSelector.setValue(RANGE_12);
+
+        metricSelector.setOnAction(event -> updateChart());
+        rangeSelector.setOnAction(event -> loadTrend());
+    }
+
+    public void initView() {
+        loadTrend();
+    }
+
+    private void loadTrend() {
+        Long wgId = sessionManager.getCurrentWgId();
+        if (wgId == null) {
+            return;
+        }
+        trend = spendAnalyticsService.getSpendTrend(wgId, selectedMonths());
+        updateChart();
+    }
+
+    private void updateChart() {
+        if (trend == null) {
+            return;
+        }
+        String metric = metricSelector.getValue();
+        boolean counts = METRIC_COUNT.equals(metric);
+        valueAxis.setLabel(counts ? "Transactions" : "Amount (€)");
+
+        List<String> categories = trend.months().stream().map(this::formatMonth).toList();
+        monthAxis.setCategories(FXCollections.observableArrayList(categories));
+
+        spendChart.getData().clear();
+        double total = 0;
+        for (MemberSpendSeriesDTO member : trend.members()) {
+            List<? extends Number> values = switch (metric) {
+                case METRIC_OWED -> member.owed();
+                case METRIC_COUNT -> member.transactionCounts();
+                default -> member.paid();
+            };
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName(member.member().displayName());
+            for (int i = 0; i < categories.size(); i++) {
+                series.getData().add(new XYChart.Data<>(categories.get(i), values.get(i)));
+                total += values.get(i).doubleValue();
+            }
+            spendChart.getData().add(series);
+        }
+        totalText.setText(counts ? "Total: " + Math.round(total) + " transactions"
+                : "Total: " + currencyFormat.format(total));
+    }
+
+    private int selectedMonths() {
+        String range = rangeSelector.getValue();
+        if (RANGE_6.equals(range)) {
+            return 6;
+        }
+        if (RANGE_24.equals(range)) {
+            return 24;
+        }
+        return 12;
+    }
+
+    private String formatMonth(YearMonth month) {
+        return month.format(monthFormatter);
+    }
+
+    @FXML
+    public void returnToTransactions() {
+        loadScene(spendChart.getScene(), "/finance/transactions.fxml");
+        javafx.application.Platform.runLater(() -> {
+            TransactionsController controller = applicationContext.getBean(TransactionsController.class);
+            controller.initView();
+        });
+    }
+}
@@ -1,12 +1,21 @@
 package com.group_2.ui.finance;
 
 import com.group_2.dto.core.UserSummaryDTO;
+import com.group_2.dto.finance.TransactionExportResult;
+import com.group_2.dto.finance.TransactionHistoryCursor;
+import com.group_2.dto.finance.TransactionImportResult;
+import com.group_2.dto.finance.TransactionHistoryFilter;
+import com.group_2.dto.finance.TransactionHistoryPageDTO;
 import com.group_2.dto.finance.TransactionViewDTO;
 import com.group_2.dto.finance.TransactionSplitViewDTO;
+import com.group_2.service.finance.TransactionExportService;
+import com.group_2.service.finance.TransactionExportService.ExportFormat;
+import com.group_2.service.finance.TransactionImportService;
 import com.group_2.service.finance.TransactionService;
 import com.group_2.ui.core.Controller;
 import com.group_2.util.SessionManager;
 
+import javafx.animation.PauseTransition;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
@@ -15,9 +24,12 @@ import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
 import java.time.Year;
@@ -25,19 +37,21 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Component
 public class TransactionHistoryController extends Controller {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionImportService transactionImportService;
     private final SessionManager sessionManager;
 
     @Autowired
     private org.springframework.context.ApplicationContext applicationContext;
 
+    @FXML
+    private ScrollPane historyScrollPane;
     @FXML
     private Text transactionCountText;
     @FXML
@@ -73,16 +87,37 @@ public class TransactionHistoryController extends Controller {
     private DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
 
-    // Master list of all transactions for the current user
-    private List<TransactionViewDTO> allTransactions = new ArrayList<>();
+    // Number of transactions fetched per page while scrolling
+    private static final int PAGE_SIZE = 50;
+    // Delay after the last keystroke before a description search runs
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(300);
+    // Maximum number of archived transactions shown per archive search
+    private static final int ARCHIVE_LIMIT = 500;
+
+    // Created in initialize(), animations need the running FX toolkit
+    private PauseTransition searchDebounce;
+
+    // Paging state of the currently shown filter
+    private TransactionHistoryFilter currentFilter = TransactionHistoryFilter.none();
+    private TransactionHistoryCursor nextCursor;
+    private boolean hasMore;
+    private boolean loadingPage;
+    // Set while the filter controls are reset programmatically
+    private boolean updatingFilters;
+    // Set while the table shows archive search results (read-only)
+    private boolean showingArchive;
 
     // Month names for the filter dropdown
     private static final String[] MONTH_NAMES = { "All Months", "January", "February", "March", "April", "May", "June",
             "July", "August", "September", "October", "November", "December" };
 
     @Autowired
-    public TransactionHistoryController(TransactionService transactionService, SessionManager sessionManager) {
+    public TransactionHistoryController(TransactionService transactionService,
+            TransactionExportService transactionExportService, TransactionImportService transactionImportService,
+            SessionManager sessionManager) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionImportService = transactionImportService;
         this.sessionManager = sessionManager;
     }
 
@@ -184,8 +219,8 @@ public class TransactionHistoryController extends Controller {
                     TransactionViewDTO transaction = getTableView().getItems().get(getIndex());
                     Long currentUserId = sessionManager.getCurrentUserId();
 
-                    // Only show edit/delete for transactions created by current user
-                    if (currentUserId != null && transaction.createdBy() != null
+                    // Only show edit/delete for live transactions created by current user
+                    if (!showingArchive && currentUserId != null && transaction.createdBy() != null
                             && transaction.createdBy().id().equals(currentUserId)) {
                         HBox buttons = new HBox(5, editBtn, deleteBtn);
                         setGraphic(buttons);
@@ -204,7 +239,7 @@ public class TransactionHistoryController extends Controller {
                     TransactionViewDTO transaction = row.getItem();
                     Long currentUserId = sessionManager.getCurrentUserId();
                     // Only allow edit if current user is the creator
-                    if (currentUserId != null && transaction.createdBy() != null
+                    if (!showingArchive && currentUserId != null && transaction.createdBy() != null
                             && transaction.createdBy().id().equals(currentUserId)) {
                         showEditTransactionDialog(transaction);
                     }
@@ -218,11 +253,31 @@ public class TransactionHistoryController extends Controller {
         historyTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         historyTable.setFixedCellSize(52); // Fixed row height for consistency
 
-        // Add listener to dynamically size table based on number of items
-        historyTable.getItems()
-                .addListener((javafx.collections.ListChangeListener.Change<? extends TransactionViewDTO> c) -> {
-                    updateHistoryTableHeight();
-                });
+        // Add listener to dynamically size table based on number of items; the
+        // list is replaced on every reload, so follow the items property
+        javafx.collections.ListChangeListener<TransactionViewDTO> itemsListener = c -> updateHistoryTableHeight();
+        historyTable.getItems().addListener(itemsListener);
+        historyTable.itemsProperty().addListener((obs, oldItems, newItems) -> {
+            if (oldItems != null) {
+                oldItems.removeListener(itemsListener);
+            }
+            if (newItems != null) {
+                newItems.addListener(itemsListener);
+            }
+            updateHistoryTableHeight();
+        });
+
+        // Fetch the next page when the user scrolls near the bottom
+        historyScrollPane.vvalueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal.doubleValue() >= historyScrollPane.getVmax() * 0.9) {
+                loadNextPage();
+            }
+        });
+
+        // Search once typing pauses instead of on every keystroke
+        searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+        searchDebounce.setOnFinished(e -> applyFilters());
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchDebounce.playFromStart());
 
         // Load data
         initView();
@@ -248,9 +303,6 @@ public class TransactionHistoryController extends Controller {
             return;
         }
 
-        // Fetch all transactions for current user
-        allTransactions = transactionService.getTransactionsForUserView(currentUserId);
-
         // Populate filter dropdowns
         populateFilters();
 
@@ -268,24 +320,15 @@ public class TransactionHistoryController extends Controller {
             return;
         }
 
-        // Populate year filter from transaction dates
+        updatingFilters = true;
+
+        // Populate year filter from the oldest transaction (newest year first)
         List<String> yearOptions = new ArrayList<>();
         yearOptions.add("All Years");
-
-        Set<Integer> years = new TreeSet<>();
-        for (TransactionViewDTO t : allTransactions) {
-            years.add(t.timestamp().getYear());
-        }
-        // Always include current year
-        int currentYear = Year.now().getValue();
-        years.add(currentYear);
-
-        // Add years in descending order (newest first)
-        List<Integer> sortedYears = new ArrayList<>(years);
-        sortedYears.sort((a, b) -> b - a); // Descending
-        for (Integer year : sortedYears) {
+        for (Integer year : transactionService.getTransactionHistoryYears(currentUserId)) {
             yearOptions.add(String.valueOf(year));
         }
+        int currentYear = Year.now().getValue();
 
         yearFilter.setItems(FXCollections.observableArrayList(yearOptions));
         yearFilter.setValue(String.valueOf(currentYear)); // Default to current year
@@ -314,75 +357,94 @@ public class TransactionHistoryController extends Controller {
         debtorFilter.setValue(members.get(0)); // "All"
         debtorFilter.setOnAction(e -> applyFilters());
 
-        // Setup search field listener (triggers on every keystroke)
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        updatingFilters = false;
     }
 
     private void applyFilters() {
-        String selectedYear = yearFilter.getValue();
-        String selectedMonth = monthFilter.getValue();
-        UserDisplay selectedPayer = payerFilter.getValue();
-        UserDisplay selectedDebtor = debtorFilter.getValue();
+        if (updatingFilters) {
+            return;
+        }
+        // This run already includes the current search text
+        searchDebounce.stop();
+        Long currentUserId = sessionManager.getCurrentUserId();
+        if (currentUserId == null) {
+            return;
+        }
 
-        List<TransactionViewDTO> filtered = allTransactions.stream().filter(t -> {
-            // Year filter (optional - "All Years" shows all)
-            if (selectedYear != null && !selectedYear.equals("All Years")) {
-                int year = Integer.parseInt(selectedYear);
-                if (t.timestamp().getYear() != year) {
-                    return false;
-                }
-            }
+        showingArchive = false;
+        currentFilter = buildFilter();
+        TransactionHistoryPageDTO page = transactionService.getTransactionHistoryPage(currentUserId, currentFilter,
+                null, PAGE_SIZE);
+        nextCursor = page.nextCursor();
+        hasMore = page.hasMore();
 
-            // Month filter (optional - "All Months" shows all)
-            if (selectedMonth != null && !selectedMonth.equals("All Months")) {
-                int monthIndex = java.util.Arrays.asList(MONTH_NAMES).indexOf(selectedMonth);
-                if (monthIndex > 0 && t.timestamp().getMonthValue() != monthIndex) {
-                    return false;
-                }
-            }
+        // Populate table with the first page
+        historyTable.setItems(FXCollections.observableArrayList(page.items()));
+        historyScrollPane.setVvalue(historyScrollPane.getVmin());
+        updateTransactionCount();
 
-            // Payer filter
-            if (selectedPayer != null && selectedPayer.getUser() != null) {
-                if (t.creditor() == null || !t.creditor().id().equals(selectedPayer.getUser().id())) {
-                    return false;
-                }
-            }
+        // Update table height
+        updateHistoryTableHeight();
+    }
 
-            // Debtor filter
-            if (selectedDebtor != null && selectedDebtor.getUser() != null) {
-                boolean hasDebtor = t.splits().stream()
-                        .anyMatch(s -> s.debtor() != null && s.debtor().id().equals(selectedDebtor.getUser().id()));
-                if (!hasDebtor) {
-                    return false;
-                }
-            }
+    private void loadNextPage() {
+        Long currentUserId = sessionManager.getCurrentUserId();
+        if (!hasMore || loadingPage || currentUserId == null) {
+            return;
+        }
+        loadingPage = true;
+        try {
+            TransactionHistoryPageDTO page = transactionService.getTransactionHistoryPage(currentUserId,
+                    currentFilter, nextCursor, PAGE_SIZE);
+            nextCursor = page.nextCursor();
+            hasMore = page.hasMore();
+            historyTable.getItems().addAll(page.items());
+            updateTransactionCount();
+        } finally {
+            loadingPage = false;
+        }
+    }
 
-            // Description search (case-insensitive partial match)
-            String searchText = searchField.getText();
-            if (searchText != null && !searchText.trim().isEmpty()) {
-                String desc = t.description();
-                if (desc == null || !desc.toLowerCase().contains(searchText.toLowerCase().trim())) {
-                    return false;
-                }
+    private TransactionHistoryFilter buildFilter() {
+        Integer year = null;
+        String selectedYear = yearFilter.getValue();
+        if (selectedYear != null && !selectedYear.equals("All Years")) {
+            year = Integer.parseInt(selectedYear);
+        }
+
+        Integer month = null;
+        String selectedMonth = monthFilter.getValue();
+        if (selectedMonth != null && !selectedMonth.equals("All Months")) {
+            int monthIndex = java.util.Arrays.asList(MONTH_NAMES).indexOf(selectedMonth);
+            if (monthIndex > 0) {
+                month = monthIndex;
             }
+        }
 
-            return true;
-        }).collect(Collectors.toList());
+        UserDisplay selectedPayer = payerFilter.getValue();
+        Long creditorId = selectedPayer != null && selectedPayer.getUser() != null ? selectedPayer.getUser().id()
+                : null;
+        UserDisplay selectedDebtor = debtorFilter.getValue();
+        Long debtorId = selectedDebtor != null && selectedDebtor.getUser() != null ? selectedDebtor.getUser().id()
+                : null;
 
-        // Update count text
-        transactionCountText.setText(String.valueOf(filtered.size()));
+        String searchText = searchField.getText();
+        String search = searchText != null && !searchText.trim().isEmpty() ? searchText.trim() : null;
 
-        // Populate table
-        historyTable.setItems(FXCollections.observableArrayList(filtered));
+        return new TransactionHistoryFilter(year, month, creditorId, debtorId, search);
+    }
 
-        // Update table height
-        updateHistoryTableHeight();
+    private void updateTransactionCount() {
+        // "+" marks that more transactions are fetched on scroll
+        int loaded = historyTable.getItems().size();
+        transactionCountText.setText(hasMore ? loaded + "+" : String.valueOf(loaded));
     }
 
     @FXML
     public void clearFilters() {
         // Reset to show all transactions (All Years, All Months, All Payers, All
         // Debtors)
+        updatingFilters = true;
         yearFilter.setValue("All Years");
         monthFilter.setValue("All Months");
         searchField.clear();
@@ -394,10 +456,107 @@ public class TransactionHistoryController extends Controller {
         if (!debtorFilter.getItems().isEmpty()) {
             debtorFilter.setValue(debtorFilter.getItems().get(0));
         }
+        updatingFilters = false;
 
         applyFilters();
     }
 
+    /**
+     * Show archived (compacted) transactions matching the current filters.
+     * Changing a filter returns to the live history.
+     */
+    @FXML
+    public void searchArchive() {
+        Long currentUserId = sessionManager.getCurrentUserId();
+        if (currentUserId == null) {
+            return;
+        }
+        try {
+            List<TransactionViewDTO> archived = transactionService.searchArchivedHistory(currentUserId, buildFilter(),
+                    ARCHIVE_LIMIT);
+            showingArchive = true;
+            nextCursor = null;
+            hasMore = false;
+            historyTable.setItems(FXCollections.observableArrayList(archived));
+            historyScrollPane.setVvalue(historyScrollPane.getVmin());
+            updateTransactionCount();
+            updateHistoryTableHeight();
+        } catch (Exception e) {
+            showErrorAlert("Archive search failed", e.getMessage(), historyTable.getScene().getWindow());
+        }
+    }
+
+    /**
+     * Export the history matching the current filters to a file chosen by the
+     * user. The format follows the chosen extension; ".gz" compresses the file.
+     */
+    @FXML
+    public void exportHistory() {
+        Long currentUserId = sessionManager.getCurrentUserId();
+        if (currentUserId == null) {
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Transactions");
+        fileChooser.setInitialFileName("transactions.csv");
+        fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("CSV (compressed)", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("JSON (compressed)", "*.json.gz"));
+        File file = fileChooser.showSaveDialog(historyTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        String fileName = file.getName().toLowerCase();
+        boolean gzip = fileName.endsWith(".gz");
+        ExportFormat format = fileName.endsWith(".json") || fileName.endsWith(".json.gz") ? ExportFormat.JSON
+                : ExportFormat.CSV;
+        try {
+            TransactionExportResult result = transactionExportService.exportHistory(currentUserId, buildFilter(),
+                    file.toPath(), format, gzip);
+            showSuccessAlert("Export finished", result.transactions() + " transaction(s) exported to "
+                    + result.file().getFileName() + ".", historyTable.getScene().getWindow());
+        } catch (Exception e) {
+            showErrorAlert("Export failed", e.getMessage(), historyTable.getScene().getWindow());
+        }
+    }
+
+    /**
+     * Import past expenses from a CSV or JSON file in the export format. Users are
+     * matched by email or display name; nothing is imported if a row is invalid.
+     */
+    @FXML
+    public void importHistory() {
+        Long currentUserId = sessionManager.getCurrentUserId();
+        if (currentUserId == null) {
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Transactions");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV or JSON", "*.csv", "*.csv.gz",
+                "*.json", "*.json.gz"));
+        File file = fileChooser.showOpenDialog(historyTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        try {
+            TransactionImportResult result = transactionImportService.importFile(currentUserId, file.toPath());
+            if (!result.isSuccess()) {
+                showErrorAlert("Import rejected", String.join("\n", result.errors()),
+                        historyTable.getScene().getWindow());
+                return;
+            }
+            showSuccessAlert("Import finished", result.transactions() + " transaction(s) imported.",
+                    historyTable.getScene().getWindow());
+            populateFilters();
+            applyFilters();
+        } catch (Exception e) {
+            showErrorAlert("Import failed", e.getMessage(), historyTable.getScene().getWindow());
+        }
+    }
+
     @FXML
     public void returnToTransactions() {
         loadScene(historyTable.getScene(), "/finance/transactions.fxml");
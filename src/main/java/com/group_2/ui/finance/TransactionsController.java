@@ -1,6 +1,7 @@
 package com.group_2.ui.finance;
 
 import com.group_2.dto.core.UserSummaryDTO;
+import com.group_2.service.finance.SettlementPlanService;
 import com.group_2.service.finance.TransactionService;
 import com.group_2.ui.core.Controller;
 import com.group_2.ui.core.NavbarController;
@@ -27,6 +28,7 @@ import java.text.DecimalFormat;
 import java.util.*;
 
 import com.group_2.dto.finance.BalanceViewDTO;
+import com.group_2.dto.finance.SettlementTransferViewDTO;
 
 @Component
 public class TransactionsController extends Controller {
@@ -34,6 +36,7 @@ public class TransactionsController extends Controller {
     private static final Logger log = LoggerFactory.getLogger(TransactionsController.class);
 
     private final TransactionService transactionService;
+    private final SettlementPlanService settlementPlanService;
     private final SessionManager sessionManager;
 
     @Autowired
@@ -62,8 +65,10 @@ public class TransactionsController extends Controller {
     private DecimalFormat currencyFormat = new DecimalFormat("€#,##0.00");
 
     @Autowired
-    public TransactionsController(TransactionService transactionService, SessionManager sessionManager) {
+    public TransactionsController(TransactionService transactionService,
+            SettlementPlanService settlementPlanService, SessionManager sessionManager) {
         this.transactionService = transactionService;
+        this.settlementPlanService = settlementPlanService;
         this.sessionManager = sessionManager;
     }
 
@@ -580,6 +585,61 @@ public class TransactionsController extends Controller {
         });
     }
 
+    @FXML
+    public void navigateToSpending() {
+        loadScene(balanceTable.getScene(), "/finance/spending_analytics.fxml");
+        javafx.application.Platform.runLater(() -> {
+            SpendingAnalyticsController spendingController = applicationContext
+                    .getBean(SpendingAnalyticsController.class);
+            spendingController.initView();
+        });
+    }
+
+    @FXML
+    public void showSettlementPlan() {
+        Long currentUserId = sessionManager.getCurrentUserId();
+        Long wgId = sessionManager.getCurrentWgId();
+        if (currentUserId == null || wgId == null) {
+            return;
+        }
+        Window owner = balanceTable.getScene().getWindow();
+
+        List<SettlementTransferViewDTO> plan = settlementPlanService.getSettlementPlanView(wgId);
+        if (plan.isEmpty() && !settlementPlanService.hasOpenBalances(wgId)) {
+            showSuccessAlert("All Settled", "There are no open balances in your WG.", owner);
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        for (SettlementTransferViewDTO transfer : plan) {
+            message.append(String.format("%s pays %s %s%n", transfer.payer().displayName(),
+                    transfer.receiver().displayName(), currencyFormat.format(transfer.amount())));
+        }
+        if (plan.isEmpty()) {
+            message.append("The open balances cancel each other out, no payments are needed.\n");
+        }
+        message.append("\nBalances between roommates who don't pay each other directly are cleared with "
+                + "offsetting entries without payment, so all balances in your WG are settled.");
+
+        boolean confirmed = showConfirmDialog("Settle All Balances",
+                plan.size() + (plan.size() == 1 ? " payment" : " payments") + " needed", message.toString(), owner);
+        if (!confirmed) {
+            return;
+        }
+
+        try {
+            int recorded = settlementPlanService.executeSettlementPlan(currentUserId);
+
+            updateBalanceDisplay();
+            updateBalanceSheet();
+
+            showSuccessAlert("Settlement Complete",
+                    recorded + " payment(s) have been recorded and all balances are cleared.", owner);
+        } catch (Exception e) {
+            showErrorAlert("Settlement Failed", "Could not settle all balances: " + e.getMessage(), owner);
+        }
+    }
+
     @FXML
     public void showStandingOrders() {
         try {
@@ -0,0 +1,109 @@
+package com.group_2.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-point money helpers. Amounts are {@code long} euro cents and shares are
+ * {@code int} basis points (1/100 of a percent, 10000 = 100%). All arithmetic
+ * works on primitives; doubles only appear at the UI boundary.
+ */
+public final class Money {
+
+    public static final int FULL_SHARE_BASIS_POINTS = 10_000;
+
+    // Resolution used when turning percentages into basis point weights
+    private static final double PERCENTAGE_WEIGHT_SCALE = 1_000_000.0;
+
+    private Money() {
+    }
+
+    /**
+     * Convert a euro amount to cents, rounding half up.
+     */
+    public static long toCents(double euros) {
+        return Math.round(euros * 100.0);
+    }
+
+    /**
+     * Convert cents to a euro amount for display.
+     */
+    public static double toEuros(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Convert basis points to a percentage (0-100) for display.
+     */
+    public static double toPercentage(int basisPoints) {
+        return basisPoints / 100.0;
+    }
+
+    /**
+     * Split a total into parts proportional to the weights using the largest
+     * remainder method. The parts always sum exactly to the total; leftover units
+     * go to the largest fractional remainders, ties to the earlier index.
+     *
+     * @param total   amount to split (cents or basis points), must be
+     *                non-negative
+     * @param weights non-negative weights, at least one positive
+     * @return parts, index-aligned with the weights
+     */
+    public static long[] allocate(long total, long[] weights) {
+        if (total < 0) {
+            throw new IllegalArgumentException("Total must not be negative");
+        }
+        long weightSum = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+            weightSum += weight;
+        }
+        if (weightSum <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        int n = weights.length;
+        long[] parts = new long[n];
+        long[] remainders = new long[n];
+        long allocated = 0;
+        for (int i = 0; i < n; i++) {
+            long product = Math.multiplyExact(total, weights[i]);
+            parts[i] = product / weightSum;
+            remainders[i] = product % weightSum;
+            allocated += parts[i];
+        }
+
+        // Hand out the leftover units one by one to the largest remainders
+        long leftover = total - allocated;
+        while (leftover > 0) {
+            int best = -1;
+            for (int i = 0; i < n; i++) {
+                if (weights[i] > 0 && (best < 0 || remainders[i] > remainders[best])) {
+                    best = i;
+                }
+            }
+            parts[best]++;
+            remainders[best] = -1;
+            leftover--;
+        }
+        return parts;
+    }
+
+    /**
+     * Turn percentages (0-100) into basis points that sum exactly to 100%. A null
+     * or empty list means an equal split between {@code count} debtors.
+     */
+    public static long[] toBasisPoints(List<Double> percentages, int count) {
+        long[] weights = new long[count];
+        if (percentages == null || percentages.isEmpty()) {
+            Arrays.fill(weights, 1L);
+        } else {
+            for (int i = 0; i < count; i++) {
+                weights[i] = Math.round(percentages.get(i) * PERCENTAGE_WEIGHT_SCALE);
+            }
+        }
+        return allocate(FULL_SHARE_BASIS_POINTS, weights);
+    }
+}
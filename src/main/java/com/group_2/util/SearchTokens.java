@@ -0,0 +1,52 @@
+package com.group_2.util;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The description search rule shared by the in-memory search index and the
+ * database queries over archived and exported history: text is split into
+ * lower-case tokens of letters and digits, and a query matches if every query
+ * token is a token or a token prefix of the description.
+ */
+public final class SearchTokens {
+
+    // A token starts at the beginning of the text or after a non letter/digit
+    private static final String TOKEN_START = "(^|[^\\p{L}\\p{Nd}])";
+
+    private SearchTokens() {
+    }
+
+    /**
+     * Split text into distinct lower-case tokens of letters and digits.
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Regular expression (java.util.regex syntax, as used by H2's REGEXP_LIKE)
+     * that matches lower-case text containing a token starting with the given
+     * query token.
+     */
+    public static String prefixPattern(String token) {
+        return TOKEN_START + Pattern.quote(token);
+    }
+}
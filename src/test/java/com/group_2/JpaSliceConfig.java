@@ -0,0 +1,16 @@
+package com.group_2;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Context for {@code @DataJpaTest} slices: entities and repositories only.
+ * Used instead of {@link Main}, which would pull in the whole application;
+ * tests {@code @Import} the services they exercise.
+ */
+@TestConfiguration
+@EntityScan(basePackages = "com.group_2")
+@EnableJpaRepositories(basePackages = "com.group_2.repository")
+public class JpaSliceConfig {
+}
@@ -0,0 +1,121 @@
+package com.group_2.dto.finance;
+
+import com.group_2.JpaSliceConfig;
+import com.group_2.dto.core.CoreMapper;
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.finance.StandingOrder;
+import com.group_2.model.finance.StandingOrderDebtorShare;
+import com.group_2.model.finance.StandingOrderFrequency;
+import com.group_2.repository.finance.StandingOrderRepository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The list mappers must resolve users with a fixed number of queries, however
+ * long the list is.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Import({ FinanceMapper.class, CoreMapper.class })
+class FinanceMapperQueryCountTest {
+
+    private static final int MANY = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FinanceMapper financeMapper;
+
+    @Autowired
+    private StandingOrderRepository standingOrderRepository;
+
+    private WG wg;
+    private final List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    void createWg() {
+        User admin = entityManager.persist(new User("Admin", "Test", "admin@example.invalid", "secret"));
+        wg = entityManager.persist(new WG("Test WG", admin, List.of()));
+        admin.setWg(wg);
+        for (int i = 0; i < MANY; i++) {
+            User member = entityManager.persist(new User("Member" + i, null, "member" + i + "@example.invalid",
+                    "secret"));
+            wg.addMitbewohner(member);
+            memberIds.add(member.getId());
+            // A different debtor per order, so per-row lookups would grow with the list
+            entityManager.persist(new StandingOrder(admin, admin, wg, 1000L, "Order " + i,
+                    StandingOrderFrequency.MONTHLY, LocalDate.of(2030, 1, 1),
+                    List.of(new StandingOrderDebtorShare(member.getId(), 10_000))));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void standingOrderDTOListUsesConstantQueries() {
+        assertEquals(mapOrders(1, financeMapper::toStandingOrderDTOList),
+                mapOrders(MANY, financeMapper::toStandingOrderDTOList));
+    }
+
+    @Test
+    void standingOrderViewListUsesConstantQueries() {
+        assertEquals(mapOrders(1, financeMapper::toStandingOrderViewList),
+                mapOrders(MANY, financeMapper::toStandingOrderViewList));
+    }
+
+    @Test
+    void balanceDTOListUsesConstantQueries() {
+        assertEquals(mapBalances(1), mapBalances(MANY));
+    }
+
+    /**
+     * Statements prepared while mapping the first {@code count} orders of the WG.
+     */
+    private long mapOrders(int count, Function<List<StandingOrder>, List<?>> mapper) {
+        entityManager.clear();
+        List<StandingOrder> orders = standingOrderRepository.findByWgAndIsActiveTrue(wg).subList(0, count);
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertEquals(count, mapper.apply(orders).size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Statements prepared while mapping the balances of the first {@code count}
+     * members.
+     */
+    private long mapBalances(int count) {
+        entityManager.clear();
+        Map<Long, Double> balances = new HashMap<>();
+        for (Long memberId : memberIds.subList(0, count)) {
+            balances.put(memberId, 1.0);
+        }
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertEquals(count, financeMapper.toBalanceDTOList(balances).size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+}
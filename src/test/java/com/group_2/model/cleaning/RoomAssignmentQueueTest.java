@@ -0,0 +1,88 @@
+package com.group_2.model.cleaning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The ring buffer must behave like the plain list the queue used to be.
+ */
+class RoomAssignmentQueueTest {
+
+    @Test
+    void rotateMovesTheHeadToTheEnd() {
+        RoomAssignmentQueue queue = queueOf(1L, 2L, 3L);
+        queue.rotate();
+        assertEquals(List.of(2L, 3L, 1L), queue.getMemberIds());
+        assertEquals(Long.valueOf(2L), queue.getNextAssigneeId());
+        queue.rotate();
+        queue.rotate();
+        assertEquals(List.of(1L, 2L, 3L), queue.getMemberIds());
+    }
+
+    @Test
+    void swapsUseQueuePositionsAfterRotation() {
+        RoomAssignmentQueue queue = queueOf(1L, 2L, 3L, 1L, 2L, 3L);
+        queue.rotate();
+        // Queue is now [2, 3, 1, 2, 3, 1]
+        assertEquals(2, queue.findPositionFrom(1L, 0));
+        assertTrue(queue.swapWithNextOccurrence(0, 1L));
+        assertEquals(List.of(1L, 3L, 2L, 2L, 3L, 1L), queue.getMemberIds());
+        assertFalse(queue.swapWithNextOccurrence(5, 3L));
+    }
+
+    @Test
+    void matchesListModelUnderRandomOperations() {
+        Random random = new Random(7);
+        List<Long> model = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            model.add(id);
+            model.add(id);
+        }
+        RoomAssignmentQueue queue = new RoomAssignmentQueue();
+        queue.setMemberIds(model);
+
+        for (int step = 0; step < 10_000; step++) {
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    queue.rotate();
+                    Collections.rotate(model, -1);
+                }
+                case 1 -> {
+                    Long a = 1L + random.nextInt(5);
+                    Long b = 1L + random.nextInt(5);
+                    queue.swapPositions(a, b);
+                    int posA = model.indexOf(a);
+                    int posB = model.indexOf(b);
+                    if (posA != posB) {
+                        Collections.swap(model, posA, posB);
+                    }
+                }
+                default -> {
+                    int position = random.nextInt(model.size());
+                    Long target = 1L + random.nextInt(5);
+                    int next = model.subList(position + 1, model.size()).indexOf(target);
+                    boolean swapped = queue.swapWithNextOccurrence(position, target);
+                    assertEquals(next >= 0, swapped);
+                    if (swapped) {
+                        Collections.swap(model, position, position + 1 + next);
+                    }
+                }
+            }
+            assertEquals(model, queue.getMemberIds());
+        }
+    }
+
+    private static RoomAssignmentQueue queueOf(Long... ids) {
+        RoomAssignmentQueue queue = new RoomAssignmentQueue();
+        queue.setMemberIds(List.of(ids));
+        return queue;
+    }
+}
@@ -0,0 +1,126 @@
+package com.group_2.service.finance;
+
+import com.group_2.service.finance.SettlementPlanner.PlannedTransfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Payments plus offsetting transfers must clear every pair, and the offsets must
+ * not move any money.
+ */
+class SettlementPlannerTest {
+
+    @Test
+    void chainThroughIntermediaryClearsEveryPair() {
+        long[] userIds = {1L, 2L, 3L};
+        long[][] pairCents = new long[3][3];
+        // 1 owes 2 10.00, 2 owes 3 10.00
+        owe(pairCents, 0, 1, 1000);
+        owe(pairCents, 1, 2, 1000);
+
+        List<PlannedTransfer> plan = SettlementPlanner.plan(userIds, net(pairCents));
+        assertEquals(List.of(new PlannedTransfer(1L, 3L, 1000)), plan);
+        List<PlannedTransfer> netting = SettlementPlanner.netting(userIds, pairCents, plan);
+        assertEquals(3, netting.size());
+        assertSettled(userIds, pairCents, plan, netting);
+    }
+
+    @Test
+    void cycleNeedsNoPaymentsButIsCleared() {
+        long[] userIds = {1L, 2L, 3L};
+        long[][] pairCents = new long[3][3];
+        owe(pairCents, 0, 1, 500);
+        owe(pairCents, 1, 2, 500);
+        owe(pairCents, 2, 0, 500);
+
+        List<PlannedTransfer> plan = SettlementPlanner.plan(userIds, net(pairCents));
+        assertTrue(plan.isEmpty());
+        List<PlannedTransfer> netting = SettlementPlanner.netting(userIds, pairCents, plan);
+        assertEquals(3, netting.size());
+        assertSettled(userIds, pairCents, plan, netting);
+    }
+
+    @Test
+    void randomBalancesAreFullySettled() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            int n = 2 + random.nextInt(7);
+            long[] userIds = new long[n];
+            for (int i = 0; i < n; i++) {
+                userIds[i] = 100 + i;
+            }
+            long[][] pairCents = new long[n][n];
+            for (int k = 0; k < 3 * n; k++) {
+                int debtor = random.nextInt(n);
+                int creditor = random.nextInt(n);
+                if (debtor != creditor) {
+                    owe(pairCents, debtor, creditor, 1 + random.nextInt(10_000));
+                }
+            }
+
+            List<PlannedTransfer> plan = SettlementPlanner.plan(userIds, net(pairCents));
+            assertTrue(plan.size() <= n - 1);
+            assertSettled(userIds, pairCents, plan, SettlementPlanner.netting(userIds, pairCents, plan));
+        }
+    }
+
+    private static void owe(long[][] pairCents, int debtor, int creditor, long cents) {
+        pairCents[creditor][debtor] += cents;
+        pairCents[debtor][creditor] -= cents;
+    }
+
+    private static long[] net(long[][] pairCents) {
+        long[] net = new long[pairCents.length];
+        for (int i = 0; i < pairCents.length; i++) {
+            for (int j = 0; j < pairCents.length; j++) {
+                net[i] += pairCents[i][j];
+            }
+        }
+        return net;
+    }
+
+    private static void assertSettled(long[] userIds, long[][] pairCents, List<PlannedTransfer> plan,
+            List<PlannedTransfer> netting) {
+        int n = userIds.length;
+        long[][] after = new long[n][];
+        for (int i = 0; i < n; i++) {
+            after[i] = pairCents[i].clone();
+        }
+        long[] offsetBalance = new long[n];
+        List<PlannedTransfer> all = new ArrayList<>(plan);
+        all.addAll(netting);
+        for (PlannedTransfer transfer : all) {
+            int payer = indexOf(userIds, transfer.payerId());
+            int receiver = indexOf(userIds, transfer.receiverId());
+            assertTrue(transfer.amountCents() > 0);
+            // Paying makes the receiver owe the payer
+            owe(after, receiver, payer, transfer.amountCents());
+        }
+        for (PlannedTransfer transfer : netting) {
+            offsetBalance[indexOf(userIds, transfer.payerId())] += transfer.amountCents();
+            offsetBalance[indexOf(userIds, transfer.receiverId())] -= transfer.amountCents();
+        }
+        for (int i = 0; i < n; i++) {
+            assertEquals(0L, offsetBalance[i], "offsets move money for user " + userIds[i]);
+            for (int j = 0; j < n; j++) {
+                assertEquals(0L, after[i][j], "open balance between " + userIds[i] + " and " + userIds[j]);
+            }
+        }
+    }
+
+    private static int indexOf(long[] userIds, Long userId) {
+        for (int i = 0; i < userIds.length; i++) {
+            if (userIds[i] == userId) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown user " + userId);
+    }
+}
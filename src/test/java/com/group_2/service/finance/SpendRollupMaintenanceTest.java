@@ -0,0 +1,158 @@
+package com.group_2.service.finance;
+
+import com.group_2.JpaSliceConfig;
+import com.group_2.dto.core.CoreMapper;
+import com.group_2.model.User;
+import com.group_2.model.WG;
+import com.group_2.model.finance.MonthlySpendRollup;
+import com.group_2.model.finance.Transaction;
+import com.group_2.model.finance.TransactionSplit;
+import com.group_2.repository.finance.MonthlySpendRollupRepository;
+import com.group_2.util.Money;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The spend rollups maintained incrementally from change events must equal a
+ * rebuild from the transactions.
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaSliceConfig.class)
+@Import({ SpendAnalyticsService.class, CoreMapper.class, SpendRollupMaintenanceTest.FixedClock.class })
+class SpendRollupMaintenanceTest {
+
+    @TestConfiguration
+    static class FixedClock {
+        @Bean
+        Clock clock() {
+            return Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC);
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SpendAnalyticsService spendAnalyticsService;
+
+    @Autowired
+    private MonthlySpendRollupRepository rollupRepository;
+
+    private WG wg;
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    void createWg() {
+        alice = entityManager.persist(new User("Alice", null, "alice@example.invalid", "secret"));
+        bob = entityManager.persist(new User("Bob", null, "bob@example.invalid", "secret"));
+        carol = entityManager.persist(new User("Carol", null, "carol@example.invalid", "secret"));
+        wg = entityManager.persist(new WG("Test WG", alice, List.of()));
+        alice.setWg(wg);
+        wg.addMitbewohner(bob);
+        wg.addMitbewohner(carol);
+        entityManager.flush();
+    }
+
+    @Test
+    void incrementalRollupsMatchRebuild() {
+        record(alice, 3_000, LocalDateTime.of(2024, 1, 5, 18, 0), false, bob, carol);
+        Transaction rent = record(bob, 90_000, LocalDateTime.of(2024, 1, 28, 9, 0), false, alice, bob, carol);
+        Transaction pizza = record(carol, 4_500, LocalDateTime.of(2024, 2, 10, 20, 0), false, alice, bob);
+        record(alice, 12_345, LocalDateTime.of(2024, 3, 1, 0, 0), true, bob);
+        settle(bob, alice, 2_000, LocalDateTime.of(2024, 4, 3, 10, 0));
+
+        // Update: new amount, debtors and month
+        TransactionSnapshot before = TransactionSnapshot.of(rent);
+        rent.setTimestamp(LocalDateTime.of(2024, 3, 2, 9, 0));
+        rent.setTotalAmountCents(60_000);
+        rent.getSplits().clear();
+        addEqualSplits(rent, alice, carol);
+        entityManager.flush();
+        apply(List.of(before), List.of(TransactionSnapshot.of(rent)));
+
+        // Delete: every February rollup drops to zero
+        TransactionSnapshot deleted = TransactionSnapshot.of(pizza);
+        entityManager.remove(pizza);
+        entityManager.flush();
+        apply(List.of(deleted), List.of());
+
+        List<String> incremental = rollups();
+        assertFalse(incremental.stream().anyMatch(rollup -> rollup.contains("@202402")),
+                "Rollups that become empty are deleted: " + incremental);
+        assertFalse(incremental.stream().anyMatch(rollup -> rollup.contains("@202404")),
+                "Settlements are not spending: " + incremental);
+
+        spendAnalyticsService.rebuild(wg.getId());
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(incremental, rollups());
+    }
+
+    private Transaction record(User creditor, long totalCents, LocalDateTime timestamp, boolean carryForward,
+            User... debtors) {
+        Transaction transaction = new Transaction(creditor, creditor, totalCents, "Expense", wg);
+        transaction.setTimestamp(timestamp);
+        transaction.setCarryForward(carryForward);
+        addEqualSplits(transaction, debtors);
+        entityManager.persist(transaction);
+        entityManager.flush();
+        apply(List.of(), List.of(TransactionSnapshot.of(transaction)));
+        return transaction;
+    }
+
+    private void settle(User payer, User receiver, long cents, LocalDateTime timestamp) {
+        Transaction transaction = new Transaction(payer, payer, cents, "Settlement", wg);
+        transaction.setTimestamp(timestamp);
+        transaction.setSettlement(true);
+        addEqualSplits(transaction, receiver);
+        entityManager.persist(transaction);
+        entityManager.flush();
+        apply(List.of(), List.of(TransactionSnapshot.of(transaction)));
+    }
+
+    private static void addEqualSplits(Transaction transaction, User... debtors) {
+        long[] weights = new long[debtors.length];
+        Arrays.fill(weights, 1);
+        long[] basisPoints = Money.allocate(Money.FULL_SHARE_BASIS_POINTS, weights);
+        long[] amounts = Money.allocate(transaction.getTotalAmountCents(), basisPoints);
+        for (int i = 0; i < debtors.length; i++) {
+            transaction.addSplit(new TransactionSplit(transaction, debtors[i], (int) basisPoints[i], amounts[i]));
+        }
+    }
+
+    private void apply(List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+        spendAnalyticsService.onTransactionsChanged(new TransactionsChangedEvent(wg.getId(), removed, added));
+    }
+
+    private List<String> rollups() {
+        return rollupRepository.findByWgIdAndPeriodGreaterThanEqualOrderByPeriod(wg.getId(), 0).stream()
+                .map(SpendRollupMaintenanceTest::describe)
+                .sorted()
+                .toList();
+    }
+
+    private static String describe(MonthlySpendRollup rollup) {
+        return rollup.getUserId() + "@" + rollup.getPeriod() + ": paid " + rollup.getPaidCents() + ", owed "
+                + rollup.getOwedCents() + ", count " + rollup.getTransactionCount();
+    }
+}